@@ -0,0 +1,50 @@
+package com.recruitment.benchmark;
+
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.repository.TaskRepository;
+import com.recruitment.repository.UserRepository;
+import com.recruitment.repository.memory.InMemoryStore;
+import com.recruitment.repository.memory.InMemoryTaskRepository;
+import com.recruitment.repository.memory.InMemoryUserRepository;
+
+import java.time.LocalDate;
+
+/**
+ * In-memory repositories filled with benchmark data, for measuring the service operator chains
+ * without a database.
+ */
+final class InMemoryRepositories {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+
+    InMemoryRepositories(int userCount, int taskCount) {
+        InMemoryStore store = new InMemoryStore(userCount, taskCount);
+        taskRepository = new InMemoryTaskRepository(store);
+        userRepository = new InMemoryUserRepository(store);
+        for (int i = 1; i <= userCount; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            userRepository.save(user).block();
+        }
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Benchmark task description " + i);
+            task.setCreationDate(LocalDate.now());
+            task.setStatus(TaskStatus.NEW);
+            task.setUserId(1L + i % userCount);
+            taskRepository.save(task).block();
+        }
+    }
+
+    TaskRepository taskRepository() {
+        return taskRepository;
+    }
+
+    UserRepository userRepository() {
+        return userRepository;
+    }
+}
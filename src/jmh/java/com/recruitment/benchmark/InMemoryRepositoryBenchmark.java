@@ -0,0 +1,62 @@
+package com.recruitment.benchmark;
+
+import com.recruitment.entity.Task;
+import com.recruitment.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the in-memory task repository lookups, read concurrently by several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class InMemoryRepositoryBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int TASKS = 1_000_000;
+
+    private TaskRepository taskRepository;
+
+    @Setup
+    public void setUp() {
+        taskRepository = new InMemoryRepositories(USERS, TASKS).taskRepository();
+    }
+
+    @Benchmark
+    public Task findById() {
+        return taskRepository.findById(randomTaskId()).block();
+    }
+
+    @Benchmark
+    public List<Task> findAllAfter() {
+        return taskRepository.findAllAfter(randomTaskId() - 1, 10).collectList().block();
+    }
+
+    @Benchmark
+    public List<Task> findUserTasksPage() {
+        long userId = 1L + ThreadLocalRandom.current().nextInt(USERS);
+        return taskRepository.findUserTasksPage(userId, 0, null, 10).block();
+    }
+
+    private static long randomTaskId() {
+        return 1L + ThreadLocalRandom.current().nextInt(TASKS);
+    }
+}
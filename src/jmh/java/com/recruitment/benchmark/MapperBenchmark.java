@@ -0,0 +1,83 @@
+package com.recruitment.benchmark;
+
+import com.recruitment.dto.TaskRequest;
+import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskSummaryResponse;
+import com.recruitment.dto.UserResponse;
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.mapper.TaskMapper;
+import com.recruitment.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the entity/DTO mappers used on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private Task task;
+    private User user;
+    private TaskRequest taskRequest;
+
+    @Setup
+    public void setUp() {
+        task = new Task();
+        task.setId(42L);
+        task.setTitle("Benchmark task");
+        task.setDescription("Benchmark task description");
+        task.setCreationDate(LocalDate.now());
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setUserId(7L);
+
+        user = new User();
+        user.setId(7L);
+        user.setName("Benchmark user");
+
+        taskRequest = new TaskRequest();
+        taskRequest.setTitle("Benchmark task");
+        taskRequest.setDescription("Benchmark task description");
+        taskRequest.setUserId(7L);
+    }
+
+    @Benchmark
+    public TaskResponse taskToResponse() {
+        return taskMapper.toResponse(task);
+    }
+
+    @Benchmark
+    public TaskSummaryResponse taskToSummaryResponse() {
+        return taskMapper.toSummaryResponse(task);
+    }
+
+    @Benchmark
+    public Task taskRequestToEntity() {
+        return taskMapper.toEntity(taskRequest);
+    }
+
+    @Benchmark
+    public UserResponse userToResponse() {
+        return userMapper.toResponse(user);
+    }
+}
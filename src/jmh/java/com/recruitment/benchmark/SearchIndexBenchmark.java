@@ -0,0 +1,100 @@
+package com.recruitment.benchmark;
+
+import com.recruitment.search.InvertedIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the task search index over synthetic titles and descriptions whose words follow
+ * a skewed distribution, searched concurrently by several threads. Run with {@code -p tasks=10000000}
+ * and a heap of a few gigabytes for the full-size case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SearchIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    @Param({"1000000"})
+    private int tasks;
+
+    private String[] words;
+    private InvertedIndex index;
+
+    @Setup
+    public void setUp() {
+        words = new String[VOCABULARY];
+        SplittableRandom random = new SplittableRandom(42);
+        long eightLetters = (long) Math.pow(36, 8);
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = Long.toString(random.nextLong(eightLetters, Long.MAX_VALUE), 36).substring(0, 4 + i % 5);
+        }
+        index = new InvertedIndex(tasks, 50);
+        for (long id = 1; id <= tasks; id++) {
+            index.index(id, text(random, 4), text(random, 12));
+        }
+    }
+
+    /**
+     * Two words of average frequency.
+     */
+    @Benchmark
+    public long[] twoWords() {
+        return index.search(randomWord() + " " + randomWord(), 10);
+    }
+
+    /**
+     * A three-letter prefix, expanded to the indexed words starting with it.
+     */
+    @Benchmark
+    public long[] prefix() {
+        return index.search(randomWord().substring(0, 3), 10);
+    }
+
+    /**
+     * A frequent word combined with a prefix, as typed into a search box.
+     */
+    @Benchmark
+    public long[] frequentWordAndPrefix() {
+        String frequentWord = words[ThreadLocalRandom.current().nextInt(10)];
+        return index.search(frequentWord + " " + randomWord().substring(0, 3), 10);
+    }
+
+    private String text(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(words[skewed(random.nextDouble())]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private String randomWord() {
+        return words[skewed(ThreadLocalRandom.current().nextDouble())];
+    }
+
+    /**
+     * Maps a uniform value to a word index so that low indexes are much more frequent.
+     */
+    private static int skewed(double uniform) {
+        return (int) (Math.pow(uniform, 3) * VOCABULARY);
+    }
+}
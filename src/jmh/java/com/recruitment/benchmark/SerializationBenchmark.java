@@ -0,0 +1,79 @@
+package com.recruitment.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskSummaryResponse;
+import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of single task responses and summary pages, using an
+ * ObjectMapper configured the way Spring Boot configures the WebFlux codecs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private TaskResponse taskResponse;
+    private List<TaskSummaryResponse> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        TaskMapper taskMapper = new TaskMapper();
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle("Benchmark task " + id);
+            task.setDescription("Benchmark task description " + id);
+            task.setCreationDate(LocalDate.now());
+            task.setStatus(TaskStatus.NEW);
+            task.setUserId(id % 100);
+            page.add(taskMapper.toSummaryResponse(task));
+            if (taskResponse == null) {
+                taskResponse = taskMapper.toResponse(task);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] taskResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(taskResponse);
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
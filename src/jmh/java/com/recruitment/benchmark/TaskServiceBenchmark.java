@@ -0,0 +1,98 @@
+package com.recruitment.benchmark;
+
+import com.recruitment.cache.EntityCache;
+import com.recruitment.cache.EntityCacheProperties;
+import com.recruitment.cache.UserIdIndex;
+import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskSummaryResponse;
+import com.recruitment.dto.TaskUpdateRequest;
+import com.recruitment.mapper.TaskMapper;
+import com.recruitment.repository.UserRepository;
+import com.recruitment.search.TaskSearchIndex;
+import com.recruitment.service.TaskServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactor operator chains of TaskServiceImpl running against in-memory repositories,
+ * isolating the service overhead from database latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int TASKS = 100_000;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private TaskServiceImpl taskService;
+    private TaskUpdateRequest patch;
+
+    @Setup
+    public void setUp() {
+        InMemoryRepositories repositories = new InMemoryRepositories(USERS, TASKS);
+        UserRepository userRepository = repositories.userRepository();
+        UserIdIndex userIdIndex = new UserIdIndex(userRepository, true, USERS);
+        for (long id = 1; id <= USERS; id++) {
+            userIdIndex.register(id);
+        }
+        EntityCache<TaskResponse> taskCache = cached
+                ? EntityCache.create("tasks", new EntityCacheProperties(), new SimpleMeterRegistry())
+                : EntityCache.disabled();
+
+        TaskSearchIndex taskSearchIndex = new TaskSearchIndex(repositories.taskRepository(), true, TASKS, 50, 100, 0);
+        taskSearchIndex.rebuild().block();
+
+        taskService = new TaskServiceImpl(repositories.taskRepository(), new TaskMapper(), userRepository,
+                taskCache, userIdIndex, taskSearchIndex);
+
+        patch = new TaskUpdateRequest();
+        patch.setStatus("in_progress");
+    }
+
+    @Benchmark
+    public TaskResponse getTaskById() {
+        return taskService.getTaskById(randomTaskId()).block();
+    }
+
+    @Benchmark
+    public List<TaskSummaryResponse> findAllAfter() {
+        return taskService.findAllAfter(randomTaskId() - 1, 10).collectList().block();
+    }
+
+    @Benchmark
+    public TaskResponse partialUpdate() {
+        return taskService.partialUpdate(patch, randomTaskId(), Set.of()).block();
+    }
+
+    @Benchmark
+    public TaskResponse assignTaskToUser() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return taskService.assignTaskToUser(randomTaskId(), 1L + random.nextInt(USERS)).block();
+    }
+
+    private static long randomTaskId() {
+        return 1L + ThreadLocalRandom.current().nextInt(TASKS);
+    }
+}
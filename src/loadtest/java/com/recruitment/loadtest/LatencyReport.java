@@ -0,0 +1,66 @@
+package com.recruitment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and error counts of a load-test run.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Workload.Operation, Histogram> latencies = new EnumMap<>(Workload.Operation.class);
+    private final Map<Workload.Operation, LongAdder> errors = new EnumMap<>(Workload.Operation.class);
+
+    LatencyReport() {
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Workload.Operation operation, long elapsedNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        latencies.get(operation).recordValue(micros);
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void print(PrintStream out, Duration measured) {
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf("%-12s %10s %10s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long totalRequests = 0;
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            totalRequests += count;
+            out.printf("%-12s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.name().toLowerCase(),
+                    count,
+                    count / seconds,
+                    errors.get(operation).sum(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        out.printf("%-12s %10d %10.1f%n", "total", totalRequests, totalRequests / seconds);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,45 @@
+package com.recruitment.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load-test run, given as {@code key=value} program arguments.
+ */
+final class LoadTestOptions {
+
+    final int users;
+    final int tasks;
+    final int concurrency;
+    final Duration warmup;
+    final Duration duration;
+    final String mix;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.users = Integer.parseInt(values.getOrDefault("users", "1000000"));
+        this.tasks = Integer.parseInt(values.getOrDefault("tasks", "5000000"));
+        this.concurrency = Integer.parseInt(values.getOrDefault("concurrency", "64"));
+        this.warmup = Duration.parse("PT" + values.getOrDefault("warmup", "15s").toUpperCase());
+        this.duration = Duration.parse("PT" + values.getOrDefault("duration", "60s").toUpperCase());
+        this.mix = values.getOrDefault("mix", "get=60,list=15,create=10,patch=10,assign=5");
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            values.put(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+        return new LoadTestOptions(values);
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", tasks=" + tasks + ", concurrency=" + concurrency
+                + ", warmup=" + warmup + ", duration=" + duration + ", mix=" + mix;
+    }
+}
@@ -0,0 +1,102 @@
+package com.recruitment.loadtest;
+
+import com.recruitment.Main;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts an embedded PostgreSQL, applies the migrations, bulk loads
+ * synthetic users and tasks, starts the application on a random port and drives the
+ * HTTP endpoints with a closed-loop workload. Latencies of the warm-up phase are discarded.
+ *
+ * <p>Run with {@code mvn -P loadtest test-compile exec:exec -Dloadtest.args="users=100000 tasks=1000000"}.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Load test: " + options);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("shared_buffers", "512MB")
+                .setServerConfig("max_connections", "300")
+                .setServerConfig("synchronous_commit", "off")
+                .start()) {
+            Flyway.configure()
+                    .dataSource(postgres.getPostgresDatabase())
+                    .locations("classpath:db/migration")
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                    .load()
+                    .migrate();
+
+            long loadStart = System.nanoTime();
+            new SyntheticDataLoader(postgres.getPostgresDatabase()).load(options.users, options.tasks);
+            System.out.printf("Loaded %d users and %d tasks in %d s%n", options.users, options.tasks,
+                    Duration.ofNanos(System.nanoTime() - loadStart).toSeconds());
+
+            try (ConfigurableApplicationContext context = startApplication(postgres.getPort())) {
+                int port = ((ReactiveWebServerApplicationContext) context).getWebServer().getPort();
+                run(options, port);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(int databasePort) {
+        return new SpringApplicationBuilder(Main.class)
+                .properties(
+                        "server.port=0",
+                        "spring.r2dbc.url=r2dbc:postgresql://localhost:" + databasePort + "/postgres",
+                        "spring.r2dbc.username=postgres",
+                        "spring.r2dbc.password=postgres",
+                        "spring.flyway.url=jdbc:postgresql://localhost:" + databasePort + "/postgres",
+                        "spring.flyway.user=postgres",
+                        "spring.flyway.password=postgres")
+                .run();
+    }
+
+    private static void run(LoadTestOptions options, int port) {
+        ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                .maxConnections(options.concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        Workload workload = new Workload(client, options.users, options.tasks, options.mix);
+        LatencyReport report = new LatencyReport();
+        long measureFrom = System.nanoTime() + options.warmup.toNanos();
+
+        Flux.<Workload.Operation>generate(sink -> sink.next(workload.next()))
+                .flatMap(operation -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return workload.execute(operation)
+                            .onErrorReturn(false)
+                            .doOnNext(success -> {
+                                if (start >= measureFrom) {
+                                    report.record(operation, System.nanoTime() - start, success);
+                                }
+                            });
+                }), options.concurrency)
+                .take(options.warmup.plus(options.duration))
+                .blockLast();
+
+        connections.dispose();
+        report.print(System.out, options.duration);
+    }
+}
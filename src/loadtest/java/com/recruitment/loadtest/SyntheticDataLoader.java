@@ -0,0 +1,103 @@
+package com.recruitment.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * Seeds the database with synthetic users and tasks through PostgreSQL {@code COPY}.
+ * Rows are generated on the fly while the server consumes them, so memory use does
+ * not depend on the number of rows.
+ */
+final class SyntheticDataLoader {
+
+    private static final String[] STATUSES = {"NEW", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+
+    private final DataSource dataSource;
+
+    SyntheticDataLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Loads the given number of users and tasks. About one task in ten is unassigned,
+     * the others are spread over all users.
+     *
+     * @param users the number of users
+     * @param tasks the number of tasks
+     */
+    void load(int users, int tasks) throws SQLException, IOException {
+        LocalDate today = LocalDate.now();
+        SplittableRandom random = new SplittableRandom(42);
+
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            copy.copyIn("COPY users (id, name) FROM STDIN",
+                    new RowReader(users, id -> id + "\tUser " + id + "\n"));
+            copy.copyIn("COPY tasks (id, title, description, creation_date, status, user_id) FROM STDIN",
+                    new RowReader(tasks, id -> id
+                            + "\tTask " + id
+                            + "\tSynthetic task " + id
+                            + "\t" + today.minusDays(random.nextInt(730))
+                            + "\t" + STATUSES[random.nextInt(STATUSES.length)]
+                            + "\t" + (random.nextInt(10) == 0 ? "\\N" : String.valueOf(1 + random.nextInt(users)))
+                            + "\n"));
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval('users_id_seq', (SELECT COALESCE(MAX(id), 1) FROM users))");
+                statement.execute("SELECT setval('tasks_id_seq', (SELECT COALESCE(MAX(id), 1) FROM tasks))");
+                statement.execute("VACUUM ANALYZE users");
+                statement.execute("VACUUM ANALYZE tasks");
+            }
+        }
+    }
+
+    /**
+     * Reader producing rows 1..count in COPY text format.
+     */
+    private static final class RowReader extends Reader {
+
+        private final long count;
+        private final LongFunction<String> row;
+        private long next = 1;
+        private String current = "";
+        private int position;
+
+        private RowReader(long count, LongFunction<String> row) {
+            this.count = count;
+            this.row = row;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            int written = 0;
+            while (written < length) {
+                if (position == current.length()) {
+                    if (next > count) {
+                        break;
+                    }
+                    current = row.apply(next++);
+                    position = 0;
+                }
+                int chunk = Math.min(length - written, current.length() - position);
+                current.getChars(position, position + chunk, buffer, offset + written);
+                position += chunk;
+                written += chunk;
+            }
+            return written == 0 ? -1 : written;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
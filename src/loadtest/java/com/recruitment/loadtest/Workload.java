@@ -0,0 +1,120 @@
+package com.recruitment.loadtest;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted mix of requests against the task and user endpoints.
+ */
+final class Workload {
+
+    enum Operation {
+        GET_TASK("get"),
+        GET_USER("user"),
+        LIST("list"),
+        USER_TASKS("userTasks"),
+        CREATE("create"),
+        PATCH("patch"),
+        ASSIGN("assign");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equalsIgnoreCase(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + key);
+        }
+    }
+
+    private static final String[] STATUSES = {"NEW", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+
+    private final WebClient client;
+    private final int users;
+    private final int tasks;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(WebClient client, int users, int tasks, String mix) {
+        this.client = client;
+        this.users = users;
+        this.tasks = tasks;
+
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            weights.put(Operation.of(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Picks the next operation according to the configured weights.
+     *
+     * @return the operation
+     */
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Executes one request of the given operation.
+     *
+     * @param operation the operation
+     * @return a Mono emitting whether the response status was 2xx
+     */
+    Mono<Boolean> execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long taskId = 1 + random.nextInt(tasks);
+        long userId = 1 + random.nextInt(users);
+        WebClient.RequestHeadersSpec<?> request = switch (operation) {
+            case GET_TASK -> client.get().uri("/tasks/{id}", taskId);
+            case GET_USER -> client.get().uri("/users/{id}", userId);
+            case LIST -> client.get().uri("/tasks?size=20&cursor={cursor}", cursor(taskId));
+            case USER_TASKS -> client.get().uri("/users/{id}/tasks?size=20", userId);
+            case CREATE -> client.post().uri("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("title", "Load test task", "description", "Created by the load test",
+                            "userId", userId));
+            case PATCH -> client.patch().uri("/tasks/{id}", taskId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("status", STATUSES[random.nextInt(STATUSES.length)]));
+            case ASSIGN -> client.put().uri("/tasks/{taskId}/assign/{userId}", taskId, userId);
+        };
+        return request.exchangeToMono(response -> response.releaseBody()
+                .thenReturn(response.statusCode().is2xxSuccessful()));
+    }
+
+    /**
+     * Builds a listing cursor positioned right before the given id, in the format used by the API.
+     */
+    private static String cursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + (id - 1)).getBytes(StandardCharsets.UTF_8));
+    }
+}
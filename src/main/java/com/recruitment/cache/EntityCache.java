@@ -0,0 +1,123 @@
+package com.recruitment.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of entity responses keyed by id.
+ * Concurrent misses for the same id share a single load. When disabled,
+ * every lookup goes straight to the loader and writes are no-ops.
+ * An invalidation wins over a load still in flight: the loaded value is dropped
+ * instead of being cached after the entity has changed.
+ *
+ * @param <V> the cached response type
+ */
+public class EntityCache<V> {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final AsyncCache<Long, V> cache;
+
+    /** Invalidation counts per stripe of ids, compared before and after a load. */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private EntityCache(AsyncCache<Long, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Creates a cache evicting by size and time-to-live, and registers its
+     * hit, miss and eviction metrics under the given name.
+     *
+     * @param name       the cache name used as metrics tag
+     * @param properties the cache settings
+     * @param registry   the registry the cache metrics are bound to
+     * @return the cache
+     */
+    public static <V> EntityCache<V> create(String name, EntityCacheProperties properties, MeterRegistry registry) {
+        if (!properties.isEnabled()) {
+            return disabled();
+        }
+        AsyncCache<Long, V> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .buildAsync();
+        new CaffeineCacheMetrics<>(cache.synchronous(), name, Tags.empty()).bindTo(registry);
+        return new EntityCache<>(cache);
+    }
+
+    /**
+     * Creates a pass-through cache that never stores anything.
+     *
+     * @return the disabled cache
+     */
+    public static <V> EntityCache<V> disabled() {
+        return new EntityCache<>(null);
+    }
+
+    /**
+     * Returns the cached value for the id, loading it on a miss.
+     * An empty load result is not cached. The loader runs with the subscriber context of the
+     * lookup that triggered the load.
+     *
+     * @param id     the entity id
+     * @param loader loads the value when it is not cached
+     * @return a Mono emitting the value, or empty if the loader found nothing
+     */
+    public Mono<V> get(Long id, Function<Long, Mono<V>> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        return Mono.deferContextual(context -> Mono.fromFuture(
+                cache.get(id, (key, executor) -> load(key, loader.apply(key).contextWrite(context))), true));
+    }
+
+    private CompletableFuture<V> load(Long id, Mono<V> loader) {
+        int stripe = stripe(id);
+        long generation = generations.get(stripe);
+        CompletableFuture<V> load = loader.toFuture();
+        load.thenRun(() -> {
+            if (generations.get(stripe) != generation) {
+                cache.asMap().remove(id, load);
+            }
+        });
+        return load;
+    }
+
+    /**
+     * Stores the latest value for the id, replacing any cached or in-flight value.
+     *
+     * @param id    the entity id
+     * @param value the new value
+     */
+    public void put(Long id, V value) {
+        if (cache != null) {
+            cache.put(id, CompletableFuture.completedFuture(value));
+        }
+    }
+
+    /**
+     * Removes the value for the id. A load in flight for it is not cached when it completes.
+     *
+     * @param id the entity id
+     */
+    public void invalidate(Long id) {
+        if (cache != null) {
+            generations.incrementAndGet(stripe(id));
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+}
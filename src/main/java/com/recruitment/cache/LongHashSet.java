@@ -0,0 +1,115 @@
+package com.recruitment.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact set of positive long values backed by an open-addressing table of primitive longs.
+ * Lookups are lock-free; additions are serialised. A lookup racing with an addition may miss
+ * the value being added, but never reports a value that was not added.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private volatile AtomicLongArray table;
+    private int size;
+
+    /**
+     * Creates a set sized for the given number of values.
+     *
+     * @param expectedSize the expected number of values
+     */
+    public LongHashSet(int expectedSize) {
+        this.table = new AtomicLongArray(capacityFor(expectedSize));
+    }
+
+    /**
+     * Checks whether the value is in the set.
+     *
+     * @param value the value
+     * @return true if the value was added before
+     */
+    public boolean contains(long value) {
+        if (value <= EMPTY) {
+            return false;
+        }
+        AtomicLongArray current = table;
+        int mask = current.length() - 1;
+        for (int slot = mix(value) & mask; ; slot = (slot + 1) & mask) {
+            long existing = current.get(slot);
+            if (existing == value) {
+                return true;
+            }
+            if (existing == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value, must be positive
+     * @return true if the value was not in the set yet
+     */
+    public synchronized boolean add(long value) {
+        if (value <= EMPTY) {
+            throw new IllegalArgumentException("Only positive values are supported: " + value);
+        }
+        if ((size + 1) * 2 > table.length()) {
+            table = rehash(table, table.length() * 2);
+        }
+        if (!insert(table, value)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private static boolean insert(AtomicLongArray target, long value) {
+        int mask = target.length() - 1;
+        for (int slot = mix(value) & mask; ; slot = (slot + 1) & mask) {
+            long existing = target.get(slot);
+            if (existing == value) {
+                return false;
+            }
+            if (existing == EMPTY) {
+                target.set(slot, value);
+                return true;
+            }
+        }
+    }
+
+    private static AtomicLongArray rehash(AtomicLongArray source, int capacity) {
+        AtomicLongArray target = new AtomicLongArray(capacity);
+        for (int i = 0; i < source.length(); i++) {
+            long value = source.get(i);
+            if (value != EMPTY) {
+                insert(target, value);
+            }
+        }
+        return target;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
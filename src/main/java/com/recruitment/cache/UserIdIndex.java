@@ -0,0 +1,87 @@
+package com.recruitment.cache;
+
+import com.recruitment.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory index of existing user ids, used to validate user references on task writes
+ * without a database round trip. Users are never deleted, so a positive answer is final;
+ * an unknown id falls back to a query and is remembered when the user exists.
+ */
+@Slf4j
+@Component
+public class UserIdIndex {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final LongHashSet ids;
+
+    public UserIdIndex(UserRepository userRepository,
+                       @Value("${app.user-index.enabled:true}") boolean enabled,
+                       @Value("${app.user-index.expected-size:1024}") int expectedSize) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.ids = new LongHashSet(expectedSize);
+    }
+
+    /**
+     * Loads all existing user ids once the application has started.
+     * Lookups made before warm-up completes fall back to the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        userRepository.findAllIds()
+                .doOnNext(this::register)
+                .count()
+                .subscribe(
+                        count -> log.info("User id index warmed up with {} users", count),
+                        error -> log.warn("User id index warm-up failed, falling back to queries", error));
+    }
+
+    /**
+     * Checks whether a user is known to exist without querying the database.
+     *
+     * @param userId the ID of the user
+     * @return true if the user id is in the index; false means unknown, not missing
+     */
+    public boolean isKnown(Long userId) {
+        return enabled && userId != null && ids.contains(userId);
+    }
+
+    /**
+     * Checks whether a user exists.
+     *
+     * @param userId the ID of the user
+     * @return a Mono emitting true if the user exists
+     */
+    public Mono<Boolean> exists(Long userId) {
+        if (isKnown(userId)) {
+            return Mono.just(true);
+        }
+        return userRepository.existsById(userId)
+                .doOnNext(exists -> {
+                    if (exists) {
+                        register(userId);
+                    }
+                });
+    }
+
+    /**
+     * Records a user id, e.g. right after the user was created.
+     *
+     * @param userId the ID of the user
+     */
+    public void register(Long userId) {
+        if (enabled && userId != null) {
+            ids.add(userId);
+        }
+    }
+}
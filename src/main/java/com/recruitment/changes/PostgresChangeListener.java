@@ -0,0 +1,97 @@
+package com.recruitment.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitment.dto.TaskChangeEvent;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Publishes the changes the database triggers announce on the {@value #CHANNEL} channel to the
+ * {@link TaskChangeFeed}. Each notification carries a JSON array of the changes of one statement,
+ * in batches; a single change object is accepted as well. Holds one connection per database outside
+ * the pools, sharded setups listen to every shard. A lost connection is reopened with exponential backoff; changes committed
+ * while it was closed are not published.
+ */
+@Slf4j
+public class PostgresChangeListener {
+
+    static final String CHANNEL = "task_changes";
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final List<ConnectionFactory> connectionFactories;
+    private final TaskChangeFeed feed;
+    private final ObjectMapper objectMapper;
+    private Disposable subscription;
+
+    public PostgresChangeListener(List<ConnectionFactory> connectionFactories, TaskChangeFeed feed,
+                                  ObjectMapper objectMapper) {
+        this.connectionFactories = connectionFactories;
+        this.feed = feed;
+        this.objectMapper = objectMapper;
+    }
+
+    public void start() {
+        subscription = Flux.fromIterable(connectionFactories)
+                .flatMap(this::listen, connectionFactories.size())
+                .subscribe(feed::publish);
+    }
+
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Listens for changes on one database, reconnecting whenever the connection ends.
+     *
+     * @param connectionFactory the factory of the listening connection
+     * @return a Flux emitting the changes; it only ends when cancelled
+     */
+    Flux<TaskChangeEvent> listen(ConnectionFactory connectionFactory) {
+        return Flux.usingWhen(connectionFactory.create(), this::notifications, Connection::close)
+                .concatWith(Flux.error(() -> new IllegalStateException("Connection closed")))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Listening for task changes failed, reconnecting",
+                                signal.failure())))
+                .concatMapIterable(this::parse);
+    }
+
+    private Flux<Notification> notifications(Connection connection) {
+        if (!(connection instanceof PostgresqlConnection postgres)) {
+            return Flux.error(new IllegalStateException("Task changes can only be received from PostgreSQL"));
+        }
+        return postgres.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .thenMany(postgres.getNotifications());
+    }
+
+    private List<TaskChangeEvent> parse(Notification notification) {
+        String payload = notification.getParameter();
+        try {
+            return payload != null && payload.startsWith("[")
+                    ? Arrays.asList(objectMapper.readValue(payload, TaskChangeEvent[].class))
+                    : List.of(objectMapper.readValue(payload, TaskChangeEvent.class));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Ignoring malformed task changes {}", payload, e);
+            return List.of();
+        }
+    }
+}
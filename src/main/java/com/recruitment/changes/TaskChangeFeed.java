@@ -0,0 +1,83 @@
+package com.recruitment.changes;
+
+import com.recruitment.dto.TaskChangeEvent;
+import com.recruitment.enums.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Fans task changes out to the subscribers of the change feed. Changes are published by a
+ * {@link PostgresChangeListener} for every committed write to the database, whichever instance
+ * made it, or by the in-memory store. Nothing is replayed: a subscriber sees the changes published
+ * after it subscribed.
+ *
+ * <p>Every subscriber has its own buffer of {@code app.changes.buffer-size} events, so a slow
+ * subscriber never holds up the others or the publisher. A subscriber that falls further behind is
+ * dropped: its stream fails with an overflow error (see {@link Exceptions#isOverflow(Throwable)})
+ * and it has to reload what it shows before subscribing again.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private static final Duration EMIT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Sinks.Many<TaskChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Counter published;
+    private final Counter overflows;
+
+    public TaskChangeFeed(@Value("${app.changes.buffer-size:256}") int bufferSize, MeterRegistry registry) {
+        this.bufferSize = bufferSize;
+        this.published = Counter.builder("task.changes.published")
+                .description("Task changes published to the change feed")
+                .register(registry);
+        this.overflows = Counter.builder("task.changes.overflows")
+                .description("Change feed subscribers dropped for falling behind")
+                .register(registry);
+        Gauge.builder("task.changes.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Current change feed subscribers")
+                .register(registry);
+    }
+
+    /**
+     * Delivers a change to the current subscribers. Thread-safe.
+     *
+     * @param event the change
+     */
+    public void publish(TaskChangeEvent event) {
+        published.increment();
+        sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+    }
+
+    /**
+     * Subscribes to the changes of tasks, optionally only those of one user or in one status.
+     * A change matches when the task matched before or after it, so a subscriber also sees a task
+     * leave its selection.
+     *
+     * @param userId the ID of the user, or null for all users
+     * @param status the status, or null for all statuses
+     * @return a hot Flux emitting the matching changes; fails with an overflow error when the
+     * subscriber falls behind
+     */
+    public Flux<TaskChangeEvent> changes(Long userId, TaskStatus status) {
+        return sink.asFlux()
+                .filter(event -> matches(event, userId, status))
+                .onBackpressureBuffer(bufferSize)
+                .doOnError(Exceptions::isOverflow, error -> overflows.increment());
+    }
+
+    static boolean matches(TaskChangeEvent event, Long userId, TaskStatus status) {
+        return (userId == null
+                || userId.equals(event.getUserId()) || userId.equals(event.getPreviousUserId()))
+                && (status == null
+                || status == event.getStatus() || status == event.getPreviousStatus());
+    }
+}
@@ -0,0 +1,64 @@
+package com.recruitment.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitment.dto.TaskChangeEvent;
+import com.recruitment.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebSocket endpoint of the change feed at {@code /ws/tasks/changes}, the counterpart of
+ * {@code GET /tasks/changes}. Sends every change as a JSON text message and accepts the same
+ * {@code userId} and {@code status} query parameters. Messages from the client are ignored.
+ * A client that falls behind is disconnected with close status {@value #OVERFLOW_CODE}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeWebSocketHandler implements WebSocketHandler {
+
+    static final int OVERFLOW_CODE = 4000;
+
+    private static final CloseStatus OVERFLOW = new CloseStatus(OVERFLOW_CODE, "Client fell behind");
+
+    private final TaskChangeFeed feed;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        MultiValueMap<String, String> parameters = UriComponentsBuilder
+                .fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams();
+        Long userId;
+        TaskStatus status;
+        try {
+            String user = parameters.getFirst("userId");
+            String statusName = parameters.getFirst("status");
+            userId = user == null ? null : Long.valueOf(user);
+            status = statusName == null ? null : TaskStatus.valueOf(statusName);
+        } catch (IllegalArgumentException e) {
+            return session.close(CloseStatus.BAD_DATA.withReason("Invalid userId or status"));
+        }
+
+        return session.send(feed.changes(userId, status)
+                        .takeUntilOther(session.receive().then())
+                        .map(event -> session.textMessage(write(event))))
+                .onErrorResume(Exceptions::isOverflow, error -> session.close(OVERFLOW));
+    }
+
+    private String write(TaskChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.recruitment.config;
+
+import com.recruitment.cache.EntityCache;
+import com.recruitment.cache.EntityCacheProperties;
+import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the read-through caches in front of task and user lookups by id.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public EntityCache<TaskResponse> taskCache(EntityCacheProperties properties, MeterRegistry registry) {
+        return EntityCache.create("tasks", properties, registry);
+    }
+
+    @Bean
+    public EntityCache<UserResponse> userCache(EntityCacheProperties properties, MeterRegistry registry) {
+        return EntityCache.create("users", properties, registry);
+    }
+}
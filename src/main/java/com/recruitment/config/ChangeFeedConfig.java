@@ -0,0 +1,72 @@
+package com.recruitment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitment.changes.PostgresChangeListener;
+import com.recruitment.changes.TaskChangeFeed;
+import com.recruitment.changes.TaskChangeWebSocketHandler;
+import com.recruitment.dto.TaskChangeEvent;
+import com.recruitment.mapper.TaskMapper;
+import com.recruitment.repository.memory.TaskChangeListener;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of the task change feed: where changes are published from and the WebSocket
+ * endpoint. With a database, changes are received with {@code LISTEN} on the primary database, or
+ * on every shard with the {@code sharded} profile; the in-memory store publishes its changes itself.
+ * Disabled with {@code app.changes.enabled=false}, in which case the feed stays silent.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeFeedConfig {
+
+    @Bean
+    public HandlerMapping taskChangeWebSocketMapping(TaskChangeWebSocketHandler handler) {
+        return new SimpleUrlHandlerMapping(Map.of("/ws/tasks/changes", handler), -1);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @Profile("!in-memory & !sharded")
+    public PostgresChangeListener taskChangeListener(R2dbcProperties properties, TaskChangeFeed feed,
+                                                     ObjectMapper objectMapper) {
+        ConnectionFactory connectionFactory = DatabaseConfig.unpooledConnectionFactory(properties.getUrl(),
+                properties.getUsername(), properties.getPassword());
+        return new PostgresChangeListener(List.of(connectionFactory), feed, objectMapper);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @Profile("sharded")
+    public PostgresChangeListener shardedTaskChangeListener(ShardingProperties shardingProperties,
+                                                            R2dbcProperties properties, TaskChangeFeed feed,
+                                                            ObjectMapper objectMapper) {
+        List<ConnectionFactory> connectionFactories = new ArrayList<>();
+        for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+            connectionFactories.add(DatabaseConfig.unpooledConnectionFactory(shard.getUrl(),
+                    StringUtils.hasText(shard.getUsername()) ? shard.getUsername() : properties.getUsername(),
+                    StringUtils.hasText(shard.getPassword()) ? shard.getPassword() : properties.getPassword()));
+        }
+        return new PostgresChangeListener(connectionFactories, feed, objectMapper);
+    }
+
+    @Bean
+    @Profile("in-memory")
+    public TaskChangeListener inMemoryTaskChangeListener(TaskChangeFeed feed, TaskMapper taskMapper) {
+        return (previous, current) -> {
+            TaskChangeEvent event = taskMapper.toChangeEvent(previous, current);
+            if (event != null) {
+                feed.publish(event);
+            }
+        };
+    }
+}
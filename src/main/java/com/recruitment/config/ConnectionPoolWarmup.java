@@ -0,0 +1,99 @@
+package com.recruitment.config;
+
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.repository.TaskRepository;
+import com.recruitment.repository.UserRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Opens the initial pool connections and runs the hot repository statements once on each of them,
+ * so every connection has them prepared before the application reports readiness. Replica pools
+ * only get their initial connections opened.
+ * The statements run inside rolled-back transactions with ids that match no rows.
+ */
+@Slf4j
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "app.r2dbc.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionPoolWarmup implements ApplicationRunner {
+
+    private static final long MISSING_ID = -1L;
+
+    private final ConnectionFactory connectionFactory;
+    private final TransactionalOperator transactionalOperator;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final Duration timeout;
+
+    public ConnectionPoolWarmup(ConnectionFactory connectionFactory,
+                                TransactionalOperator transactionalOperator,
+                                TaskRepository taskRepository,
+                                UserRepository userRepository,
+                                @Value("${app.r2dbc.warmup.timeout:30s}") Duration timeout) {
+        this.connectionFactory = connectionFactory;
+        this.transactionalOperator = transactionalOperator;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ConnectionPool pool = DatabaseConfig.unwrapPool(connectionFactory);
+        if (pool == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (connectionFactory instanceof ReplicaRoutingConnectionFactory routing) {
+            routing.warmupReplicas().block(timeout);
+        }
+        pool.warmup().block(timeout);
+        // Concurrent transactions each pin their own connection, so the statements reach every one of them.
+        int warmed = Math.max(pool.getMetrics().map(PoolMetrics::allocatedSize).orElse(1), 1);
+        Flux.range(0, warmed)
+                .flatMap(i -> transactionalOperator.execute(status -> {
+                    status.setRollbackOnly();
+                    return hotStatements();
+                }), warmed)
+                .then()
+                .block(timeout);
+        log.info("Warmed up {} pooled connections in {} ms", warmed,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private Mono<Void> hotStatements() {
+        TaskFilter filter = new TaskFilter();
+        filter.setIds(List.of(MISSING_ID));
+        return Flux.<Object>concat(
+                        taskRepository.findById(MISSING_ID),
+                        taskRepository.findAllAfter(Long.MAX_VALUE, 1),
+                        taskRepository.findUserTasksPage(MISSING_ID, 0, null, 1),
+                        taskRepository.findUserTasksPage(MISSING_ID, 0, TaskStatus.NEW, 1),
+                        taskRepository.updateTask(MISSING_ID, "", "", TaskStatus.NEW.name(), null, null),
+                        taskRepository.patchTask(MISSING_ID, null, null, null, null, null),
+                        taskRepository.assignToUser(MISSING_ID, MISSING_ID),
+                        taskRepository.updateStatus(filter, TaskStatus.NEW),
+                        taskRepository.deleteMatching(filter),
+                        taskRepository.deleteReturningId(MISSING_ID),
+                        userRepository.findById(MISSING_ID),
+                        userRepository.findAllAfter(Long.MAX_VALUE, 1),
+                        userRepository.findExistingIds(new Long[]{MISSING_ID}))
+                .then();
+    }
+}
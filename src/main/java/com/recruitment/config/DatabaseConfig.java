@@ -0,0 +1,107 @@
+package com.recruitment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the R2DBC connection pools from the {@code spring.r2dbc.*} properties.
+ * Replaces the auto-configured pool so connection acquisition can be timed; the pool gauges
+ * ({@code r2dbc.pool.*}) are bound by the actuator as usual. When replicas are configured under
+ * {@code app.r2dbc.replicas}, each gets a pool with the same settings and read-only operations
+ * are routed to them.
+ */
+@Configuration
+@Profile("!in-memory")
+@EnableConfigurationProperties({R2dbcProperties.class, ReplicaProperties.class})
+public class DatabaseConfig {
+
+    private static final String POOL_NAME = "tasks";
+
+    @Bean
+    public ConnectionFactory connectionFactory(R2dbcProperties properties, ReplicaProperties replicaProperties,
+                                               MeterRegistry registry) {
+        ConnectionFactory primary = new TimedConnectionFactory(
+                pool(POOL_NAME, properties.getUrl(), properties.getUsername(), properties.getPassword(),
+                        properties.getPool()),
+                POOL_NAME, registry);
+        if (replicaProperties.getReplicas().isEmpty()) {
+            return primary;
+        }
+
+        List<ConnectionFactory> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica replica : replicaProperties.getReplicas()) {
+            String name = "replica-" + replicas.size();
+            ConnectionPool pool = pool(name, replica.getUrl(),
+                    StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : properties.getUsername(),
+                    StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : properties.getPassword(),
+                    properties.getPool());
+            new ConnectionPoolMetrics(pool, name, Tags.empty()).bindTo(registry);
+            replicas.add(new TimedConnectionFactory(pool, name, registry));
+        }
+        return new ReplicaRoutingConnectionFactory(primary, replicas, replicaProperties.getFailoverCooldown(),
+                registry);
+    }
+
+    /**
+     * Returns the connection pool behind the factory, unwrapping decorators.
+     *
+     * @param connectionFactory the connection factory
+     * @return the pool, or null if the factory is not pooled
+     */
+    static ConnectionPool unwrapPool(Object connectionFactory) {
+        if (connectionFactory instanceof ConnectionPool pool) {
+            return pool;
+        }
+        if (connectionFactory instanceof Wrapped<?> wrapped) {
+            return unwrapPool(wrapped.unwrap());
+        }
+        return null;
+    }
+
+    static ConnectionPool pool(String name, String url, String username, String password,
+                                       R2dbcProperties.Pool pool) {
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration
+                .builder(unpooledConnectionFactory(url, username, password))
+                .name(name)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .minIdle(pool.getMinIdle())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .maxCreateConnectionTime(pool.getMaxCreateConnectionTime());
+        if (StringUtils.hasText(pool.getValidationQuery())) {
+            configuration.validationQuery(pool.getValidationQuery());
+        }
+        return new ConnectionPool(configuration.build());
+    }
+
+    /**
+     * Returns an unpooled connection factory, for connections held for the lifetime of the application.
+     */
+    static ConnectionFactory unpooledConnectionFactory(String url, String username, String password) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(url);
+        if (StringUtils.hasText(username)) {
+            builder.username(username);
+        }
+        if (StringUtils.hasText(password)) {
+            builder.password(password);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.recruitment.config;
+
+import com.recruitment.repository.memory.MappedJournal;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+
+/**
+ * Configuration of the durable embedded storage, active with the {@code embedded} profile, which also
+ * activates {@code in-memory}. The in-memory store records every change in a journal under
+ * {@code app.embedded.directory} and is recovered from it at startup.
+ */
+@Configuration
+@Profile("embedded")
+@EnableConfigurationProperties(EmbeddedStorageProperties.class)
+public class EmbeddedStorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedJournal storeJournal(EmbeddedStorageProperties properties) throws IOException {
+        return new MappedJournal(properties.getDirectory(),
+                Math.toIntExact(properties.getRegionSize().toBytes()),
+                properties.getCompactionThreshold().toBytes(),
+                properties.getCommitDelay());
+    }
+}
@@ -0,0 +1,32 @@
+package com.recruitment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("app.embedded")
+public class EmbeddedStorageProperties {
+
+    private Path directory = Path.of("data");
+
+    /**
+     * Size of the memory-mapped regions the journal file grows by.
+     */
+    private DataSize regionSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Journal size after which the store is snapshotted and the journal restarted.
+     */
+    private DataSize compactionThreshold = DataSize.ofMegabytes(256);
+
+    /**
+     * How long a flush waits for more writes to join it; zero flushes as soon as a write waits.
+     */
+    private Duration commitDelay = Duration.ZERO;
+}
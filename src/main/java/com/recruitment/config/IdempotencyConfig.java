@@ -0,0 +1,36 @@
+package com.recruitment.config;
+
+import com.recruitment.idempotency.IdempotencyKeyPurger;
+import com.recruitment.idempotency.IdempotencyStore;
+import com.recruitment.idempotency.PostgresIdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the shared idempotency key store on the primary database, also with the
+ * {@code sharded} profile. With the {@code in-memory} profile idempotency keys are only kept in
+ * the process.
+ */
+@Configuration
+@Profile("!in-memory")
+public class IdempotencyConfig {
+
+    @Bean
+    public PostgresIdempotencyStore idempotencyStore(DatabaseClient databaseClient) {
+        return new PostgresIdempotencyStore(databaseClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.purge.enabled", havingValue = "true", matchIfMissing = true)
+    public IdempotencyKeyPurger idempotencyKeyPurger(IdempotencyStore idempotencyStore,
+                                                     @Value("${app.idempotency.purge.interval:1h}")
+                                                     Duration interval) {
+        return new IdempotencyKeyPurger(idempotencyStore, interval);
+    }
+}
@@ -0,0 +1,52 @@
+package com.recruitment.config;
+
+import com.recruitment.repository.memory.InMemoryStore;
+import com.recruitment.repository.memory.InMemoryTaskRepository;
+import com.recruitment.repository.memory.InMemoryTransactionManager;
+import com.recruitment.repository.memory.InMemoryUserRepository;
+import com.recruitment.repository.memory.StoreJournal;
+import com.recruitment.repository.memory.TaskChangeListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+/**
+ * Configuration of the in-memory storage engine, active with the {@code in-memory} profile.
+ * Replaces the R2DBC repositories, so no database is needed. Data lives for the lifetime of the process
+ * unless a {@link StoreJournal} bean is present, from which the store is recovered at startup. Task changes
+ * are announced to the {@link TaskChangeListener} bean, if any.
+ */
+@Configuration
+@Profile("in-memory")
+public class InMemoryRepositoryConfig {
+
+    @Bean
+    public InMemoryStore inMemoryStore(@Value("${app.in-memory.expected-users:1024}") int expectedUsers,
+                                       @Value("${app.in-memory.expected-tasks:65536}") int expectedTasks,
+                                       ObjectProvider<StoreJournal> journal,
+                                       ObjectProvider<TaskChangeListener> listener) {
+        StoreJournal storeJournal = journal.getIfAvailable(() -> StoreJournal.NONE);
+        InMemoryStore store = new InMemoryStore(expectedUsers, expectedTasks, storeJournal,
+                listener.getIfAvailable(() -> TaskChangeListener.NONE));
+        storeJournal.replay(store);
+        return store;
+    }
+
+    @Bean
+    public InMemoryTaskRepository taskRepository(InMemoryStore store) {
+        return new InMemoryTaskRepository(store);
+    }
+
+    @Bean
+    public InMemoryUserRepository userRepository(InMemoryStore store) {
+        return new InMemoryUserRepository(store);
+    }
+
+    @Bean
+    public ReactiveTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+}
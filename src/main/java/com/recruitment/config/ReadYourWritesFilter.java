@@ -0,0 +1,67 @@
+package com.recruitment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recruitment.repository.ReadOnlyRouting;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Pins the reads of a client to the primary for a short window after it wrote, so it does not
+ * observe replication lag on its own changes. Clients are identified by a header, falling back
+ * to the remote address. Only active when replicas are configured.
+ */
+@Component
+@ConditionalOnProperty(name = "app.r2dbc.replicas[0].url")
+public class ReadYourWritesFilter implements WebFilter {
+
+    private final boolean enabled;
+    private final String clientIdHeader;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(ReplicaProperties properties) {
+        ReplicaProperties.ReadYourWrites readYourWrites = properties.getReadYourWrites();
+        this.enabled = readYourWrites.isEnabled();
+        this.clientIdHeader = readYourWrites.getClientIdHeader();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWrites.getWindow())
+                .maximumSize(readYourWrites.getMaximumClients())
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String clientId = enabled ? clientId(exchange.getRequest()) : null;
+        if (clientId == null) {
+            return chain.filter(exchange);
+        }
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+            recentWriters.put(clientId, Boolean.TRUE);
+            // The window restarts once the write completes, so it covers the whole replication lag.
+            return chain.filter(exchange).doFinally(signal -> recentWriters.put(clientId, Boolean.TRUE));
+        }
+        if (recentWriters.getIfPresent(clientId) != null) {
+            return chain.filter(exchange).contextWrite(ReadOnlyRouting::pinToPrimary);
+        }
+        return chain.filter(exchange);
+    }
+
+    private String clientId(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(clientIdHeader);
+        if (header != null && !header.isBlank()) {
+            return header;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress == null || remoteAddress.getAddress() == null
+                ? null : remoteAddress.getAddress().getHostAddress();
+    }
+}
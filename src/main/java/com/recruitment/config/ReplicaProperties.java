@@ -0,0 +1,38 @@
+package com.recruitment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("app.r2dbc")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+    private Duration failoverCooldown = Duration.ofSeconds(30);
+    private ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Getter
+    @Setter
+    public static class ReadYourWrites {
+
+        private boolean enabled = true;
+        private Duration window = Duration.ofSeconds(5);
+        private String clientIdHeader = "X-Client-Id";
+        private long maximumClients = 100_000;
+    }
+}
@@ -0,0 +1,168 @@
+package com.recruitment.config;
+
+import com.recruitment.repository.ReadOnlyRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection factory sending read-only operations to the least loaded healthy replica and everything else
+ * to the primary. A replica whose connection attempt fails is skipped for the failover cooldown and
+ * the operation falls back to the primary. Unwraps to the primary.
+ */
+@Slf4j
+class ReplicaRoutingConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    static final String FAILOVER_COUNTER = "r2dbc.replica.failovers";
+
+    private final ConnectionFactory primary;
+    private final List<Replica> replicas;
+    private final long cooldownNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaRoutingConnectionFactory(ConnectionFactory primary, List<ConnectionFactory> replicas,
+                                    Duration failoverCooldown, MeterRegistry registry) {
+        this.primary = primary;
+        this.cooldownNanos = failoverCooldown.toNanos();
+        List<Replica> routed = new ArrayList<>(replicas.size());
+        for (ConnectionFactory factory : replicas) {
+            routed.add(new Replica("replica-" + routed.size(), factory, registry));
+        }
+        this.replicas = List.copyOf(routed);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(context -> {
+            Replica replica = ReadOnlyRouting.isReplicaAllowed(context) ? select() : null;
+            if (replica == null) {
+                return Mono.from(primary.create());
+            }
+            return Mono.<Connection>from(replica.factory.create())
+                    .onErrorResume(e -> {
+                        replica.markDown(System.nanoTime() + cooldownNanos);
+                        log.warn("Connection to {} failed, routing reads to the primary for {} ms",
+                                replica.name, Duration.ofNanos(cooldownNanos).toMillis(), e);
+                        return Mono.from(primary.create());
+                    });
+        });
+    }
+
+    /**
+     * Opens the initial connections of every replica pool.
+     *
+     * @return a Mono completing when all replica pools are warmed up
+     */
+    Mono<Void> warmupReplicas() {
+        return Flux.fromIterable(replicas)
+                .filter(replica -> replica.pool != null)
+                .flatMap(replica -> replica.pool.warmup()
+                        .onErrorResume(e -> {
+                            log.warn("Could not warm up {}", replica.name, e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    public void close() {
+        close(primary);
+        replicas.forEach(replica -> close(replica.factory));
+    }
+
+    /**
+     * Picks the healthy replica with the fewest acquired and pending connections,
+     * rotating the starting point so equally loaded replicas share the traffic.
+     */
+    private Replica select() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        long now = System.nanoTime();
+        Replica selected = null;
+        int lowestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.isDown(now)) {
+                continue;
+            }
+            int load = candidate.load();
+            if (load < lowestLoad) {
+                selected = candidate;
+                lowestLoad = load;
+            }
+        }
+        return selected;
+    }
+
+    private static void close(ConnectionFactory factory) {
+        if (factory instanceof TimedConnectionFactory timed) {
+            timed.close();
+        } else if (factory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final ConnectionFactory factory;
+        private final ConnectionPool pool;
+        private final Counter failovers;
+        private volatile long downUntil;
+        private volatile boolean down;
+
+        private Replica(String name, ConnectionFactory factory, MeterRegistry registry) {
+            this.name = name;
+            this.factory = factory;
+            this.pool = DatabaseConfig.unwrapPool(factory);
+            this.failovers = Counter.builder(FAILOVER_COUNTER)
+                    .description("Replica connection failures that fell back to the primary")
+                    .tag("name", name)
+                    .register(registry);
+        }
+
+        private int load() {
+            if (pool == null) {
+                return 0;
+            }
+            return pool.getMetrics()
+                    .map(metrics -> metrics.acquiredSize() + metrics.pendingAcquireSize())
+                    .orElse(0);
+        }
+
+        private boolean isDown(long now) {
+            return down && now - downUntil < 0;
+        }
+
+        private void markDown(long until) {
+            downUntil = until;
+            down = true;
+            failovers.increment();
+        }
+    }
+}
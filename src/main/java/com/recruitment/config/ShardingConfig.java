@@ -0,0 +1,102 @@
+package com.recruitment.config;
+
+import com.recruitment.cache.UserIdIndex;
+import com.recruitment.repository.ShardRebalancer;
+import com.recruitment.repository.ShardedTaskRepository;
+import com.recruitment.sharding.ConsistentHashRing;
+import com.recruitment.sharding.TaskIdGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import jakarta.annotation.PreDestroy;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of the sharded task storage, active with the {@code sharded} profile.
+ * Every shard listed under {@code app.sharding.shards} gets its own pool with the
+ * {@code spring.r2dbc.pool.*} settings and is migrated with {@code db/shard-migration} at startup.
+ * Users stay on the primary database. Start with {@code --rebalance-shards} to move tasks after the
+ * shard list changed.
+ */
+@Configuration
+@Profile("sharded")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    private final List<TimedConnectionFactory> connectionFactories = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public ShardedTaskRepository shardedTaskRepository(ShardingProperties properties,
+                                                       R2dbcProperties r2dbcProperties,
+                                                       UserIdIndex userIdIndex,
+                                                       MeterRegistry registry,
+                                                       @Value("${app.streaming.fetch-size:256}") int fetchSize) {
+        if (properties.getShards().isEmpty() || properties.getShards().size() > TaskIdGenerator.MAX_SHARDS) {
+            throw new IllegalStateException("Between 1 and " + TaskIdGenerator.MAX_SHARDS + " shards must be configured");
+        }
+        List<String> names = new ArrayList<>();
+        List<R2dbcEntityTemplate> templates = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            String name = StringUtils.hasText(shard.getName()) ? shard.getName() : "shard-" + names.size();
+            String username = StringUtils.hasText(shard.getUsername()) ? shard.getUsername() : r2dbcProperties.getUsername();
+            String password = StringUtils.hasText(shard.getPassword()) ? shard.getPassword() : r2dbcProperties.getPassword();
+            if (StringUtils.hasText(shard.getFlywayUrl())) {
+                Flyway.configure()
+                        .dataSource(shard.getFlywayUrl(), username, password)
+                        .locations("classpath:db/shard-migration")
+                        .baselineOnMigrate(true)
+                        .baselineVersion("0")
+                        .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                        .load()
+                        .migrate();
+            }
+            ConnectionPool pool = DatabaseConfig.pool(name, shard.getUrl(), username, password, r2dbcProperties.getPool());
+            new ConnectionPoolMetrics(pool, name, Tags.empty()).bindTo(registry);
+            TimedConnectionFactory connectionFactory = new TimedConnectionFactory(pool, name, registry);
+            connectionFactories.add(connectionFactory);
+            names.add(name);
+            templates.add(new R2dbcEntityTemplate(connectionFactory));
+        }
+        return new ShardedTaskRepository(templates,
+                new ConsistentHashRing(names, properties.getVirtualNodes()),
+                properties.getUnassignedShard(),
+                new TaskIdGenerator(properties.getWorkerId()),
+                userIdIndex,
+                fetchSize);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardedTaskRepository shardedTaskRepository, ShardingProperties properties) {
+        return new ShardRebalancer(shardedTaskRepository, properties.getRebalanceConcurrency());
+    }
+
+    @Bean
+    public ApplicationRunner shardRebalanceRunner(ShardRebalancer shardRebalancer) {
+        return args -> {
+            if (args.containsOption("rebalance-shards")) {
+                shardRebalancer.rebalance().block();
+            }
+        };
+    }
+
+    @PreDestroy
+    public void closeShards() {
+        connectionFactories.forEach(TimedConnectionFactory::close);
+    }
+}
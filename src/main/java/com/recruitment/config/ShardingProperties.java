@@ -0,0 +1,34 @@
+package com.recruitment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("app.sharding")
+public class ShardingProperties {
+
+    private List<Shard> shards = new ArrayList<>();
+    private int unassignedShard = 0;
+    private int virtualNodes = 128;
+    private int workerId = 0;
+    private int rebalanceConcurrency = 4;
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        /**
+         * Stable name placing the shard on the hash ring; renaming a shard moves its users.
+         */
+        private String name;
+        private String url;
+        private String flywayUrl;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,69 @@
+package com.recruitment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection factory recording how long callers wait for a connection from the wrapped pool.
+ * It unwraps to the pool, so the pool gauges (acquired, pending, idle) stay bound to it as well.
+ */
+class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+
+    private final ConnectionFactory delegate;
+    private final Timer acquired;
+    private final Timer failed;
+
+    TimedConnectionFactory(ConnectionFactory delegate, String name, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.acquired = timer(name, "success", registry);
+        this.failed = timer(name, "failure", registry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.<Connection>from(delegate.create())
+                    .doOnNext(connection -> acquired.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    /**
+     * Disposes the wrapped pool, closing its connections.
+     */
+    public void close() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private static Timer timer(String name, String outcome, MeterRegistry registry) {
+        return Timer.builder(ACQUIRE_TIMER)
+                .description("Time spent waiting for a pooled connection")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.recruitment.controller;
+
+import com.recruitment.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Maps entity versions to the strong entity tags sent in {@code ETag} headers and back.
+ * A tag is the quoted version, so it changes with every update of the entity.
+ */
+final class EntityTags {
+
+    private static final String ANY = "*";
+
+    private EntityTags() {
+    }
+
+    /**
+     * Returns the entity tag of a version.
+     *
+     * @param version the entity version
+     * @return the quoted version
+     */
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Wraps a body in a 200 response carrying the entity tag of its version, if it has one.
+     * For conditional GET requests whose {@code If-None-Match} matches the tag, the response is
+     * turned into a 304 without writing the body.
+     *
+     * @param body    the response body
+     * @param version the version of the entity, may be null
+     * @return the response
+     */
+    static <T> ResponseEntity<T> tagged(T body, Long version) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (version != null) {
+            response.eTag(of(version));
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Decodes the {@code If-Match} header of a conditional update into the versions the entity
+     * may still be at, any one of which lets the update apply. The header holds a comma-separated
+     * list of tags; weak tags and tags this service did not issue are skipped, since they never match
+     * under the strong comparison updates require.
+     *
+     * @param ifMatch the header value, may be null
+     * @return the expected versions, or an empty set if the header is absent or {@code *}
+     * @throws PreconditionFailedException if the header cannot match any version
+     */
+    static Set<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return Set.of();
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String element : ifMatch.split(",")) {
+            String tag = element.trim();
+            if (ANY.equals(tag)) {
+                return Set.of();
+            }
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not a tag this service issued
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current entity tag: " + ifMatch);
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,91 @@
+package com.recruitment.controller;
+
+import com.recruitment.exception.InvalidCursorException;
+import com.recruitment.exception.InvalidPageSizeException;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Encodes and decodes the opaque cursors used for keyset pagination.
+ * A cursor wraps the id of the last row of a page; the next page starts right after it.
+ */
+final class PageCursor {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Validates a requested page size and caps it at the configured maximum.
+     *
+     * @param size    the requested page size
+     * @param maxSize the largest page size served
+     * @return the page size to read
+     * @throws InvalidPageSizeException if the size is not positive
+     */
+    static int pageSize(int size, int maxSize) {
+        if (size < 1) {
+            throw new InvalidPageSizeException("Invalid page size: " + size);
+        }
+        return Math.min(size, maxSize);
+    }
+
+    /**
+     * Encodes the id of the last row of a page as an opaque cursor.
+     *
+     * @param lastId the id of the last row
+     * @return the cursor string
+     */
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor back into the id of the last row of the previous page.
+     *
+     * @param cursor the cursor string
+     * @return the id after which the next page starts
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    static long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Collects a page and adds the cursor of the next page as a response header
+     * when the page is full.
+     *
+     * @param items the page items
+     * @param idOf  extracts the id of an item
+     * @param size  the requested page size
+     * @return a Mono emitting the page with the optional next cursor header
+     */
+    static <T> Mono<ResponseEntity<List<T>>> page(Flux<T> items, ToLongFunction<T> idOf, int size) {
+        return items.collectList()
+                .map(list -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (size > 0 && list.size() == size) {
+                        response.header(NEXT_CURSOR_HEADER, encode(idOf.applyAsLong(list.get(list.size() - 1))));
+                    }
+                    return response.body(list);
+                });
+    }
+}
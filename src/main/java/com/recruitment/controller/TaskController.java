@@ -1,17 +1,35 @@
 package com.recruitment.controller;
 
+import com.recruitment.changes.TaskChangeFeed;
+import com.recruitment.dto.TaskBatchItemResponse;
+import com.recruitment.dto.TaskBulkStatusRequest;
+import com.recruitment.dto.TaskChangeEvent;
+import com.recruitment.dto.TaskFilter;
 import com.recruitment.dto.TaskRequest;
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.TaskSummaryResponse;
+import com.recruitment.dto.TaskSyncItem;
 import com.recruitment.dto.TaskUpdateRequest;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.idempotency.IdempotentRequests;
 import com.recruitment.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
 /**
  * REST controller for managing tasks.
  * Provides endpoints for creating, updating, deleting, and fetching tasks.
@@ -21,72 +39,209 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    private static final String OVERFLOW_EVENT = "overflow";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TaskService taskService;
+    private final TaskChangeFeed taskChangeFeed;
+    private final IdempotentRequests idempotentRequests;
 
     /**
-     * Creates a new task.
+     * Creates a new task. With an {@code Idempotency-Key} header, a retry with the same key is
+     * answered with the task created first instead of creating another one.
      *
-     * @param taskRequest the task request DTO
+     * @param taskRequest    the task request DTO
+     * @param idempotencyKey the key identifying retries of the request, optional
      * @return a Mono emitting the created TaskResponse
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Creates a new task")
-    public Mono<TaskResponse> createTask(@RequestBody TaskRequest taskRequest) {
-        return taskService.save(taskRequest);
+    public Mono<TaskResponse> createTask(@RequestBody TaskRequest taskRequest,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                         String idempotencyKey) {
+        return idempotentRequests.execute("create-task", idempotencyKey, taskRequest, TaskResponse.class,
+                () -> taskService.save(taskRequest));
     }
 
     /**
-     * Fetches all tasks with summary information.
+     * Creates tasks in bulk. Accepts a JSON array or an NDJSON stream of task requests
+     * and reports the outcome of every item in request order.
      *
-     * @param page the page number (0-based)
-     * @param size the number of items per page
-     * @return a Flux emitting TaskSummaryResponse objects
+     * @param taskRequests the task request DTOs
+     * @return a Flux emitting one TaskBatchItemResponse per request
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Creates tasks in bulk")
+    public Flux<TaskBatchItemResponse> createTasks(@RequestBody Flux<TaskRequest> taskRequests) {
+        return taskRequests.collectList()
+                .flatMapMany(taskService::saveAll);
+    }
+
+    /**
+     * Fetches all tasks with summary information, optionally filtered by ids, userId, status,
+     * creation date range and title substring.
+     * When a cursor is given the page is read by keyset and the page number is ignored.
+     * A full page carries the cursor of the next page in the {@code X-Next-Cursor} header;
+     * the filter must be repeated with the cursor.
+     *
+     * @param page   the page number (0-based)
+     * @param size   the number of items per page
+     * @param cursor the opaque cursor returned with the previous page
+     * @param filter the optional filter criteria
+     * @return a Mono emitting the page of TaskSummaryResponse objects
      */
     @GetMapping
     @Operation(summary = "Fetches all tasks")
-    public Flux<TaskSummaryResponse> findAll(
+    public Mono<ResponseEntity<List<TaskSummaryResponse>>> findAll(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return taskService.findAll(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @ModelAttribute TaskFilter filter) {
+        Flux<TaskSummaryResponse> tasks;
+        if (filter.hasCriteria()) {
+            tasks = cursor == null
+                    ? taskService.findAll(filter, page, size)
+                    : taskService.findAllAfter(filter, PageCursor.decode(cursor), size);
+        } else {
+            tasks = cursor == null
+                    ? taskService.findAll(page, size)
+                    : taskService.findAllAfter(PageCursor.decode(cursor), size);
+        }
+        return PageCursor.page(tasks, TaskSummaryResponse::getId, size);
+    }
+
+    /**
+     * Searches tasks by the words of their title and description, best matches first.
+     * Every word of the query must match a word of the task or be the beginning of one.
+     *
+     * @param q    the search query
+     * @param size the maximum number of results
+     * @return a Flux emitting the matching TaskSummaryResponse objects
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Searches tasks by title and description")
+    public Flux<TaskSummaryResponse> search(@RequestParam String q,
+                                            @RequestParam(defaultValue = "10") int size) {
+        return taskService.search(q, size);
+    }
+
+    /**
+     * Fetches the number of tasks in total and per status.
+     *
+     * @return a Mono emitting the TaskStatsResponse
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Fetches task counts by status")
+    public Mono<TaskStatsResponse> getStats() {
+        return taskService.getStats();
+    }
+
+    /**
+     * Streams all tasks as NDJSON or Server-Sent Events, depending on the Accept header.
+     * Rows are written as they are read from the database.
+     *
+     * @param cursor the optional opaque cursor after which streaming starts
+     * @return a Flux emitting TaskSummaryResponse objects
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Streams all tasks")
+    public Flux<TaskSummaryResponse> streamAll(@RequestParam(required = false) String cursor) {
+        return taskService.streamAll(cursor == null ? 0L : PageCursor.decode(cursor));
+    }
+
+    /**
+     * Streams the tasks created, changed or deleted since a previous sync, as a JSON array or NDJSON
+     * depending on the Accept header. The last item carries the token to pass next time; without a
+     * token, or with an expired one, all tasks are returned and the last item is marked full.
+     *
+     * @param since the optional token returned by the previous sync
+     * @return a Flux emitting TaskSyncItem objects
+     */
+    @GetMapping(value = "/sync", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Syncs the tasks changed since a token")
+    public Flux<TaskSyncItem> sync(@RequestParam(required = false) String since) {
+        return taskService.sync(since);
     }
 
     /**
-     * Fetches task details by ID.
+     * Streams the changes of tasks as Server-Sent Events, named after the change type, from the moment
+     * of the request on. A comment is sent every 15 seconds while there are no changes, so that idle
+     * connections stay open through proxies. A client that falls behind receives an {@code overflow}
+     * event and the stream ends; it should reload the tasks it shows and reconnect.
+     *
+     * @param userId the optional ID of the user whose tasks to follow
+     * @param status the optional status of the tasks to follow
+     * @return a Flux emitting a ServerSentEvent per change
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Streams task changes")
+    public Flux<ServerSentEvent<TaskChangeEvent>> streamChanges(@RequestParam(required = false) Long userId,
+                                                                @RequestParam(required = false) TaskStatus status) {
+        Flux<ServerSentEvent<TaskChangeEvent>> changes = taskChangeFeed.changes(userId, status)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().name().toLowerCase(Locale.ROOT))
+                        .build())
+                .onErrorResume(Exceptions::isOverflow,
+                        error -> Flux.just(ServerSentEvent.<TaskChangeEvent>builder().event(OVERFLOW_EVENT).build()));
+        Flux<ServerSentEvent<TaskChangeEvent>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<TaskChangeEvent>builder().comment("heartbeat").build());
+        return Flux.merge(changes, heartbeats)
+                .takeUntil(event -> OVERFLOW_EVENT.equals(event.event()));
+    }
+
+    /**
+     * Fetches task details by ID. The response carries the task version as its ETag; a request
+     * whose {@code If-None-Match} matches it is answered with 304 Not Modified and no body.
      *
      * @param id the ID of the task
      * @return a Mono emitting the TaskResponse object
      */
     @GetMapping("/{id}")
     @Operation(summary = "Fetches task details by ID")
-    public Mono<TaskResponse> getTaskById(@PathVariable Long id) {
-        return taskService.getTaskById(id);
+    public Mono<ResponseEntity<TaskResponse>> getTaskById(@PathVariable Long id) {
+        return taskService.getTaskById(id)
+                .map(task -> EntityTags.tagged(task, task.getVersion()));
     }
 
     /**
-     * Updates the entire task.
+     * Updates the entire task. With an {@code If-Match} header the update only applies if the
+     * task is still at the version of one of the given ETags, and fails with 412 Precondition Failed
+     * otherwise.
      *
      * @param taskUpdate the DTO with updated fields
      * @param id         the ID of the task to update
-     * @return a Mono emitting the updated TaskResponse
+     * @param ifMatch    the ETags one of which the task must still have, optional
+     * @return a Mono emitting the updated TaskResponse with its new ETag
      */
     @PutMapping("/{id}")
     @Operation(summary = "Updates task details")
-    public Mono<TaskResponse> updateTask(@RequestBody TaskUpdateRequest taskUpdate, @PathVariable Long id) {
-        return taskService.updateTask(taskUpdate, id);
+    public Mono<ResponseEntity<TaskResponse>> updateTask(@RequestBody TaskUpdateRequest taskUpdate,
+                                                         @PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                         String ifMatch) {
+        return taskService.updateTask(taskUpdate, id, EntityTags.expectedVersions(ifMatch))
+                .map(task -> EntityTags.tagged(task, task.getVersion()));
     }
 
     /**
-     * Partially updates the task (only non-null fields are updated).
+     * Partially updates the task (only non-null fields are updated). With an {@code If-Match}
+     * header the update only applies if the task is still at the version of one of the given ETags.
      *
      * @param taskUpdateRequest the DTO containing fields to update
      * @param id                the ID of the task
-     * @return a Mono emitting the updated TaskResponse
+     * @param ifMatch           the ETags one of which the task must still have, optional
+     * @return a Mono emitting the updated TaskResponse with its new ETag
      */
     @PatchMapping("/{id}")
     @Operation(summary = "Partially updates task details")
-    public Mono<TaskResponse> partialUpdate(@RequestBody TaskUpdateRequest taskUpdateRequest, @PathVariable Long id) {
-        return taskService.partialUpdate(taskUpdateRequest, id);
+    public Mono<ResponseEntity<TaskResponse>> partialUpdate(@RequestBody TaskUpdateRequest taskUpdateRequest,
+                                                            @PathVariable Long id,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH,
+                                                                    required = false) String ifMatch) {
+        return taskService.partialUpdate(taskUpdateRequest, id, EntityTags.expectedVersions(ifMatch))
+                .map(task -> EntityTags.tagged(task, task.getVersion()));
     }
 
     /**
@@ -103,15 +258,46 @@ public class TaskController {
     }
 
     /**
-     * Assigns a task to a user asynchronously.
+     * Moves all tasks selected by ids and/or filter criteria to a new status.
+     * The affected ids are streamed back (as NDJSON when requested by the Accept header).
+     *
+     * @param request the target status and the filter selecting the tasks
+     * @return a Flux emitting the ids of the updated tasks
+     */
+    @PatchMapping("/status")
+    @Operation(summary = "Updates status of tasks in bulk")
+    public Flux<Long> updateStatus(@RequestBody TaskBulkStatusRequest request) {
+        return taskService.updateStatus(request);
+    }
+
+    /**
+     * Deletes all tasks selected by ids and/or filter criteria.
+     * The deleted ids are streamed back (as NDJSON when requested by the Accept header).
+     *
+     * @param filter the ids and/or criteria given as query parameters
+     * @return a Flux emitting the ids of the deleted tasks
+     */
+    @DeleteMapping
+    @Operation(summary = "Deletes tasks in bulk")
+    public Flux<Long> deleteTasks(@ModelAttribute TaskFilter filter) {
+        return taskService.deleteTasks(filter);
+    }
+
+    /**
+     * Assigns a task to a user asynchronously. With an {@code Idempotency-Key} header, a retry with
+     * the same key is answered with the response of the first assignment without assigning again.
      *
-     * @param taskId taskId the ID of the task to assign
-     * @param userId the ID of the user to whom the task will be assigned
+     * @param taskId         taskId the ID of the task to assign
+     * @param userId         the ID of the user to whom the task will be assigned
+     * @param idempotencyKey the key identifying retries of the request, optional
      * @return a Mono emitting the updated TaskResponse
      */
     @PutMapping("/{taskId}/assign/{userId}")
     @Operation(summary = "Assigns a task to a user asynchronously")
-    public Mono<TaskResponse> assignTask(@PathVariable Long taskId, @PathVariable Long userId) {
-        return taskService.assignTaskToUser(taskId, userId);
+    public Mono<TaskResponse> assignTask(@PathVariable Long taskId, @PathVariable Long userId,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                         String idempotencyKey) {
+        return idempotentRequests.execute("assign-task", idempotencyKey, List.of(taskId, userId),
+                TaskResponse.class, () -> taskService.assignTaskToUser(taskId, userId));
     }
 }
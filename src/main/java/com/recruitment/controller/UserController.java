@@ -1,17 +1,23 @@
 package com.recruitment.controller;
 
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.UserRequest;
 import com.recruitment.dto.UserResponse;
 import com.recruitment.service.TaskService;
 import com.recruitment.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * REST controller for managing users.
  * Provides endpoints for creating users, fetching user details, and fetching user tasks.
@@ -24,6 +30,9 @@ public class UserController {
     private final UserService userService;
     private final TaskService taskService;
 
+    @Value("${app.pagination.max-size:1000}")
+    private int maxPageSize;
+
     /**
      * Creates a new user.
      *
@@ -39,40 +48,86 @@ public class UserController {
 
     /**
      * Fetches all users in the system.
+     * When a cursor is given the page is read by keyset and the page number is ignored.
+     * A full page carries the cursor of the next page in the {@code X-Next-Cursor} header.
      *
-     * @param page the page number (0-based)
-     * @param size the number of items per page
-     * @return a Flux emitting UserResponse objects
+     * @param page   the page number (0-based)
+     * @param size   the number of items per page
+     * @param cursor the opaque cursor returned with the previous page
+     * @return a Mono emitting the page of UserResponse objects
      */
     @GetMapping
     @Operation(summary = "Fetches all users")
-    public Flux<UserResponse> findAll(
+    public Mono<ResponseEntity<List<UserResponse>>> findAll(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return userService.findAll(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        Flux<UserResponse> users = cursor == null
+                ? userService.findAll(page, size)
+                : userService.findAllAfter(PageCursor.decode(cursor), size);
+        return PageCursor.page(users, UserResponse::getId, size);
     }
 
     /**
-     * Fetches user details by ID.
+     * Fetches user details by ID. The response carries the user version as its ETag, so a
+     * request whose {@code If-None-Match} still matches is answered with 304 Not Modified.
      *
      * @param id the ID of the user
      * @return a Mono emitting the UserResponse object
      */
     @GetMapping("/{id}")
     @Operation(summary = "Fetches user details by ID")
-    public Mono<UserResponse> getUserById(@PathVariable Long id) {
-        return userService.getUserById(id);
+    public Mono<ResponseEntity<UserResponse>> getUserById(@PathVariable Long id) {
+        return userService.getUserById(id)
+                .map(user -> EntityTags.tagged(user, user.getVersion()));
     }
 
     /**
-     * Fetches tasks assigned to a specific user.
+     * Fetches one page of tasks assigned to a specific user, optionally filtered by status.
+     * The size is capped at {@code app.pagination.max-size}; clients that need every task read
+     * {@code /users/{id}/tasks/stream} instead. A full page carries the cursor of the next page
+     * in the {@code X-Next-Cursor} header.
      *
-     * @param id the ID of the user
-     * @return a Flux emitting TaskResponse objects
+     * @param id     the ID of the user
+     * @param size   the number of items per page
+     * @param cursor the opaque cursor returned with the previous page
+     * @param status the optional status to filter by
+     * @return a Mono emitting the page of TaskResponse objects
      */
     @GetMapping("/{id}/tasks")
     @Operation(summary = "Fetches user tasks by ID")
-    public Flux<TaskResponse> getUserTasks(@PathVariable Long id) {
-        return userService.getUserTasks(id);
+    public Mono<ResponseEntity<List<TaskResponse>>> getUserTasks(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status) {
+        int limit = PageCursor.pageSize(size, maxPageSize);
+        long lastId = cursor == null ? 0L : PageCursor.decode(cursor);
+        return PageCursor.page(userService.getUserTasks(id, lastId, status, limit), TaskResponse::getId, limit);
+    }
+
+    /**
+     * Fetches the number of tasks assigned to a specific user in total and per status.
+     *
+     * @param id the ID of the user
+     * @return a Mono emitting the TaskStatsResponse
+     */
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Fetches user task counts by status")
+    public Mono<TaskStatsResponse> getUserTaskStats(@PathVariable Long id) {
+        return userService.getUserTaskStats(id);
+    }
+
+    /**
+     * Streams tasks assigned to a specific user as NDJSON or Server-Sent Events,
+     * depending on the Accept header.
+     *
+     * @param id the ID of the user
+     * @return a Flux emitting TaskResponse objects
+     */
+    @GetMapping(value = "/{id}/tasks/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Streams user tasks by ID")
+    public Flux<TaskResponse> streamUserTasks(@PathVariable Long id) {
+        return userService.streamUserTasks(id);
     }
 }
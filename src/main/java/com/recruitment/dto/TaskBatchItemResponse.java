@@ -0,0 +1,15 @@
+package com.recruitment.dto;
+
+import com.recruitment.enums.BatchItemStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class TaskBatchItemResponse {
+
+    private int index;
+    private BatchItemStatus status;
+    private TaskResponse task;
+    private String error;
+}
@@ -0,0 +1,12 @@
+package com.recruitment.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class TaskBulkStatusRequest {
+
+    private String status;
+    private TaskFilter filter;
+}
@@ -0,0 +1,18 @@
+package com.recruitment.dto;
+
+import com.recruitment.enums.TaskChangeType;
+import com.recruitment.enums.TaskStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class TaskChangeEvent {
+
+    private TaskChangeType type;
+    private Long taskId;
+    private Long userId;
+    private TaskStatus status;
+    private Long previousUserId;
+    private TaskStatus previousStatus;
+}
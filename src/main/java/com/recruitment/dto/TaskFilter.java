@@ -0,0 +1,34 @@
+package com.recruitment.dto;
+
+import com.recruitment.enums.TaskStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Setter
+@Getter
+public class TaskFilter {
+
+    private List<Long> ids;
+    private Long userId;
+    private TaskStatus status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+    /**
+     * Case-insensitive substring of the title.
+     */
+    private String title;
+
+    /**
+     * Returns whether any criterion is set.
+     */
+    public boolean hasCriteria() {
+        return (ids != null && !ids.isEmpty()) || userId != null || status != null
+                || createdFrom != null || createdTo != null || (title != null && !title.isEmpty());
+    }
+}
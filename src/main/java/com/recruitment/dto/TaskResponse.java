@@ -16,4 +16,5 @@ public class TaskResponse {
     private LocalDate creationDate;
     private TaskStatus status;
     private Long userId;
+    private Long version;
 }
@@ -0,0 +1,15 @@
+package com.recruitment.dto;
+
+import com.recruitment.enums.TaskStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Setter
+@Getter
+public class TaskStatsResponse {
+
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+}
@@ -0,0 +1,21 @@
+package com.recruitment.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One item of a delta sync: a created or changed task, the id of a deleted task, or, as the last item,
+ * the token of the next sync.
+ */
+@Setter
+@Getter
+public class TaskSyncItem {
+
+    private TaskResponse task;
+    private Long deletedId;
+    private String nextToken;
+    /**
+     * Set on the last item when the sync returned all tasks, so tasks missing from it no longer exist.
+     */
+    private Boolean full;
+}
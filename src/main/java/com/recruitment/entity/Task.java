@@ -4,6 +4,7 @@ import com.recruitment.enums.TaskStatus;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -22,4 +23,10 @@ public class Task {
     private TaskStatus status;
     @Column("user_id")
     private Long userId;
+    /**
+     * Stamped by the database on every change for delta sync; the value written is ignored.
+     */
+    private Long changeVersion;
+    @Version
+    private Long version;
 }
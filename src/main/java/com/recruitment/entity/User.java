@@ -3,6 +3,7 @@ package com.recruitment.entity;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Getter
@@ -13,4 +14,6 @@ public class User {
     @Id
     private Long id;
     private String name;
+    @Version
+    private Long version;
 }
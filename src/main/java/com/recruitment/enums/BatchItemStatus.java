@@ -0,0 +1,6 @@
+package com.recruitment.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,8 @@
+package com.recruitment.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    ASSIGNED,
+    DELETED
+}
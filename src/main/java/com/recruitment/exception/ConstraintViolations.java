@@ -0,0 +1,42 @@
+package com.recruitment.exception;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Helpers for recognising database constraint violations raised by single-statement writes.
+ */
+public final class ConstraintViolations {
+
+    public static final String USER_FOREIGN_KEY = "fk_tasks_user";
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Creates the error reported for a task referencing a missing user by storages that check the
+     * reference themselves instead of through the database foreign key.
+     *
+     * @param userId the referenced user id
+     * @return the error, recognised by {@link #isUserForeignKeyViolation(Throwable)}
+     */
+    public static DataIntegrityViolationException userForeignKeyViolation(Long userId) {
+        return new DataIntegrityViolationException("insert or update on table \"tasks\" violates foreign key "
+                + "constraint \"" + USER_FOREIGN_KEY + "\": user " + userId + " does not exist");
+    }
+
+    /**
+     * Checks whether the given error was caused by the {@code fk_tasks_user} foreign key,
+     * i.e. a task write referenced a user that does not exist.
+     *
+     * @param error the error raised by the repository
+     * @return true if the error is a violation of the task-user foreign key
+     */
+    public static boolean isUserForeignKeyViolation(Throwable error) {
+        if (!(error instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(error);
+        return cause.getMessage() != null && cause.getMessage().contains(USER_FOREIGN_KEY);
+    }
+}
@@ -0,0 +1,66 @@
+package com.recruitment.idempotency;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically deletes the expired idempotency keys from the {@link IdempotencyStore}. Expired keys
+ * are already ignored when claiming, so purging only bounds the size of the store.
+ */
+@Slf4j
+public class IdempotencyKeyPurger {
+
+    private final IdempotencyStore store;
+    private final Duration interval;
+    private Disposable schedule;
+
+    public IdempotencyKeyPurger(IdempotencyStore store, Duration interval) {
+        this.store = store;
+        this.interval = interval;
+    }
+
+    /**
+     * Starts purging once the application has started. Runs never overlap;
+     * a failed run is logged and retried at the next interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedule = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> purge())
+                .subscribe();
+    }
+
+    /**
+     * Purges the expired keys once.
+     *
+     * @return a Mono emitting the number of purged keys
+     */
+    public Mono<Long> purge() {
+        return Mono.defer(() -> store.purge(Instant.now()))
+                .doOnNext(purged -> {
+                    if (purged > 0) {
+                        log.info("Purged {} expired idempotency keys", purged);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Idempotency key purge failed", error);
+                    return Mono.empty();
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.recruitment.idempotency;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Shared storage of idempotency keys behind the in-process cache of {@link IdempotentRequests},
+ * so that retries reaching another instance, or arriving after the cache evicted the key, are
+ * answered with the stored response too. Keys are hashed before they reach the store.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Keeps nothing: every key can be claimed and none is found.
+     */
+    IdempotencyStore NONE = new IdempotencyStore() {
+        @Override
+        public Mono<Boolean> claim(String key, String requestHash, Instant now, Instant leaseUntil) {
+            return Mono.just(true);
+        }
+
+        @Override
+        public Mono<StoredResponse> find(String key) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> complete(String key, String body, Instant expiresAt) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> release(String key) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Long> purge(Instant before) {
+            return Mono.just(0L);
+        }
+    };
+
+    /**
+     * Claims a key for running its request, unless it is claimed or completed and has not expired.
+     *
+     * @param key         the key hash
+     * @param requestHash the hash of the request
+     * @param now         the current time
+     * @param leaseUntil  the time until which the claim holds if it is not completed
+     * @return a Mono emitting true if the key was claimed
+     */
+    Mono<Boolean> claim(String key, String requestHash, Instant now, Instant leaseUntil);
+
+    /**
+     * Looks up a claimed or completed key.
+     *
+     * @param key the key hash
+     * @return a Mono emitting the stored response, without a body while the request runs, or empty
+     */
+    Mono<StoredResponse> find(String key);
+
+    /**
+     * Stores the response of a claimed key.
+     *
+     * @param key       the key hash
+     * @param body      the response as JSON
+     * @param expiresAt the time after which the key is forgotten
+     */
+    Mono<Void> complete(String key, String body, Instant expiresAt);
+
+    /**
+     * Gives up the claim of a key whose request failed, so that a retry runs it again.
+     *
+     * @param key the key hash
+     */
+    Mono<Void> release(String key);
+
+    /**
+     * Forgets the keys that expired before the given time.
+     *
+     * @param before the time before which keys expired
+     * @return a Mono emitting the number of forgotten keys
+     */
+    Mono<Long> purge(Instant before);
+}
@@ -0,0 +1,171 @@
+package com.recruitment.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recruitment.exception.IdempotencyKeyInProgressException;
+import com.recruitment.exception.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Runs requests carrying an {@code Idempotency-Key} at most once per key and answers repeated
+ * requests with the response of the first one. Responses are kept in a bounded in-process cache
+ * that evicts them after {@code app.idempotency.ttl}, in front of the {@link IdempotencyStore}
+ * bean, if any, which covers retries reaching another instance or arriving after eviction.
+ *
+ * <p>Concurrent requests with the same key share one run. A key is bound to the request it was
+ * first used with; reusing it for a different request fails. Failed requests are not remembered,
+ * so a retry runs them again. A response the store fails to keep, even after a few attempts, fails
+ * the request; its key stays claimed, so a retry is rejected until the claim lapses rather than
+ * running again at once. Disabled with {@code app.idempotency.enabled=false}, in which case every
+ * request runs.
+ *
+ * <p>A claim lapses after {@code app.idempotency.lease}, after which another instance may run the
+ * request again. The lease must therefore exceed the longest time a request can take, including
+ * any timeout of the callers in front of the service, or a slow request may run twice.
+ */
+@Slf4j
+@Component
+public class IdempotentRequests {
+
+    private static final int COMPLETE_RETRIES = 3;
+    private static final Duration COMPLETE_BACKOFF = Duration.ofMillis(100);
+
+    private final AsyncCache<String, StoredResponse> cache;
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+
+    public IdempotentRequests(ObjectProvider<IdempotencyStore> store,
+                              ObjectMapper objectMapper,
+                              ObjectProvider<MeterRegistry> registry,
+                              @Value("${app.idempotency.enabled:true}") boolean enabled,
+                              @Value("${app.idempotency.maximum-size:10000}") long maximumSize,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.lease:1m}") Duration lease) {
+        this.cache = enabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().buildAsync()
+                : null;
+        this.store = store.getIfAvailable(() -> IdempotencyStore.NONE);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lease = lease;
+        if (cache != null) {
+            registry.ifAvailable(meters ->
+                    new CaffeineCacheMetrics<>(cache.synchronous(), "idempotency", Tags.empty()).bindTo(meters));
+        }
+    }
+
+    /**
+     * Runs a request unless a request with the same key ran before, whose response is returned instead.
+     * The action runs with the subscriber context of the request that triggered it.
+     *
+     * @param operation the name of the operation, which scopes the key
+     * @param key       the idempotency key, or null to always run the request
+     * @param request   the request parameters, which must be the same whenever the key is used
+     * @param type      the response type
+     * @param action    runs the request
+     * @return a Mono emitting the response of the first request with the key
+     * @throws IdempotencyKeyReusedException     if the key was used for a different request
+     * @throws IdempotencyKeyInProgressException if another instance is still running the request
+     */
+    public <T> Mono<T> execute(String operation, String key, Object request, Class<T> type,
+                               Supplier<Mono<T>> action) {
+        if (key == null || cache == null) {
+            return action.get();
+        }
+        return Mono.deferContextual(context -> {
+            String keyHash = sha256(operation + '\n' + key);
+            String requestHash = sha256(write(request));
+            return Mono.fromFuture(cache.get(keyHash, (hash, executor) ->
+                            load(hash, requestHash, key, () -> action.get().map(this::write))
+                                    .contextWrite(context)
+                                    .toFuture()), true)
+                    .map(stored -> read(matching(stored, requestHash, key), type));
+        });
+    }
+
+    /**
+     * Runs the request if this call claims the key in the store, and returns the stored response otherwise.
+     */
+    private Mono<StoredResponse> load(String keyHash, String requestHash, String key,
+                                      Supplier<Mono<String>> action) {
+        Instant now = Instant.now();
+        return store.claim(keyHash, requestHash, now, now.plus(lease))
+                .flatMap(claimed -> claimed
+                        ? run(keyHash, requestHash, action)
+                        : stored(keyHash, requestHash, key));
+    }
+
+    private Mono<StoredResponse> stored(String keyHash, String requestHash, String key) {
+        return store.find(keyHash)
+                .map(stored -> matching(stored, requestHash, key))
+                .filter(stored -> stored.body() != null)
+                .switchIfEmpty(Mono.error(() -> new IdempotencyKeyInProgressException(
+                        "A request with Idempotency-Key " + key + " is still in progress.")));
+    }
+
+    private Mono<StoredResponse> run(String keyHash, String requestHash, Supplier<Mono<String>> action) {
+        return Mono.defer(action)
+                .onErrorResume(error -> store.release(keyHash)
+                        .onErrorResume(releaseError -> Mono.empty())
+                        .then(Mono.error(error)))
+                .map(body -> new StoredResponse(requestHash, body))
+                .delayUntil(stored -> store.complete(keyHash, stored.body(), Instant.now().plus(ttl))
+                        .retryWhen(Retry.backoff(COMPLETE_RETRIES, COMPLETE_BACKOFF)
+                                .doBeforeRetry(signal -> log.warn("Failed to store idempotent response, retrying",
+                                        signal.failure()))
+                                .onRetryExhaustedThrow((spec, signal) -> signal.failure())));
+    }
+
+    private static StoredResponse matching(StoredResponse stored, String requestHash, String key) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + key + " was already used for a different request.");
+        }
+        return stored;
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T read(StoredResponse stored, Class<T> type) {
+        try {
+            return objectMapper.readValue(stored.body(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored " + type.getSimpleName(), e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.recruitment.idempotency;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Stores idempotency keys in the {@code idempotency_keys} table of the primary database.
+ * Claiming is a single upsert that only takes over rows that expired, so of the instances racing
+ * for a key exactly one runs the request.
+ */
+public class PostgresIdempotencyStore implements IdempotencyStore {
+
+    static final String CLAIM = "INSERT INTO idempotency_keys (key_hash, request_hash, expires_at) " +
+            "VALUES (:key, :requestHash, :leaseUntil) " +
+            "ON CONFLICT (key_hash) DO UPDATE SET request_hash = excluded.request_hash, response = NULL, " +
+            "expires_at = excluded.expires_at WHERE idempotency_keys.expires_at < :now " +
+            "RETURNING key_hash";
+    static final String FIND = "SELECT request_hash, response FROM idempotency_keys WHERE key_hash = :key";
+    static final String COMPLETE = "UPDATE idempotency_keys SET response = :body, expires_at = :expiresAt " +
+            "WHERE key_hash = :key";
+    static final String RELEASE = "DELETE FROM idempotency_keys WHERE key_hash = :key AND response IS NULL";
+    static final String PURGE = "DELETE FROM idempotency_keys WHERE expires_at < :before";
+
+    private final DatabaseClient client;
+
+    public PostgresIdempotencyStore(DatabaseClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<Boolean> claim(String key, String requestHash, Instant now, Instant leaseUntil) {
+        return client.sql(CLAIM)
+                .bind("key", key)
+                .bind("requestHash", requestHash)
+                .bind("leaseUntil", leaseUntil)
+                .bind("now", now)
+                .map((row, metadata) -> row.get(0, String.class))
+                .one()
+                .hasElement();
+    }
+
+    @Override
+    public Mono<StoredResponse> find(String key) {
+        return client.sql(FIND)
+                .bind("key", key)
+                .map((row, metadata) -> new StoredResponse(row.get("request_hash", String.class),
+                        row.get("response", String.class)))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> complete(String key, String body, Instant expiresAt) {
+        return client.sql(COMPLETE)
+                .bind("key", key)
+                .bind("body", body)
+                .bind("expiresAt", expiresAt)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> release(String key) {
+        return client.sql(RELEASE)
+                .bind("key", key)
+                .then();
+    }
+
+    @Override
+    public Mono<Long> purge(Instant before) {
+        return client.sql(PURGE)
+                .bind("before", before)
+                .fetch()
+                .rowsUpdated();
+    }
+}
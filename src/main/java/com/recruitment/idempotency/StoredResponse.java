@@ -0,0 +1,10 @@
+package com.recruitment.idempotency;
+
+/**
+ * The response remembered for an idempotency key.
+ *
+ * @param requestHash the hash of the request the response was produced for
+ * @param body        the response as JSON, or null while the request is still running
+ */
+public record StoredResponse(String requestHash, String body) {
+}
@@ -1,12 +1,19 @@
 package com.recruitment.mapper;
 
+import com.recruitment.dto.TaskChangeEvent;
 import com.recruitment.dto.TaskRequest;
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.TaskSummaryResponse;
 import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskChangeType;
+import com.recruitment.enums.TaskStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Mapper class for converting between Task entity and Task DTOs.
@@ -28,6 +35,7 @@ public class TaskMapper {
         response.setCreationDate(task.getCreationDate());
         response.setStatus(task.getStatus());
         response.setUserId(task.getUserId());
+        response.setVersion(task.getVersion());
         return response;
     }
 
@@ -60,4 +68,60 @@ public class TaskMapper {
         task.setUserId(request.getUserId());
         return task;
     }
+
+    /**
+     * Converts task counts by status to a TaskStatsResponse DTO listing every status.
+     *
+     * @param counts the task counts; statuses without tasks may be missing
+     * @return the TaskStatsResponse DTO
+     */
+    public TaskStatsResponse toStatsResponse(Map<TaskStatus, Long> counts) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = counts.getOrDefault(status, 0L);
+            byStatus.put(status, count);
+            total += count;
+        }
+        TaskStatsResponse response = new TaskStatsResponse();
+        response.setTotal(total);
+        response.setByStatus(byStatus);
+        return response;
+    }
+
+    /**
+     * Converts a stored change of a task to a TaskChangeEvent DTO, classified like the database
+     * trigger behind the change feed does.
+     *
+     * @param previous the task before the change, null if it was created
+     * @param current  the task after the change, null if it was deleted
+     * @return the TaskChangeEvent DTO, or null if the task was stored unchanged
+     */
+    public TaskChangeEvent toChangeEvent(Task previous, Task current) {
+        TaskChangeEvent event = new TaskChangeEvent();
+        if (previous == null) {
+            event.setType(TaskChangeType.CREATED);
+        } else if (current == null) {
+            event.setType(TaskChangeType.DELETED);
+            current = previous;
+            previous = null;
+        } else if (!Objects.equals(previous.getUserId(), current.getUserId())) {
+            event.setType(TaskChangeType.ASSIGNED);
+        } else if (Objects.equals(previous.getTitle(), current.getTitle())
+                && Objects.equals(previous.getDescription(), current.getDescription())
+                && Objects.equals(previous.getCreationDate(), current.getCreationDate())
+                && previous.getStatus() == current.getStatus()) {
+            return null;
+        } else {
+            event.setType(TaskChangeType.UPDATED);
+        }
+        event.setTaskId(current.getId());
+        event.setUserId(current.getUserId());
+        event.setStatus(current.getStatus());
+        if (previous != null) {
+            event.setPreviousUserId(previous.getUserId());
+            event.setPreviousStatus(previous.getStatus());
+        }
+        return event;
+    }
 }
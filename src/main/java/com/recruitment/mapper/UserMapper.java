@@ -21,6 +21,7 @@ public class UserMapper {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
         response.setName(user.getName());
+        response.setVersion(user.getVersion());
         return response;
     }
 
@@ -0,0 +1,41 @@
+package com.recruitment.metrics;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts repository round trips of one service operation through a counter carried in the Reactor context.
+ * The outermost instrumented operation puts the counter into the context; every repository publisher
+ * subscribed below it increments it.
+ */
+final class DbRoundTrips {
+
+    static final String CONTEXT_KEY = DbRoundTrips.class.getName();
+
+    private DbRoundTrips() {
+    }
+
+    static <T> Mono<T> count(Mono<T> mono) {
+        return Mono.deferContextual(context -> {
+            increment(context);
+            return mono;
+        });
+    }
+
+    static <T> Flux<T> count(Flux<T> flux) {
+        return Flux.deferContextual(context -> {
+            increment(context);
+            return flux;
+        });
+    }
+
+    private static void increment(ContextView context) {
+        AtomicInteger counter = context.getOrDefault(CONTEXT_KEY, null);
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.recruitment.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters of one service method, registered once and reused for every invocation.
+ */
+final class OperationMeters {
+
+    static final String TIMER = "service.operation";
+    static final String ERRORS = "service.operation.errors";
+    static final String IN_FLIGHT = "service.operation.in.flight";
+    static final String DB_ROUND_TRIPS = "service.operation.db.round.trips";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Timer success;
+    private final Timer error;
+    private final Timer cancelled;
+    private final DistributionSummary roundTrips;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+    OperationMeters(MeterRegistry registry, String service, String method) {
+        this.registry = registry;
+        this.tags = Tags.of("service", service, "method", method);
+        this.success = timer("success");
+        this.error = timer("error");
+        this.cancelled = timer("cancelled");
+        this.roundTrips = DistributionSummary.builder(DB_ROUND_TRIPS)
+                .description("Repository calls made by one service operation")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                .description("Service operations currently executing")
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    void stop(long start, SignalType signal, int dbRoundTrips) {
+        inFlight.decrementAndGet();
+        Timer timer = switch (signal) {
+            case ON_ERROR -> error;
+            case CANCEL -> cancelled;
+            default -> success;
+        };
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (dbRoundTrips >= 0) {
+            roundTrips.record(dbRoundTrips);
+        }
+    }
+
+    void error(Throwable throwable) {
+        errors.computeIfAbsent(throwable.getClass(), type -> Counter.builder(ERRORS)
+                        .description("Service operations failed by exception type")
+                        .tags(tags)
+                        .tag("exception", type.getSimpleName())
+                        .register(registry))
+                .increment();
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder(TIMER)
+                .description("Duration of service operations from subscription to termination")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
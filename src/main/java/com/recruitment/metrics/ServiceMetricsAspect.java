@@ -0,0 +1,81 @@
+package com.recruitment.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instruments every public service method with a latency timer per outcome, error counters by
+ * exception type, an in-flight gauge and the number of repository round trips it caused.
+ * Reactive results are measured from subscription to termination; meters are created on the
+ * first call of each method so the hot path only does a map lookup and a few counter updates.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.metrics.service.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Method, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.recruitment.service.*ServiceImpl.*(..))")
+    public Object timeServiceOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        OperationMeters operation = meters.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                method -> new OperationMeters(registry,
+                        method.getDeclaringClass().getSimpleName().replace("Impl", ""), method.getName()));
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            operation.error(e);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.deferContextual(context -> {
+                AtomicInteger roundTrips = context.hasKey(DbRoundTrips.CONTEXT_KEY) ? null : new AtomicInteger();
+                long start = operation.start();
+                return mono.doOnError(operation::error)
+                        .doFinally(signal -> operation.stop(start, signal, roundTrips == null ? -1 : roundTrips.get()))
+                        .contextWrite(inner -> roundTrips == null ? inner : inner.put(DbRoundTrips.CONTEXT_KEY, roundTrips));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.deferContextual(context -> {
+                AtomicInteger roundTrips = context.hasKey(DbRoundTrips.CONTEXT_KEY) ? null : new AtomicInteger();
+                long start = operation.start();
+                return flux.doOnError(operation::error)
+                        .doFinally(signal -> operation.stop(start, signal, roundTrips == null ? -1 : roundTrips.get()))
+                        .contextWrite(inner -> roundTrips == null ? inner : inner.put(DbRoundTrips.CONTEXT_KEY, roundTrips));
+            });
+        }
+        return result;
+    }
+
+    @Around("execution(public * *(..)) && (target(com.recruitment.repository.TaskRepository) "
+            + "|| target(com.recruitment.repository.UserRepository))")
+    public Object countRoundTrip(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono<?> mono) {
+            return DbRoundTrips.count(mono);
+        }
+        if (result instanceof Flux<?> flux) {
+            return DbRoundTrips.count(flux);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package com.recruitment.repository;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactor context flags deciding whether repository calls may be served by a read replica.
+ * Services mark query-only operations with {@link #readOnly(Context)}; a request can pin all of its
+ * statements to the primary with {@link #pinToPrimary(Context)}, which wins over the read-only flag.
+ */
+public final class ReadOnlyRouting {
+
+    private static final String READ_ONLY = ReadOnlyRouting.class.getName() + ".readOnly";
+    private static final String PINNED_TO_PRIMARY = ReadOnlyRouting.class.getName() + ".pinnedToPrimary";
+
+    private ReadOnlyRouting() {
+    }
+
+    /**
+     * Marks the operation as query-only.
+     *
+     * @param context the subscriber context
+     * @return the context with the read-only flag
+     */
+    public static Context readOnly(Context context) {
+        return context.put(READ_ONLY, Boolean.TRUE);
+    }
+
+    /**
+     * Forces every statement of the operation onto the primary, e.g. to read the caller's own writes.
+     *
+     * @param context the subscriber context
+     * @return the context with the primary pin
+     */
+    public static Context pinToPrimary(Context context) {
+        return context.put(PINNED_TO_PRIMARY, Boolean.TRUE);
+    }
+
+    /**
+     * Tells whether statements running with the given context may use a replica.
+     *
+     * @param context the subscriber context
+     * @return true if the operation is read-only and not pinned to the primary
+     */
+    public static boolean isReplicaAllowed(ContextView context) {
+        return context.getOrDefault(READ_ONLY, Boolean.FALSE) && !context.getOrDefault(PINNED_TO_PRIMARY, Boolean.FALSE);
+    }
+}
@@ -0,0 +1,51 @@
+package com.recruitment.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Moves tasks to the shard the hash ring currently assigns them to, e.g. after a shard was added.
+ * Every shard is scanned for users whose tasks belong elsewhere and each such user is moved as a whole;
+ * unassigned tasks are gathered on the designated shard. Moves are idempotent, so an interrupted run
+ * can simply be repeated. While a user is being moved its tasks may be briefly missing from reads.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private final ShardedTaskRepository repository;
+    private final int concurrency;
+
+    public ShardRebalancer(ShardedTaskRepository repository, int concurrency) {
+        this.repository = repository;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Runs the rebalancing.
+     *
+     * @return a Mono emitting the number of moved tasks
+     */
+    public Mono<Long> rebalance() {
+        return Flux.range(0, repository.shardCount())
+                .concatMap(source -> Flux.concat(
+                        repository.userIdsOn(source)
+                                .filter(userId -> repository.shardFor(userId) != source)
+                                .flatMap(userId -> moveUser(userId, source), concurrency),
+                        source == repository.shardFor(null)
+                                ? Mono.<Long>empty()
+                                : moveUser(null, source)))
+                .reduce(0L, Long::sum)
+                .doOnNext(moved -> log.info("Shard rebalancing moved {} tasks", moved));
+    }
+
+    private Mono<Long> moveUser(Long userId, int source) {
+        int target = repository.shardFor(userId);
+        return repository.moveTasks(userId, source, target)
+                .doOnNext(moved -> {
+                    if (moved > 0) {
+                        log.debug("Moved {} tasks of user {} from shard {} to shard {}", moved, userId, source, target);
+                    }
+                });
+    }
+}
@@ -0,0 +1,676 @@
+package com.recruitment.repository;
+
+import com.recruitment.cache.UserIdIndex;
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.exception.ConstraintViolations;
+import com.recruitment.sharding.ConsistentHashRing;
+import com.recruitment.sharding.TaskIdGenerator;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * TaskRepository spreading tasks over several databases by consistent hash of their user id.
+ * Unassigned tasks live on a designated shard and ids come from {@link TaskIdGenerator}, which also
+ * records the shard a task was created on as a lookup hint. Queries by user go to one shard; all other
+ * reads are scatter-gather merges ordered by id, so keyset paging keeps working. A write that changes
+ * the user of a task moves the row to the new user's shard.
+ *
+ * <p>Users stay on the primary database, so user references are validated through the {@link UserIdIndex}
+ * and a missing user is reported like the {@code fk_tasks_user} violation of the single-database schema.
+ * Statements on different shards do not share a transaction.
+ */
+public class ShardedTaskRepository implements TaskRepository {
+
+    static final String FIND_BY_ID = "SELECT * FROM tasks WHERE id = :id";
+    static final String FIND_BY_IDS = "SELECT * FROM tasks WHERE id = ANY(:ids) ORDER BY id";
+    static final String FIND_FIRST = "SELECT * FROM tasks ORDER BY id LIMIT :size";
+    static final String FIND_AFTER = "SELECT * FROM tasks WHERE id > :lastId ORDER BY id LIMIT :size";
+    static final String USER_TASKS_PAGE = "SELECT * FROM tasks WHERE user_id = :userId AND id > :lastId " +
+            "ORDER BY id LIMIT :size";
+    static final String USER_TASKS_PAGE_BY_STATUS = "SELECT * FROM tasks WHERE user_id = :userId " +
+            "AND status = :status AND id > :lastId ORDER BY id LIMIT :size";
+    static final String USER_IDS = "SELECT DISTINCT user_id FROM tasks WHERE user_id IS NOT NULL";
+    static final String COUNT = "SELECT count(*) FROM tasks";
+    static final String INSERT = "INSERT INTO tasks " +
+            "(id, title, description, creation_date, status, user_id, version) VALUES ($1, $2, $3, $4, $5, $6, $7)";
+    static final String MOVE_INSERT = INSERT + " ON CONFLICT (id) DO NOTHING";
+    static final String ASSIGN = "UPDATE tasks SET user_id = :userId WHERE id = :id RETURNING *";
+    static final String UPDATE = "UPDATE tasks SET title = :title, description = :description, status = :status, " +
+            "user_id = :userId WHERE id = :id AND (:version IS NULL OR version = :version) RETURNING *";
+    static final String PATCH = "UPDATE tasks SET title = COALESCE(:title, title), " +
+            "description = COALESCE(:description, description), status = COALESCE(:status, status), " +
+            "user_id = COALESCE(:userId, user_id) WHERE id = :id AND (:version IS NULL OR version = :version) " +
+            "RETURNING *";
+    static final String DELETE_RETURNING = "DELETE FROM tasks WHERE id = :id RETURNING *";
+    static final String MOVE_DELETE = "DELETE FROM tasks WHERE id = :id AND (:version IS NULL OR version = :version) " +
+            "RETURNING *";
+    static final String DELETE_USER_TASKS = "DELETE FROM tasks WHERE user_id = :userId RETURNING *";
+    static final String DELETE_UNASSIGNED_TASKS = "DELETE FROM tasks WHERE user_id IS NULL RETURNING *";
+    static final String DELETE_ALL = "DELETE FROM tasks";
+    static final String EXISTING_IDS = "SELECT id FROM tasks WHERE id = ANY(:ids)";
+
+    private static final Comparator<Task> BY_ID = Comparator.comparing(Task::getId);
+
+    private final List<R2dbcEntityTemplate> shards;
+    private final ConsistentHashRing ring;
+    private final int unassignedShard;
+    private final TaskIdGenerator idGenerator;
+    private final UserIdIndex userIdIndex;
+    private final int fetchSize;
+
+    public ShardedTaskRepository(List<R2dbcEntityTemplate> shards, ConsistentHashRing ring, int unassignedShard,
+                                 TaskIdGenerator idGenerator, UserIdIndex userIdIndex, int fetchSize) {
+        if (unassignedShard < 0 || unassignedShard >= shards.size()) {
+            throw new IllegalArgumentException("Unassigned shard " + unassignedShard + " is not configured");
+        }
+        this.shards = List.copyOf(shards);
+        this.ring = ring;
+        this.unassignedShard = unassignedShard;
+        this.idGenerator = idGenerator;
+        this.userIdIndex = userIdIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public <S extends Task> Mono<S> save(S task) {
+        if (task.getId() == null) {
+            return requireUser(task.getUserId()).then(Mono.defer(() -> {
+                int shard = shardFor(task.getUserId());
+                task.setId(idGenerator.nextId(shard));
+                task.setVersion(0L);
+                return insert(shard, INSERT, List.of(task)).thenReturn(task);
+            }));
+        }
+        return requireUser(task.getUserId())
+                .then(updateTask(task.getId(), task.getTitle(), task.getDescription(),
+                        task.getStatus() == null ? null : task.getStatus().name(), task.getUserId(), task.getVersion()))
+                .switchIfEmpty(Mono.error(() -> task.getVersion() == null
+                        ? new TransientDataAccessResourceException(
+                        "Failed to update table [tasks]; row with Id [" + task.getId() + "] does not exist")
+                        : new OptimisticLockingFailureException("Failed to update table [tasks]; version does not " +
+                        "match for row with Id [" + task.getId() + "]")))
+                .doOnNext(updated -> task.setVersion(updated.getVersion()))
+                .thenReturn(task);
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Iterable<S> tasks) {
+        return Flux.fromIterable(tasks).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Publisher<S> tasks) {
+        return Flux.from(tasks).concatMap(this::save);
+    }
+
+    /**
+     * Inserts the tasks with one batched statement per shard. User references are expected
+     * to be validated by the caller.
+     */
+    @Override
+    public Flux<Task> insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<Integer, List<Task>> byShard = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            int shard = shardFor(task.getUserId());
+            task.setId(idGenerator.nextId(shard));
+            task.setVersion(0L);
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(task);
+        }
+        return Flux.fromIterable(byShard.entrySet())
+                .flatMap(entry -> insert(entry.getKey(), INSERT, entry.getValue()))
+                .thenMany(Flux.fromIterable(tasks));
+    }
+
+    /**
+     * Looks the task up on the shard it was created on first and on the other shards if it has moved.
+     */
+    @Override
+    public Mono<Task> findById(Long id) {
+        return locate(id).map(Located::task);
+    }
+
+    @Override
+    public Mono<Task> findById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return locate(id).hasElement();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Task> findAll() {
+        return streamAll(0);
+    }
+
+    @Override
+    public Flux<Task> findAllById(Iterable<Long> ids) {
+        Long[] values = StreamSupport.stream(ids.spliterator(), false).toArray(Long[]::new);
+        if (values.length == 0) {
+            return Flux.empty();
+        }
+        return mergeById(shard -> query(shard, FIND_BY_IDS, Map.of("ids", values)));
+    }
+
+    @Override
+    public Flux<Task> findAllById(Publisher<Long> ids) {
+        return Flux.from(ids).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Flux.range(0, shards.size())
+                .flatMap(shard -> client(shard).sql(COUNT).map((row, metadata) -> row.get(0, Long.class)).one())
+                .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return deleteReturningId(id).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Task task) {
+        return deleteById(task.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Long> ids) {
+        List<Long> values = new ArrayList<>();
+        ids.forEach(values::add);
+        if (values.isEmpty()) {
+            return Mono.empty();
+        }
+        TaskFilter filter = new TaskFilter();
+        filter.setIds(values);
+        return deleteMatching(filter).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Task> tasks) {
+        List<Long> ids = new ArrayList<>();
+        tasks.forEach(task -> ids.add(task.getId()));
+        return deleteAllById(ids);
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Task> tasks) {
+        return Flux.from(tasks).map(Task::getId).collectList().flatMap(this::deleteAllById);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Flux.range(0, shards.size())
+                .flatMap(shard -> client(shard).sql(DELETE_ALL).then())
+                .then();
+    }
+
+    @Override
+    public Flux<Task> findByUserId(Long userId) {
+        return streamByUserId(userId);
+    }
+
+    /**
+     * Reads the first {@code offset + size} tasks of every shard and skips the offset after the merge,
+     * so deep offsets get expensive; prefer {@link #findAllAfter(long, int)}.
+     */
+    @Override
+    public Flux<Task> findAllPaged(long offset, int size) {
+        long limit = offset + size;
+        return mergeById(shard -> query(shard, FIND_FIRST, Map.of("size", limit)))
+                .skip(offset)
+                .take(size);
+    }
+
+    @Override
+    public Flux<Task> findAllAfter(long lastId, int size) {
+        return mergeById(shard -> query(shard, FIND_AFTER, Map.of("lastId", lastId, "size", size)))
+                .take(size);
+    }
+
+    /**
+     * Reads the first {@code offset + size} matching tasks of every shard involved and skips the offset
+     * after the merge, like {@link #findAllPaged(long, int)}.
+     */
+    @Override
+    public Flux<Task> findMatchingPaged(TaskFilter filter, long offset, int size) {
+        return matchingAfter(filter, 0, offset + size)
+                .skip(offset)
+                .take(size);
+    }
+
+    /**
+     * Reads only the user's shard when the filter names a user, otherwise merges the pages of all shards.
+     */
+    @Override
+    public Flux<Task> findMatchingAfter(TaskFilter filter, long lastId, int size) {
+        return matchingAfter(filter, lastId, size);
+    }
+
+    @Override
+    public Flux<Task> streamAll(long lastId) {
+        return mergeById(shard -> query(shard, TaskRepositoryCustomImpl.STREAM_ALL, Map.of("lastId", lastId)));
+    }
+
+    @Override
+    public Flux<Task> streamByUserId(Long userId) {
+        return query(shardFor(userId), TaskRepositoryCustomImpl.STREAM_BY_USER_ID, Map.of("userId", userId));
+    }
+
+    /**
+     * Checks the user through the user id index and reads the page from the user's shard.
+     */
+    @Override
+    public Mono<List<Task>> findUserTasksPage(Long userId, long lastId, TaskStatus status, int size) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("userId", userId);
+        bindings.put("lastId", lastId);
+        bindings.put("size", size);
+        if (status != null) {
+            bindings.put("status", status.name());
+        }
+        return userIdIndex.exists(userId)
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> query(shardFor(userId),
+                        status == null ? USER_TASKS_PAGE : USER_TASKS_PAGE_BY_STATUS, bindings).collectList());
+    }
+
+    @Override
+    public Mono<Task> assignToUser(Long taskId, Long userId) {
+        return userIdIndex.exists(userId)
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> change(taskId, true, userId, null, ASSIGN,
+                        Map.of("id", taskId, "userId", userId), task -> task.setUserId(userId)));
+    }
+
+    @Override
+    public Mono<Task> updateTask(Long id, String title, String description, String status, Long userId,
+                                 Long version) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("id", id);
+        bindings.put("title", Parameter.fromOrEmpty(title, String.class));
+        bindings.put("description", Parameter.fromOrEmpty(description, String.class));
+        bindings.put("status", Parameter.fromOrEmpty(status, String.class));
+        bindings.put("userId", Parameter.fromOrEmpty(userId, Long.class));
+        bindings.put("version", Parameter.fromOrEmpty(version, Long.class));
+        return change(id, true, userId, version, UPDATE, bindings, task -> {
+            task.setTitle(title);
+            task.setDescription(description);
+            task.setStatus(status == null ? null : TaskStatus.valueOf(status));
+            task.setUserId(userId);
+        });
+    }
+
+    @Override
+    public Mono<Task> patchTask(Long id, String title, String description, String status, Long userId,
+                                Long version) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("id", id);
+        bindings.put("title", Parameter.fromOrEmpty(title, String.class));
+        bindings.put("description", Parameter.fromOrEmpty(description, String.class));
+        bindings.put("status", Parameter.fromOrEmpty(status, String.class));
+        bindings.put("userId", Parameter.fromOrEmpty(userId, Long.class));
+        bindings.put("version", Parameter.fromOrEmpty(version, Long.class));
+        return change(id, userId != null, userId, version, PATCH, bindings, task -> {
+            if (title != null) {
+                task.setTitle(title);
+            }
+            if (description != null) {
+                task.setDescription(description);
+            }
+            if (status != null) {
+                task.setStatus(TaskStatus.valueOf(status));
+            }
+            task.setUserId(userId);
+        });
+    }
+
+    @Override
+    public Mono<Long> deleteReturningId(Long id) {
+        return locate(id).flatMap(located -> queryOne(located.shard(), DELETE_RETURNING, Map.of("id", id)))
+                .map(Task::getId);
+    }
+
+    @Override
+    public Flux<Long> updateStatus(TaskFilter filter, TaskStatus status) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("newStatus", status.name());
+        String sql = "UPDATE tasks SET status = :newStatus WHERE "
+                + TaskRepositoryCustomImpl.where(filter, bindings) + " RETURNING id";
+        return returningIds(filter, sql, bindings);
+    }
+
+    @Override
+    public Flux<Long> deleteMatching(TaskFilter filter) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = "DELETE FROM tasks WHERE " + TaskRepositoryCustomImpl.where(filter, bindings) + " RETURNING id";
+        return returningIds(filter, sql, bindings);
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Long>> statusCounts() {
+        return TaskRepositoryCustomImpl.sumByStatus(Flux.range(0, shards.size())
+                .flatMap(shard -> TaskRepositoryCustomImpl.readStatusCounts(
+                        client(shard).sql(TaskRepositoryCustomImpl.STATUS_COUNTS))));
+    }
+
+    /**
+     * Reads the counters of the user's shard; tasks not yet moved there after a ring change are not counted.
+     */
+    @Override
+    public Mono<Map<TaskStatus, Long>> statusCounts(Long userId) {
+        return TaskRepositoryCustomImpl.sumByStatus(TaskRepositoryCustomImpl.readStatusCounts(
+                client(shardFor(userId)).sql(TaskRepositoryCustomImpl.USER_STATUS_COUNTS).bind("userId", userId)));
+    }
+
+    @Override
+    public Mono<Long> reconcileStatusCounts() {
+        return Flux.range(0, shards.size())
+                .concatMap(shard -> TaskRepositoryCustomImpl.reconcileStatusCounts(client(shard)))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Reads the shards one after the other, each from its own snapshot, with one version per shard.
+     * Whether the sync starts over is decided for all shards together. A task moved between shards
+     * is deleted from one and inserted into the other, so deletions of ids that exist on any shard
+     * once all shards have been read are dropped.
+     */
+    @Override
+    public Flux<TaskSyncEntry> changesSince(long[] since) {
+        return Flux.range(0, shards.size())
+                .concatMap(shard -> TaskRepositoryCustomImpl.syncHorizon(client(shard)))
+                .collectList()
+                .flatMapMany(horizons -> {
+                    boolean full = since == null || since.length != shards.size();
+                    for (int shard = 0; !full && shard < shards.size(); shard++) {
+                        full = since[shard] <= horizons.get(shard);
+                    }
+                    return shardChanges(full ? null : since);
+                });
+    }
+
+    @Override
+    public Mono<Long> purgeTombstones(Instant before) {
+        return Flux.range(0, shards.size())
+                .concatMap(shard -> TaskRepositoryCustomImpl.purgeTombstones(client(shard), before))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Returns the number of shards.
+     */
+    int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Returns the shard the tasks of a user belong on; unassigned tasks belong on the designated shard.
+     */
+    int shardFor(Long userId) {
+        return userId == null ? unassignedShard : ring.shardFor(userId);
+    }
+
+    /**
+     * Streams the distinct ids of the users having tasks on a shard.
+     */
+    Flux<Long> userIdsOn(int shard) {
+        return client(shard).sql(USER_IDS)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> row.get("user_id", Long.class))
+                .all();
+    }
+
+    /**
+     * Moves all tasks of a user, or all unassigned tasks for a null user, from one shard to another.
+     * The rows are deleted from the source and inserted into the target, skipping ids already present
+     * there, so an interrupted move can be repeated; if the insert fails the rows are put back.
+     *
+     * @return a Mono emitting the number of moved tasks
+     */
+    Mono<Long> moveTasks(Long userId, int source, int target) {
+        Flux<Task> deleted = userId == null
+                ? query(source, DELETE_UNASSIGNED_TASKS, Map.of())
+                : query(source, DELETE_USER_TASKS, Map.of("userId", userId));
+        return deleted.collectList()
+                .flatMap(tasks -> insert(target, MOVE_INSERT, tasks)
+                        .onErrorResume(e -> insert(source, MOVE_INSERT, tasks).then(Mono.error(e)))
+                        .thenReturn((long) tasks.size()));
+    }
+
+    /**
+     * Applies a single-statement change to a task on its shard, or moves the task when the change gives
+     * it a user that belongs on another shard. Either way nothing changes unless the task is at the
+     * expected version, if one is given.
+     */
+    private Mono<Task> change(Long id, boolean setsUser, Long userId, Long version, String sql,
+                              Map<String, Object> bindings, Consumer<Task> changes) {
+        return locate(id).flatMap(located -> {
+            int target = setsUser ? shardFor(userId) : located.shard();
+            if (target == located.shard()) {
+                return queryOne(located.shard(), sql, bindings);
+            }
+            return move(id, version, located.shard(), target, changes);
+        });
+    }
+
+    /**
+     * Deletes the task from its shard, applies the changes and inserts it into the target shard with the
+     * next version, putting the original row back if the insert fails.
+     */
+    private Mono<Task> move(Long id, Long version, int source, int target, Consumer<Task> changes) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("id", id);
+        bindings.put("version", Parameter.fromOrEmpty(version, Long.class));
+        return queryOne(source, MOVE_DELETE, bindings)
+                .flatMap(original -> {
+                    Task moved = copy(original);
+                    changes.accept(moved);
+                    moved.setVersion(original.getVersion() + 1);
+                    return insert(target, INSERT, List.of(moved))
+                            .thenReturn(moved)
+                            .onErrorResume(e -> insert(source, MOVE_INSERT, List.of(original))
+                                    .then(Mono.<Task>error(e)));
+                });
+    }
+
+    private Flux<TaskSyncEntry> shardChanges(long[] since) {
+        long[] next = new long[shards.size()];
+        List<Long> deleted = new ArrayList<>();
+        Flux<TaskSyncEntry> changed = Flux.range(0, shards.size())
+                .concatMap(shard -> TaskRepositoryCustomImpl.changesSince(shards.get(shard),
+                                since == null ? null : since[shard], fetchSize)
+                        .filter(entry -> {
+                            if (entry.isEnd()) {
+                                next[shard] = entry.nextVersions()[0];
+                            } else if (entry.deletedTaskId() != null) {
+                                deleted.add(entry.deletedTaskId());
+                            }
+                            return entry.task() != null;
+                        }));
+        return Flux.concat(changed,
+                Flux.defer(() -> existingIds(deleted))
+                        .collect(Collectors.toSet())
+                        .flatMapMany(existing -> Flux.fromIterable(deleted)
+                                .filter(id -> !existing.contains(id))
+                                .distinct()
+                                .map(TaskSyncEntry::deleted)),
+                Mono.fromSupplier(() -> TaskSyncEntry.end(next, since == null)));
+    }
+
+    private Flux<Long> existingIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Long[] array = ids.toArray(Long[]::new);
+        return Flux.range(0, shards.size())
+                .flatMap(shard -> client(shard).sql(EXISTING_IDS)
+                        .bind("ids", array)
+                        .map((row, metadata) -> row.get("id", Long.class))
+                        .all());
+    }
+
+    private Mono<Located> locate(Long id) {
+        int hint = TaskIdGenerator.shardHint(id);
+        Mono<Located> hinted = hint >= 0 && hint < shards.size() ? findOn(hint, id) : Mono.empty();
+        return hinted.switchIfEmpty(Mono.defer(() -> Flux.range(0, shards.size())
+                .filter(shard -> shard != hint)
+                .flatMap(shard -> findOn(shard, id))
+                .next()));
+    }
+
+    private Mono<Located> findOn(int shard, Long id) {
+        return queryOne(shard, FIND_BY_ID, Map.of("id", id)).map(task -> new Located(shard, task));
+    }
+
+    private Mono<Void> requireUser(Long userId) {
+        if (userId == null) {
+            return Mono.empty();
+        }
+        return userIdIndex.exists(userId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(ConstraintViolations.userForeignKeyViolation(userId)));
+    }
+
+    private Flux<Long> returningIds(TaskFilter filter, String sql, Map<String, Object> bindings) {
+        IntFunction<Flux<Long>> statement = shard -> bind(client(shard).sql(sql), bindings)
+                .filter(spec -> spec.fetchSize(fetchSize))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .all();
+        if (filter.getUserId() != null) {
+            return statement.apply(shardFor(filter.getUserId()));
+        }
+        return Flux.range(0, shards.size()).flatMap(statement::apply);
+    }
+
+    private Flux<Task> matchingAfter(TaskFilter filter, long lastId, long size) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = TaskRepositoryCustomImpl.MATCHING_AFTER
+                .formatted(TaskRepositoryCustomImpl.where(filter, bindings));
+        bindings.put("lastId", lastId);
+        bindings.put("size", size);
+        if (filter.getUserId() != null) {
+            return query(shardFor(filter.getUserId()), sql, bindings);
+        }
+        return mergeById(shard -> query(shard, sql, bindings)).take(size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flux<Task> mergeById(IntFunction<Flux<Task>> perShard) {
+        Publisher<Task>[] sources = new Publisher[shards.size()];
+        for (int shard = 0; shard < sources.length; shard++) {
+            sources[shard] = perShard.apply(shard);
+        }
+        // A task caught in a move can briefly exist on two shards.
+        return Flux.mergeComparing(BY_ID, sources).distinctUntilChanged(Task::getId);
+    }
+
+    private Mono<Task> queryOne(int shard, String sql, Map<String, Object> bindings) {
+        // Reads the result to the end: cancelling after the first row would cut a write statement short.
+        return query(shard, sql, bindings).takeLast(1).singleOrEmpty();
+    }
+
+    private Flux<Task> query(int shard, String sql, Map<String, Object> bindings) {
+        R2dbcEntityTemplate template = shards.get(shard);
+        return bind(template.getDatabaseClient().sql(sql), bindings)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> template.getConverter().read(Task.class, row, metadata))
+                .all();
+    }
+
+    private Mono<Void> insert(int shard, String sql, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Mono.empty();
+        }
+        return client(shard).inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(sql);
+            for (int i = 0; i < tasks.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bindInsert(statement, tasks.get(i));
+            }
+            return Flux.from(statement.execute()).flatMap(result -> result.getRowsUpdated());
+        }).then();
+    }
+
+    private DatabaseClient client(int shard) {
+        return shards.get(shard).getDatabaseClient();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                          Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static void bindInsert(Statement statement, Task task) {
+        statement.bind(0, task.getId());
+        statement.bind(1, task.getTitle());
+        if (task.getDescription() != null) {
+            statement.bind(2, task.getDescription());
+        } else {
+            statement.bindNull(2, String.class);
+        }
+        statement.bind(3, task.getCreationDate());
+        statement.bind(4, task.getStatus().name());
+        if (task.getUserId() != null) {
+            statement.bind(5, task.getUserId());
+        } else {
+            statement.bindNull(5, Long.class);
+        }
+        statement.bind(6, task.getVersion() == null ? 0L : task.getVersion());
+    }
+
+    private static Task copy(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setCreationDate(task.getCreationDate());
+        copy.setStatus(task.getStatus());
+        copy.setUserId(task.getUserId());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+
+    private record Located(int shard, Task task) {
+    }
+}
@@ -4,10 +4,42 @@ import com.recruitment.entity.Task;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-public interface TaskRepository extends ReactiveCrudRepository<Task, Long> {
+public interface TaskRepository extends ReactiveCrudRepository<Task, Long>, TaskRepositoryCustom {
     Flux<Task> findByUserId(Long userId);
 
     @Query("SELECT * FROM tasks ORDER BY id LIMIT :size OFFSET :offset")
     Flux<Task> findAllPaged(long offset, int size);
+
+    @Query("SELECT * FROM tasks WHERE id > :lastId ORDER BY id LIMIT :size")
+    Flux<Task> findAllAfter(long lastId, int size);
+
+    @Query("UPDATE tasks SET user_id = :userId WHERE id = :taskId " +
+            "AND EXISTS (SELECT 1 FROM users WHERE id = :userId) RETURNING *")
+    Mono<Task> assignToUser(Long taskId, Long userId);
+
+    /**
+     * Replaces the fields of a task if it is still at the expected version.
+     *
+     * @param version the expected version, or null to update any version
+     * @return a Mono emitting the updated task, or empty if there is no such task at the expected version
+     */
+    @Query("UPDATE tasks SET title = :title, description = :description, status = :status, user_id = :userId " +
+            "WHERE id = :id AND (:version IS NULL OR version = :version) RETURNING *")
+    Mono<Task> updateTask(Long id, String title, String description, String status, Long userId, Long version);
+
+    /**
+     * Updates the non-null fields of a task if it is still at the expected version.
+     *
+     * @param version the expected version, or null to update any version
+     * @return a Mono emitting the updated task, or empty if there is no such task at the expected version
+     */
+    @Query("UPDATE tasks SET title = COALESCE(:title, title), description = COALESCE(:description, description), " +
+            "status = COALESCE(:status, status), user_id = COALESCE(:userId, user_id) " +
+            "WHERE id = :id AND (:version IS NULL OR version = :version) RETURNING *")
+    Mono<Task> patchTask(Long id, String title, String description, String status, Long userId, Long version);
+
+    @Query("DELETE FROM tasks WHERE id = :id RETURNING id")
+    Mono<Long> deleteReturningId(Long id);
 }
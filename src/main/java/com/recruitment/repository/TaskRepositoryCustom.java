@@ -0,0 +1,139 @@
+package com.recruitment.repository;
+
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task queries that need more control over statement execution than {@code @Query} methods offer.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Streams all tasks with an id greater than the given one, ordered by id.
+     * Rows are fetched from the database in chunks and emitted as they are requested downstream.
+     *
+     * @param lastId the id after which streaming starts
+     * @return a Flux emitting the tasks
+     */
+    Flux<Task> streamAll(long lastId);
+
+    /**
+     * Streams all tasks assigned to the given user, ordered by id.
+     *
+     * @param userId the ID of the user
+     * @return a Flux emitting the tasks
+     */
+    Flux<Task> streamByUserId(Long userId);
+
+    /**
+     * Fetches one page of a user's tasks together with the user's existence in a single query.
+     *
+     * @param userId the ID of the user
+     * @param lastId the id after which the page starts
+     * @param status the status to filter by, or null for all statuses
+     * @param size   the maximum number of tasks
+     * @return a Mono emitting the page (possibly empty), or an empty Mono if the user does not exist
+     */
+    Mono<List<Task>> findUserTasksPage(Long userId, long lastId, TaskStatus status, int size);
+
+    /**
+     * Fetches one page of the tasks matching the filter, ordered by id.
+     *
+     * @param filter the criteria selecting the tasks
+     * @param offset the number of matching tasks to skip
+     * @param size   the maximum number of tasks
+     * @return a Flux emitting the tasks
+     * @throws IllegalArgumentException if the filter has no criteria
+     */
+    Flux<Task> findMatchingPaged(TaskFilter filter, long offset, int size);
+
+    /**
+     * Fetches the tasks matching the filter that follow the given id, ordered by id (keyset pagination).
+     *
+     * @param filter the criteria selecting the tasks
+     * @param lastId the id after which the page starts
+     * @param size   the maximum number of tasks
+     * @return a Flux emitting the tasks
+     * @throws IllegalArgumentException if the filter has no criteria
+     */
+    Flux<Task> findMatchingAfter(TaskFilter filter, long lastId, int size);
+
+    /**
+     * Inserts all given tasks with a single batched statement.
+     * Generated ids and the initial version are set on the given entities, which are emitted in input order.
+     *
+     * @param tasks the tasks to insert
+     * @return a Flux emitting the inserted tasks
+     */
+    Flux<Task> insertAll(List<Task> tasks);
+
+    /**
+     * Moves all tasks matching the filter to the given status with a single statement.
+     *
+     * @param filter the ids and/or criteria selecting the tasks
+     * @param status the new status
+     * @return a Flux emitting the ids of the updated tasks
+     */
+    Flux<Long> updateStatus(TaskFilter filter, TaskStatus status);
+
+    /**
+     * Deletes all tasks matching the filter with a single statement.
+     *
+     * @param filter the ids and/or criteria selecting the tasks
+     * @return a Flux emitting the ids of the deleted tasks
+     */
+    Flux<Long> deleteMatching(TaskFilter filter);
+
+    /**
+     * Returns the number of tasks per status from counters maintained on every write,
+     * without counting rows. Statuses without tasks are absent.
+     *
+     * @return a Mono emitting the counts by status
+     */
+    Mono<Map<TaskStatus, Long>> statusCounts();
+
+    /**
+     * Returns the number of tasks of a user per status from counters maintained on every write,
+     * without counting rows. Statuses without tasks are absent.
+     *
+     * @param userId the ID of the user
+     * @return a Mono emitting the counts by status
+     */
+    Mono<Map<TaskStatus, Long>> statusCounts(Long userId);
+
+    /**
+     * Recounts the tasks and corrects the counters behind {@link #statusCounts()} that drifted,
+     * without blocking concurrent writes.
+     *
+     * @return a Mono emitting the number of corrected counters
+     */
+    Mono<Long> reconcileStatusCounts();
+
+    /**
+     * Streams the tasks created or changed and the ids of the tasks deleted since the given versions,
+     * ending with an entry carrying the versions to pass next time. Every change made since is
+     * returned, some possibly again next time. Without versions, or with versions older than the
+     * deletions still remembered, all tasks are streamed instead and the end entry is marked full.
+     *
+     * @param since the versions returned by the previous sync, or null
+     * @return a Flux emitting the changes, then the end entry
+     */
+    Flux<TaskSyncEntry> changesSince(long[] since);
+
+    /**
+     * Forgets deletions made before the given time in two steps: a run raises the oldest version
+     * a delta sync may start from past them, and the next run drops them, so syncs that started
+     * before the first run still see them.
+     *
+     * @param before the time before which deletions may be forgotten
+     * @return a Mono emitting the number of forgotten deletions
+     */
+    Mono<Long> purgeTombstones(Instant before);
+}
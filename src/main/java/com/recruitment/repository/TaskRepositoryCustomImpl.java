@@ -0,0 +1,394 @@
+package com.recruitment.repository;
+
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskStatus;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of TaskRepositoryCustom based on DatabaseClient.
+ * Streaming statements set an explicit fetch size so large result sets are read
+ * in bounded chunks instead of being buffered by the driver.
+ */
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    static final String STREAM_ALL = "SELECT * FROM tasks WHERE id > :lastId ORDER BY id";
+    static final String STREAM_BY_USER_ID = "SELECT * FROM tasks WHERE user_id = :userId ORDER BY id";
+    static final String USER_TASKS_PAGE = "SELECT u.id AS owner_id, t.* FROM users u " +
+            "LEFT JOIN LATERAL (SELECT * FROM tasks WHERE user_id = u.id AND id > :lastId " +
+            "ORDER BY id LIMIT :size) t ON TRUE WHERE u.id = :userId";
+    static final String USER_TASKS_PAGE_BY_STATUS = "SELECT u.id AS owner_id, t.* FROM users u " +
+            "LEFT JOIN LATERAL (SELECT * FROM tasks WHERE user_id = u.id AND status = :status AND id > :lastId " +
+            "ORDER BY id LIMIT :size) t ON TRUE WHERE u.id = :userId";
+    static final String MATCHING_PAGE = "SELECT * FROM tasks WHERE %s ORDER BY id LIMIT :size OFFSET :offset";
+    static final String MATCHING_AFTER = "SELECT * FROM tasks WHERE %s AND id > :lastId ORDER BY id LIMIT :size";
+    static final String INSERT = "INSERT INTO tasks (title, description, creation_date, status, user_id) " +
+            "VALUES ($1, $2, $3, $4, $5)";
+    static final String STATUS_COUNTS = "SELECT status, sum(count)::bigint AS count FROM task_status_counts " +
+            "GROUP BY status HAVING sum(count) <> 0";
+    static final String USER_STATUS_COUNTS = "SELECT status, count FROM user_task_counts " +
+            "WHERE user_id = :userId AND count <> 0";
+    static final String LOCK_STATUS_COUNTS = "SELECT pg_try_advisory_xact_lock(hashtext('task_status_counts'))";
+    /**
+     * Adds the difference between the actual and the counted tasks to the counters. Both sides are read
+     * from the statement's snapshot; writes committing after it add their own changes through the
+     * triggers, and adding the difference on top of them keeps both.
+     */
+    static final String RECONCILE_STATUS_COUNTS = "INSERT INTO task_status_counts AS c (status, stripe, count) " +
+            "SELECT status, 0, coalesce(actual.count, 0) - coalesce(counted.count, 0) " +
+            "FROM (SELECT status, count(*) AS count FROM tasks GROUP BY status) actual " +
+            "FULL JOIN (SELECT status, sum(count)::bigint AS count FROM task_status_counts GROUP BY status) counted " +
+            "USING (status) WHERE coalesce(actual.count, 0) <> coalesce(counted.count, 0) " +
+            "ON CONFLICT (status, stripe) DO UPDATE SET count = c.count + excluded.count";
+    static final String RECONCILE_USER_STATUS_COUNTS = "INSERT INTO user_task_counts AS c (user_id, status, count) " +
+            "SELECT user_id, status, coalesce(actual.count, 0) - coalesce(counted.count, 0) " +
+            "FROM (SELECT user_id, status, count(*) AS count FROM tasks WHERE user_id IS NOT NULL " +
+            "GROUP BY user_id, status) actual " +
+            "FULL JOIN user_task_counts counted USING (user_id, status) " +
+            "WHERE coalesce(actual.count, 0) <> coalesce(counted.count, 0) " +
+            "ON CONFLICT (user_id, status) DO UPDATE SET count = c.count + excluded.count";
+    static final String DELETE_EMPTY_USER_STATUS_COUNTS = "DELETE FROM user_task_counts WHERE count = 0";
+    /**
+     * The oldest transaction still running when the snapshot was taken: every change with a lower version
+     * has committed or rolled back, so a sync that read this snapshot may continue from it next time.
+     */
+    static final String SYNC_WATERMARK = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    static final String SYNC_HORIZON = "SELECT version FROM task_sync_horizon";
+    static final String CHANGED_SINCE = "SELECT * FROM tasks WHERE change_version >= :since";
+    static final String DELETED_SINCE = "SELECT task_id FROM task_tombstones WHERE change_version >= :since";
+    /**
+     * Drops the tombstones up to the horizon, then raises the horizon past the tombstones older than
+     * the retention, which the next run drops.
+     */
+    static final String PURGE_TOMBSTONES = "WITH purged AS (DELETE FROM task_tombstones " +
+            "WHERE change_version <= (SELECT version FROM task_sync_horizon) RETURNING task_id), " +
+            "raised AS (UPDATE task_sync_horizon SET version = greatest(version, coalesce(" +
+            "(SELECT max(change_version) FROM task_tombstones WHERE deleted_at < :before), 0))) " +
+            "SELECT count(*) FROM purged";
+
+    private static final TransactionDefinition SYNC_TRANSACTION = syncTransaction();
+
+    private final R2dbcEntityTemplate template;
+    private final int fetchSize;
+
+    TaskRepositoryCustomImpl(R2dbcEntityTemplate template,
+                             @Value("${app.streaming.fetch-size:256}") int fetchSize) {
+        this.template = template;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Flux<Task> streamAll(long lastId) {
+        return stream(template.getDatabaseClient().sql(STREAM_ALL).bind("lastId", lastId));
+    }
+
+    @Override
+    public Flux<Task> streamByUserId(Long userId) {
+        return stream(template.getDatabaseClient().sql(STREAM_BY_USER_ID).bind("userId", userId));
+    }
+
+    /**
+     * The lateral join yields no row when the user does not exist and a single row with
+     * null task columns when the user exists but has no matching tasks.
+     */
+    @Override
+    public Mono<List<Task>> findUserTasksPage(Long userId, long lastId, TaskStatus status, int size) {
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient()
+                .sql(status == null ? USER_TASKS_PAGE : USER_TASKS_PAGE_BY_STATUS)
+                .bind("userId", userId)
+                .bind("lastId", lastId)
+                .bind("size", size);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        return spec.map((row, metadata) -> row.get("id", Long.class) == null
+                        ? Optional.<Task>empty()
+                        : Optional.of(template.getConverter().read(Task.class, row, metadata)))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(rows -> rows.stream()
+                        .flatMap(Optional::stream)
+                        .toList());
+    }
+
+    @Override
+    public Flux<Task> findMatchingPaged(TaskFilter filter, long offset, int size) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = MATCHING_PAGE.formatted(where(filter, bindings));
+        bindings.put("size", size);
+        bindings.put("offset", offset);
+        return stream(bind(template.getDatabaseClient().sql(sql), bindings));
+    }
+
+    @Override
+    public Flux<Task> findMatchingAfter(TaskFilter filter, long lastId, int size) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = MATCHING_AFTER.formatted(where(filter, bindings));
+        bindings.put("lastId", lastId);
+        bindings.put("size", size);
+        return stream(bind(template.getDatabaseClient().sql(sql), bindings));
+    }
+
+    @Override
+    public Flux<Task> insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Flux.empty();
+        }
+        return template.getDatabaseClient().inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT).returnGeneratedValues("id");
+            for (int i = 0; i < tasks.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bindInsert(statement, tasks.get(i));
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)))
+                    .index()
+                    .map(generated -> {
+                        Task task = tasks.get(generated.getT1().intValue());
+                        task.setId(generated.getT2());
+                        task.setVersion(0L);
+                        return task;
+                    });
+        });
+    }
+
+    @Override
+    public Flux<Long> updateStatus(TaskFilter filter, TaskStatus status) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("newStatus", status.name());
+        String sql = "UPDATE tasks SET status = :newStatus WHERE " + where(filter, bindings) + " RETURNING id";
+        return returningIds(sql, bindings);
+    }
+
+    @Override
+    public Flux<Long> deleteMatching(TaskFilter filter) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = "DELETE FROM tasks WHERE " + where(filter, bindings) + " RETURNING id";
+        return returningIds(sql, bindings);
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Long>> statusCounts() {
+        return sumByStatus(readStatusCounts(template.getDatabaseClient().sql(STATUS_COUNTS)));
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Long>> statusCounts(Long userId) {
+        return sumByStatus(readStatusCounts(template.getDatabaseClient().sql(USER_STATUS_COUNTS)
+                .bind("userId", userId)));
+    }
+
+    @Override
+    public Mono<Long> reconcileStatusCounts() {
+        return reconcileStatusCounts(template.getDatabaseClient());
+    }
+
+    /**
+     * Corrects the task counters of one database and drops the counters of users left without tasks.
+     * Runs from several application instances are serialised by an advisory lock, taken before the
+     * statements read their snapshots, so that no difference is added twice; a run that finds the
+     * lock taken does nothing.
+     *
+     * @return a Mono emitting the number of corrected counters
+     */
+    static Mono<Long> reconcileStatusCounts(DatabaseClient client) {
+        Mono<Long> reconcile = client.sql(LOCK_STATUS_COUNTS)
+                .map((row, metadata) -> row.get(0, Boolean.class))
+                .one()
+                .flatMap(locked -> !locked ? Mono.just(0L) : Flux.concat(
+                                client.sql(RECONCILE_STATUS_COUNTS).fetch().rowsUpdated(),
+                                client.sql(RECONCILE_USER_STATUS_COUNTS).fetch().rowsUpdated())
+                        .reduce(0L, Long::sum)
+                        .delayUntil(corrected -> client.sql(DELETE_EMPTY_USER_STATUS_COUNTS).fetch().rowsUpdated()));
+        return TransactionalOperator.create(new R2dbcTransactionManager(client.getConnectionFactory()))
+                .transactional(reconcile);
+    }
+
+    @Override
+    public Flux<TaskSyncEntry> changesSince(long[] since) {
+        return syncHorizon(template.getDatabaseClient())
+                .flatMapMany(horizon -> changesSince(template,
+                        since == null || since.length != 1 || since[0] <= horizon ? null : since[0], fetchSize));
+    }
+
+    @Override
+    public Mono<Long> purgeTombstones(Instant before) {
+        return purgeTombstones(template.getDatabaseClient(), before);
+    }
+
+    /**
+     * Reads the changes of one database since a version from one read-only snapshot: the changed tasks,
+     * then the ids of the deleted ones, then the end entry with the watermark of the snapshot.
+     * Without a version all tasks are read and no deletions.
+     *
+     * @return a Flux emitting the changes, then the end entry
+     */
+    static Flux<TaskSyncEntry> changesSince(R2dbcEntityTemplate template, Long since, int fetchSize) {
+        DatabaseClient client = template.getDatabaseClient();
+        Flux<TaskSyncEntry> changes = client.sql(SYNC_WATERMARK)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .flatMapMany(watermark -> {
+                    Flux<Task> tasks = since == null
+                            ? stream(template, client.sql(STREAM_ALL).bind("lastId", 0L), fetchSize)
+                            : stream(template, client.sql(CHANGED_SINCE).bind("since", since), fetchSize);
+                    Flux<Long> deleted = since == null ? Flux.empty() : client.sql(DELETED_SINCE)
+                            .bind("since", since)
+                            .filter(statement -> statement.fetchSize(fetchSize))
+                            .map((row, metadata) -> row.get("task_id", Long.class))
+                            .all();
+                    return Flux.concat(tasks.map(TaskSyncEntry::changed), deleted.map(TaskSyncEntry::deleted),
+                            Mono.just(TaskSyncEntry.end(new long[]{watermark}, since == null)));
+                });
+        return TransactionalOperator.create(
+                new R2dbcTransactionManager(client.getConnectionFactory()), SYNC_TRANSACTION).transactional(changes);
+    }
+
+    /**
+     * Returns the version up to which deletions may have been forgotten.
+     */
+    static Mono<Long> syncHorizon(DatabaseClient client) {
+        return client.sql(SYNC_HORIZON).map((row, metadata) -> row.get("version", Long.class)).one();
+    }
+
+    static Mono<Long> purgeTombstones(DatabaseClient client, Instant before) {
+        return client.sql(PURGE_TOMBSTONES)
+                .bind("before", before)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    static Flux<Map.Entry<TaskStatus, Long>> readStatusCounts(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map((row, metadata) -> Map.entry(
+                        TaskStatus.valueOf(row.get("status", String.class)), row.get("count", Long.class)))
+                .all();
+    }
+
+    /**
+     * Adds up counts by status, e.g. those of several databases.
+     */
+    static Mono<Map<TaskStatus, Long>> sumByStatus(Flux<Map.Entry<TaskStatus, Long>> counts) {
+        return counts.collect(() -> new EnumMap<>(TaskStatus.class),
+                (sums, count) -> sums.merge(count.getKey(), count.getValue(), Long::sum));
+    }
+
+    /**
+     * Builds the WHERE clause for a task filter. Only the criteria that are set are
+     * added, so every combination produces a plain, index-friendly predicate.
+     *
+     * @param filter   the filter
+     * @param bindings receives the values of the named parameters used in the clause
+     * @return the WHERE clause without the keyword
+     */
+    static String where(TaskFilter filter, Map<String, Object> bindings) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            conditions.add("id = ANY(:ids)");
+            bindings.put("ids", filter.getIds().toArray(Long[]::new));
+        }
+        if (filter.getUserId() != null) {
+            conditions.add("user_id = :userId");
+            bindings.put("userId", filter.getUserId());
+        }
+        if (filter.getStatus() != null) {
+            conditions.add("status = :status");
+            bindings.put("status", filter.getStatus().name());
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions.add("creation_date >= :createdFrom");
+            bindings.put("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions.add("creation_date <= :createdTo");
+            bindings.put("createdTo", filter.getCreatedTo());
+        }
+        if (filter.getTitle() != null && !filter.getTitle().isEmpty()) {
+            conditions.add("title ILIKE :titlePattern");
+            bindings.put("titlePattern", containsPattern(filter.getTitle()));
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("Task filter must contain at least one criterion");
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    /**
+     * Builds a LIKE pattern matching the value anywhere, escaping the wildcards it contains
+     * with the default escape character.
+     */
+    static String containsPattern(String value) {
+        return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private Flux<Long> returningIds(String sql, Map<String, Object> bindings) {
+        DatabaseClient.GenericExecuteSpec spec = bind(template.getDatabaseClient().sql(sql), bindings);
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .all();
+    }
+
+    private static void bindInsert(Statement statement, Task task) {
+        statement.bind(0, task.getTitle());
+        if (task.getDescription() != null) {
+            statement.bind(1, task.getDescription());
+        } else {
+            statement.bindNull(1, String.class);
+        }
+        statement.bind(2, task.getCreationDate());
+        statement.bind(3, task.getStatus().name());
+        if (task.getUserId() != null) {
+            statement.bind(4, task.getUserId());
+        } else {
+            statement.bindNull(4, Long.class);
+        }
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                          Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private Flux<Task> stream(DatabaseClient.GenericExecuteSpec spec) {
+        return stream(template, spec, fetchSize);
+    }
+
+    private static Flux<Task> stream(R2dbcEntityTemplate template, DatabaseClient.GenericExecuteSpec spec,
+                                     int fetchSize) {
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> template.getConverter().read(Task.class, row, metadata))
+                .all();
+    }
+
+    /**
+     * Repeatable read, so all statements of a sync see the snapshot the watermark was taken from.
+     */
+    private static TransactionDefinition syncTransaction() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        definition.setReadOnly(true);
+        return definition;
+    }
+}
@@ -0,0 +1,32 @@
+package com.recruitment.repository;
+
+import com.recruitment.entity.Task;
+
+/**
+ * One entry of a delta sync read by {@link TaskRepositoryCustom#changesSince(long[])}: a created or
+ * changed task, the id of a deleted task, or, as the last entry, the versions to sync from next time.
+ *
+ * @param task          the task as it is now, or null
+ * @param deletedTaskId the id of a deleted task, or null
+ * @param nextVersions  the versions to pass to the next sync; set on the last entry only
+ * @param full          set on the last entry when the sync returned all tasks instead of the changes,
+ *                      so tasks missing from it no longer exist
+ */
+public record TaskSyncEntry(Task task, Long deletedTaskId, long[] nextVersions, boolean full) {
+
+    public static TaskSyncEntry changed(Task task) {
+        return new TaskSyncEntry(task, null, null, false);
+    }
+
+    public static TaskSyncEntry deleted(Long taskId) {
+        return new TaskSyncEntry(null, taskId, null, false);
+    }
+
+    public static TaskSyncEntry end(long[] nextVersions, boolean full) {
+        return new TaskSyncEntry(null, null, nextVersions, full);
+    }
+
+    public boolean isEnd() {
+        return nextVersions != null;
+    }
+}
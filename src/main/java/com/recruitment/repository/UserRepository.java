@@ -9,4 +9,13 @@ public interface UserRepository extends ReactiveCrudRepository<User, Long> {
 
     @Query("SELECT * FROM users ORDER BY id LIMIT :size OFFSET :offset")
     Flux<User> findAllPaged(long offset, int size);
+
+    @Query("SELECT * FROM users WHERE id > :lastId ORDER BY id LIMIT :size")
+    Flux<User> findAllAfter(long lastId, int size);
+
+    @Query("SELECT id FROM users")
+    Flux<Long> findAllIds();
+
+    @Query("SELECT id FROM users WHERE id = ANY(:ids)")
+    Flux<Long> findExistingIds(Long[] ids);
 }
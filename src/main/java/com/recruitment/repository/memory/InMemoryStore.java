@@ -0,0 +1,777 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.exception.ConstraintViolations;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory storage of users and tasks behind the in-memory repositories. Entities are kept in
+ * primitive long-keyed maps; tasks are additionally indexed by user (sorted id arrays, replaced on
+ * change) and by status (bitmaps over the dense ids), and counted by user and status. Writes of a
+ * task are serialised on one of a fixed number of lock stripes chosen by id, so the entity and its
+ * index entries change together, while writes of other tasks proceed in parallel. Users have their
+ * own stripes, which a task write takes after its own to check and index the user it assigns, so a
+ * user cannot be deleted halfway through. Entities are copied on the way in and out, so callers never
+ * share state with the store.
+ *
+ * <p>Referential behaviour follows the database schema: a task must reference an existing user,
+ * and deleting a user unassigns its tasks.
+ *
+ * <p>Every change is passed to a {@link StoreJournal} before it is applied; if the journal fails,
+ * the change is not applied. Applied task changes are passed to a {@link TaskChangeListener}.
+ * The {@code restore} methods apply journaled state without recording or announcing it.
+ *
+ * <p>For delta sync, every task change is stamped with a version from a sequence starting at the
+ * startup time in microseconds, and deletions leave tombstones. Versions are not journaled:
+ * restored tasks get new ones, and versions handed out before startup are below the sync horizon.
+ */
+public class InMemoryStore {
+
+    private static final int STRIPES = 64;
+    private static final long[] NO_IDS = new long[0];
+
+    private final LongObjectMap<User> users;
+    private final LongBitSet userIds = new LongBitSet();
+    private final AtomicLong userSequence = new AtomicLong();
+
+    private final LongObjectMap<Task> tasks;
+    private final LongBitSet taskIds = new LongBitSet();
+    private final Map<TaskStatus, LongBitSet> tasksByStatus = new EnumMap<>(TaskStatus.class);
+    private final LongObjectMap<long[]> tasksByUser;
+    private final LongObjectMap<long[]> statusCountsByUser;
+    private final AtomicLong taskSequence = new AtomicLong();
+
+    private final Object versionLock = new Object();
+    private final NavigableSet<Long> versionsInFlight = new TreeSet<>();
+    private long versionSequence = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private final ConcurrentSkipListMap<Long, Long> tasksByVersion = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Tombstone> tombstones = new ConcurrentSkipListMap<>();
+    private volatile long syncHorizon = versionSequence;
+
+    private final Object[] stripes = new Object[STRIPES];
+    private final Object[] userStripes = new Object[STRIPES];
+    private final StoreJournal journal;
+    private final TaskChangeListener listener;
+
+    /**
+     * Creates an empty store without a journal.
+     *
+     * @param expectedUsers the expected number of users
+     * @param expectedTasks the expected number of tasks
+     */
+    public InMemoryStore(int expectedUsers, int expectedTasks) {
+        this(expectedUsers, expectedTasks, StoreJournal.NONE);
+    }
+
+    /**
+     * Creates an empty store recording its changes in the journal.
+     *
+     * @param expectedUsers the expected number of users
+     * @param expectedTasks the expected number of tasks
+     * @param journal       the journal
+     */
+    public InMemoryStore(int expectedUsers, int expectedTasks, StoreJournal journal) {
+        this(expectedUsers, expectedTasks, journal, TaskChangeListener.NONE);
+    }
+
+    /**
+     * Creates an empty store recording its changes in the journal and announcing task changes.
+     *
+     * @param expectedUsers the expected number of users
+     * @param expectedTasks the expected number of tasks
+     * @param journal       the journal
+     * @param listener      the listener of task changes
+     */
+    public InMemoryStore(int expectedUsers, int expectedTasks, StoreJournal journal, TaskChangeListener listener) {
+        this.journal = journal;
+        this.listener = listener;
+        this.users = new LongObjectMap<>(expectedUsers, STRIPES);
+        this.tasks = new LongObjectMap<>(expectedTasks, STRIPES);
+        this.tasksByUser = new LongObjectMap<>(expectedUsers, STRIPES);
+        this.statusCountsByUser = new LongObjectMap<>(expectedUsers, STRIPES);
+        for (TaskStatus status : TaskStatus.values()) {
+            tasksByStatus.put(status, new LongBitSet());
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+            userStripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Waits for the changes applied so far to become durable.
+     */
+    Mono<Void> sync() {
+        return journal.sync();
+    }
+
+    User insertUser(User user) {
+        long id = userSequence.incrementAndGet();
+        User stored = copy(user);
+        stored.setId(id);
+        stored.setVersion(0L);
+        synchronized (userStripe(id)) {
+            journal.userStored(stored);
+            users.put(id, stored);
+            userIds.set(id);
+        }
+        return copy(stored);
+    }
+
+    /**
+     * Stores the user under the next version if it is at the version of the given user, or at any
+     * version if the given user has none.
+     *
+     * @return the stored user, or null if there is no user with the id at that version
+     */
+    User updateUser(User user) {
+        long id = user.getId();
+        synchronized (userStripe(id)) {
+            User current = users.get(id);
+            if (current == null || (user.getVersion() != null && !user.getVersion().equals(current.getVersion()))) {
+                return null;
+            }
+            User stored = copy(user);
+            stored.setVersion(current.getVersion() + 1);
+            journal.userStored(stored);
+            users.put(id, stored);
+            return copy(stored);
+        }
+    }
+
+    User user(long id) {
+        User user = users.get(id);
+        return user == null ? null : copy(user);
+    }
+
+    boolean userExists(Long id) {
+        return id != null && userIds.contains(id);
+    }
+
+    /**
+     * Returns the smallest user id greater than the given one, or -1.
+     */
+    long nextUserId(long lastId) {
+        return userIds.next(lastId + 1);
+    }
+
+    long userCount() {
+        return userIds.size();
+    }
+
+    /**
+     * Deletes the user and unassigns its tasks, like {@code ON DELETE SET NULL}. The tasks are unassigned
+     * first; the user is removed once, under its stripe, it has none left.
+     */
+    User deleteUser(long id) {
+        if (users.get(id) == null) {
+            return null;
+        }
+        while (true) {
+            for (long taskId : userTaskIds(id)) {
+                updateTask(taskId, task -> {
+                    if (Objects.equals(task.getUserId(), id)) {
+                        task.setUserId(null);
+                    }
+                });
+            }
+            synchronized (userStripe(id)) {
+                if (users.get(id) == null) {
+                    return null;
+                }
+                if (userTaskIds(id).length == 0) {
+                    journal.userRemoved(id);
+                    User removed = users.remove(id);
+                    userIds.clear(id);
+                    return copy(removed);
+                }
+            }
+        }
+    }
+
+    void deleteAllUsers() {
+        for (long id = nextUserId(0); id > 0; id = nextUserId(id)) {
+            deleteUser(id);
+        }
+    }
+
+    /**
+     * Stores a new task under the next id.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the referenced user does not exist
+     */
+    Task insertTask(Task task) {
+        requireUser(task.getUserId());
+        long id = taskSequence.incrementAndGet();
+        Task stored = copy(task);
+        stored.setId(id);
+        stored.setVersion(0L);
+        synchronized (stripe(id)) {
+            withUser(stored.getUserId(), () -> {
+                long version = beginChange();
+                try {
+                    journal.taskStored(stored);
+                    tasks.put(id, stored);
+                    index(stored);
+                    stamp(stored, null, version);
+                    listener.taskChanged(null, stored);
+                } finally {
+                    endChange(version);
+                }
+            });
+        }
+        return copy(stored);
+    }
+
+    Task task(long id) {
+        Task task = tasks.get(id);
+        return task == null ? null : copy(task);
+    }
+
+    boolean taskExists(Long id) {
+        return id != null && taskIds.contains(id);
+    }
+
+    /**
+     * Applies the change to a copy of the task and stores it, updating the indexes.
+     *
+     * @return the updated task, or null if there is no task with the id
+     * @throws org.springframework.dao.DataIntegrityViolationException if the change references a missing user
+     */
+    Task updateTask(long id, Consumer<Task> change) {
+        return updateTask(id, null, change);
+    }
+
+    /**
+     * Applies the change to a copy of the task and stores it under the next version, updating the indexes,
+     * if the task is at the expected version. A change that leaves the task as it was keeps its version.
+     *
+     * @param version the expected version, or null for any version
+     * @return the updated task, or null if there is no task with the id at the expected version
+     * @throws org.springframework.dao.DataIntegrityViolationException if the change references a missing user
+     */
+    Task updateTask(long id, Long version, Consumer<Task> change) {
+        synchronized (stripe(id)) {
+            Task current = tasks.get(id);
+            if (current == null || (version != null && !version.equals(current.getVersion()))) {
+                return null;
+            }
+            Task updated = copy(current);
+            change.accept(updated);
+            updated.setId(id);
+            boolean reassigned = !Objects.equals(current.getUserId(), updated.getUserId());
+            if (reassigned) {
+                requireUser(updated.getUserId());
+            }
+            if (sameContent(current, updated)) {
+                return copy(current);
+            }
+            updated.setVersion(current.getVersion() + 1);
+            withUser(reassigned ? updated.getUserId() : null, () -> {
+                long changeVersion = beginChange();
+                try {
+                    journal.taskStored(updated);
+                    tasks.put(id, updated);
+                    unindex(current);
+                    index(updated);
+                    stamp(updated, current, changeVersion);
+                    listener.taskChanged(current, updated);
+                } finally {
+                    endChange(changeVersion);
+                }
+            });
+            return copy(updated);
+        }
+    }
+
+    Task removeTask(long id) {
+        synchronized (stripe(id)) {
+            if (tasks.get(id) == null) {
+                return null;
+            }
+            long version = beginChange();
+            Task removed;
+            try {
+                journal.taskRemoved(id);
+                removed = tasks.remove(id);
+                unindex(removed);
+                tasksByVersion.remove(removed.getChangeVersion(), id);
+                tombstones.put(version, new Tombstone(id, System.currentTimeMillis()));
+                listener.taskChanged(removed, null);
+            } finally {
+                endChange(version);
+            }
+            return copy(removed);
+        }
+    }
+
+    /**
+     * Returns the smallest task id greater than the given one, or -1.
+     */
+    long nextTaskId(long lastId) {
+        return taskIds.next(lastId + 1);
+    }
+
+    long taskCount() {
+        return taskIds.size();
+    }
+
+    /**
+     * Returns the number of tasks per status; statuses without tasks are absent.
+     */
+    Map<TaskStatus, Long> statusCounts() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (Map.Entry<TaskStatus, LongBitSet> ids : tasksByStatus.entrySet()) {
+            long count = ids.getValue().size();
+            if (count > 0) {
+                counts.put(ids.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of a user's tasks per status; statuses without tasks are absent.
+     */
+    Map<TaskStatus, Long> statusCounts(long userId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        long[] byStatus = statusCountsByUser.get(userId);
+        if (byStatus != null) {
+            for (TaskStatus status : TaskStatus.values()) {
+                if (byStatus[status.ordinal()] > 0) {
+                    counts.put(status, byStatus[status.ordinal()]);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the ids of the user's tasks in ascending order. The array must not be modified.
+     */
+    long[] userTaskIds(long userId) {
+        long[] ids = tasksByUser.get(userId);
+        return ids == null ? NO_IDS : ids;
+    }
+
+    /**
+     * Returns the next page of a user's tasks, or null if the user does not exist.
+     */
+    List<Task> userTasksPage(long userId, long lastId, TaskStatus status, int size) {
+        if (!userExists(userId)) {
+            return null;
+        }
+        long[] ids = userTaskIds(userId);
+        List<Task> page = new ArrayList<>(Math.min(size, ids.length));
+        for (int i = firstAfter(ids, lastId); i < ids.length && page.size() < size; i++) {
+            Task task = tasks.get(ids[i]);
+            if (task != null && (status == null || task.getStatus() == status)) {
+                page.add(copy(task));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Returns the ids of the tasks matching every criterion of the filter, in ascending order.
+     *
+     * @throws IllegalArgumentException if the filter has no criteria
+     */
+    List<Long> matching(TaskFilter filter) {
+        requireCriteria(filter);
+        List<Long> matches = new ArrayList<>();
+        scan(filter, 0, task -> matches.add(task.getId()));
+        return matches;
+    }
+
+    /**
+     * Returns up to {@code size} tasks matching every criterion of the filter with an id greater than
+     * the given one, in ascending id order.
+     *
+     * @throws IllegalArgumentException if the filter has no criteria
+     */
+    List<Task> matchingPage(TaskFilter filter, long lastId, int size) {
+        requireCriteria(filter);
+        List<Task> page = new ArrayList<>(Math.min(size, 64));
+        if (size > 0) {
+            scan(filter, lastId, task -> {
+                page.add(copy(task));
+                return page.size() < size;
+            });
+        }
+        return page;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the filter has no criteria
+     */
+    static void requireCriteria(TaskFilter filter) {
+        if (!filter.hasCriteria()) {
+            throw new IllegalArgumentException("Task filter must contain at least one criterion");
+        }
+    }
+
+    void deleteAllTasks() {
+        for (long id = nextTaskId(0); id > 0; id = nextTaskId(id)) {
+            removeTask(id);
+        }
+    }
+
+    long userSequence() {
+        return userSequence.get();
+    }
+
+    long taskSequence() {
+        return taskSequence.get();
+    }
+
+    /**
+     * Stores the user as journaled, without recording it or checking references.
+     */
+    void restoreUser(User user) {
+        long id = user.getId();
+        synchronized (userStripe(id)) {
+            users.put(id, copy(user));
+            userIds.set(id);
+        }
+        userSequence.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Removes the user as journaled, without recording it or unassigning its tasks.
+     */
+    void restoreUserRemoval(long id) {
+        synchronized (userStripe(id)) {
+            users.remove(id);
+            userIds.clear(id);
+        }
+    }
+
+    /**
+     * Stores the task as journaled, without recording it or checking references.
+     */
+    void restoreTask(Task task) {
+        long id = task.getId();
+        Task stored = copy(task);
+        synchronized (stripe(id)) {
+            long version = beginChange();
+            try {
+                Task previous = tasks.put(id, stored);
+                if (previous != null) {
+                    unindex(previous);
+                }
+                index(stored);
+                stamp(stored, previous, version);
+            } finally {
+                endChange(version);
+            }
+        }
+        taskSequence.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Removes the task as journaled, without recording it.
+     */
+    void restoreTaskRemoval(long id) {
+        synchronized (stripe(id)) {
+            Task removed = tasks.remove(id);
+            if (removed != null) {
+                unindex(removed);
+                tasksByVersion.remove(removed.getChangeVersion(), id);
+            }
+        }
+    }
+
+    /**
+     * Advances the id sequences to at least the given values, so ids of deleted entities are not reused.
+     */
+    void restoreSequences(long userSequence, long taskSequence) {
+        this.userSequence.accumulateAndGet(userSequence, Math::max);
+        this.taskSequence.accumulateAndGet(taskSequence, Math::max);
+    }
+
+    /**
+     * Returns the version up to which every change has been applied: versions below it are no longer
+     * handed out or in flight.
+     */
+    long syncWatermark() {
+        synchronized (versionLock) {
+            return versionsInFlight.isEmpty() ? versionSequence + 1 : versionsInFlight.first();
+        }
+    }
+
+    /**
+     * Returns the version up to which deletions may have been forgotten.
+     */
+    long syncHorizon() {
+        return syncHorizon;
+    }
+
+    /**
+     * Returns the ids of the tasks changed at or after the version, in version order. Changes made while
+     * iterating may or may not be seen; a task changed again moves to its newer version.
+     */
+    Iterable<Long> changedTaskIds(long since) {
+        return tasksByVersion.tailMap(since).values();
+    }
+
+    /**
+     * Returns the ids of the tasks deleted at or after the version, in version order.
+     */
+    List<Long> deletedTaskIds(long since) {
+        return tombstones.tailMap(since).values().stream().map(Tombstone::taskId).toList();
+    }
+
+    /**
+     * Drops the tombstones up to the sync horizon, then raises the horizon past the tombstones of tasks
+     * deleted before the given time, which the next call drops.
+     *
+     * @return the number of dropped tombstones
+     */
+    long purgeTombstones(long beforeMillis) {
+        Map<Long, Tombstone> purged = tombstones.headMap(syncHorizon, true);
+        long count = purged.size();
+        purged.clear();
+        long horizon = syncHorizon;
+        for (Map.Entry<Long, Tombstone> tombstone : tombstones.entrySet()) {
+            if (tombstone.getValue().deletedAt() < beforeMillis) {
+                horizon = Math.max(horizon, tombstone.getKey());
+            }
+        }
+        syncHorizon = horizon;
+        return count;
+    }
+
+    /**
+     * Passes the matching tasks with an id greater than {@code lastId} to the visitor in ascending id order,
+     * until it returns false. The most selective index available picks the candidates; the other criteria
+     * are checked per task.
+     */
+    private void scan(TaskFilter filter, long lastId, Predicate<Task> visitor) {
+        String title = filter.getTitle() == null || filter.getTitle().isEmpty()
+                ? null
+                : filter.getTitle().toLowerCase(Locale.ROOT);
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            long[] ids = filter.getIds().stream().filter(Objects::nonNull).mapToLong(Long::longValue)
+                    .filter(id -> id > lastId).distinct().sorted().toArray();
+            for (long id : ids) {
+                if (!visit(id, filter, title, visitor)) {
+                    return;
+                }
+            }
+        } else if (filter.getUserId() != null) {
+            long[] ids = userTaskIds(filter.getUserId());
+            for (int i = firstAfter(ids, lastId); i < ids.length; i++) {
+                if (!visit(ids[i], filter, title, visitor)) {
+                    return;
+                }
+            }
+        } else {
+            LongBitSet ids = filter.getStatus() != null ? tasksByStatus.get(filter.getStatus()) : taskIds;
+            for (long id = ids.next(lastId + 1); id >= 0; id = ids.next(id + 1)) {
+                if (!visit(id, filter, title, visitor)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns false once the visitor has seen a matching task and asked to stop.
+     */
+    private boolean visit(long id, TaskFilter filter, String title, Predicate<Task> visitor) {
+        Task task = tasks.get(id);
+        if (task == null
+                || (filter.getUserId() != null && !filter.getUserId().equals(task.getUserId()))
+                || (filter.getStatus() != null && filter.getStatus() != task.getStatus())
+                || (filter.getCreatedFrom() != null && task.getCreationDate().isBefore(filter.getCreatedFrom()))
+                || (filter.getCreatedTo() != null && task.getCreationDate().isAfter(filter.getCreatedTo()))
+                || (title != null && (task.getTitle() == null
+                || !task.getTitle().toLowerCase(Locale.ROOT).contains(title)))) {
+            return true;
+        }
+        return visitor.test(task);
+    }
+
+    /**
+     * Hands out the next version and marks it in flight until {@link #endChange(long)}.
+     */
+    private long beginChange() {
+        synchronized (versionLock) {
+            long version = ++versionSequence;
+            versionsInFlight.add(version);
+            return version;
+        }
+    }
+
+    private void endChange(long version) {
+        synchronized (versionLock) {
+            versionsInFlight.remove(version);
+        }
+    }
+
+    /**
+     * Moves a stored task to its new version in the version index. Task ids are not reused, so no
+     * tombstone has to be cleared.
+     */
+    private void stamp(Task task, Task previous, long version) {
+        long id = task.getId();
+        if (previous != null) {
+            tasksByVersion.remove(previous.getChangeVersion(), id);
+        }
+        task.setChangeVersion(version);
+        tasksByVersion.put(version, id);
+    }
+
+    private void requireUser(Long userId) {
+        if (userId != null && !userExists(userId)) {
+            throw ConstraintViolations.userForeignKeyViolation(userId);
+        }
+    }
+
+    /**
+     * Runs the write under the stripe of the user it assigns a task to, checking again that the user
+     * exists, so that the user is not deleted before the task is indexed under it. Runs it directly
+     * if no user is assigned.
+     */
+    private void withUser(Long userId, Runnable write) {
+        if (userId == null) {
+            write.run();
+            return;
+        }
+        synchronized (userStripe(userId)) {
+            requireUser(userId);
+            write.run();
+        }
+    }
+
+    private void index(Task task) {
+        long id = task.getId();
+        taskIds.set(id);
+        tasksByStatus.get(task.getStatus()).set(id);
+        if (task.getUserId() != null) {
+            tasksByUser.compute(task.getUserId(), ids -> withId(ids, id));
+            statusCountsByUser.compute(task.getUserId(), counts -> withCount(counts, task.getStatus(), 1));
+        }
+    }
+
+    private void unindex(Task task) {
+        long id = task.getId();
+        taskIds.clear(id);
+        tasksByStatus.get(task.getStatus()).clear(id);
+        if (task.getUserId() != null) {
+            tasksByUser.compute(task.getUserId(), ids -> withoutId(ids, id));
+            statusCountsByUser.compute(task.getUserId(), counts -> withCount(counts, task.getStatus(), -1));
+        }
+    }
+
+    private Object stripe(long id) {
+        return stripes[(int) (id & (STRIPES - 1))];
+    }
+
+    private Object userStripe(long id) {
+        return userStripes[(int) (id & (STRIPES - 1))];
+    }
+
+    private static long[] withId(long[] ids, long id) {
+        if (ids == null) {
+            return new long[]{id};
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        position = -position - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, position);
+        copy[position] = id;
+        System.arraycopy(ids, position, copy, position + 1, ids.length - position);
+        return copy;
+    }
+
+    private static long[] withoutId(long[] ids, long id) {
+        if (ids == null) {
+            return null;
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, position);
+        System.arraycopy(ids, position + 1, copy, position, ids.length - position - 1);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the counts with the status adjusted, or null once all counts are zero.
+     */
+    private static long[] withCount(long[] counts, TaskStatus status, long delta) {
+        long[] copy = counts == null ? new long[TaskStatus.values().length] : counts.clone();
+        copy[status.ordinal()] += delta;
+        for (long count : copy) {
+            if (count != 0) {
+                return copy;
+            }
+        }
+        return null;
+    }
+
+    private static int firstAfter(long[] ids, long lastId) {
+        int position = Arrays.binarySearch(ids, lastId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static boolean sameContent(Task current, Task updated) {
+        return Objects.equals(current.getTitle(), updated.getTitle())
+                && Objects.equals(current.getDescription(), updated.getDescription())
+                && Objects.equals(current.getCreationDate(), updated.getCreationDate())
+                && current.getStatus() == updated.getStatus()
+                && Objects.equals(current.getUserId(), updated.getUserId());
+    }
+
+    private static Task copy(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setCreationDate(task.getCreationDate());
+        copy.setStatus(task.getStatus());
+        copy.setUserId(task.getUserId());
+        copy.setChangeVersion(task.getChangeVersion());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setVersion(user.getVersion());
+        return copy;
+    }
+
+    private record Tombstone(long taskId, long deletedAt) {
+    }
+}
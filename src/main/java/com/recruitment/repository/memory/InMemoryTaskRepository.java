@@ -0,0 +1,356 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.repository.TaskRepository;
+import com.recruitment.repository.TaskSyncEntry;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * TaskRepository over an {@link InMemoryStore}. Every operation completes on the subscribing thread
+ * without I/O; listings walk the id bitmap lazily, so streaming and keyset paging read only the tasks
+ * requested downstream. Writes behave like the statements of the database-backed repository, including
+ * the {@code fk_tasks_user} violation for a missing user. Writes complete once the store's journal
+ * reports them durable.
+ */
+public class InMemoryTaskRepository implements TaskRepository {
+
+    private final InMemoryStore store;
+
+    public InMemoryTaskRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public <S extends Task> Mono<S> save(S task) {
+        return write(task).delayUntil(saved -> store.sync());
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Iterable<S> tasks) {
+        return saveAll(Flux.fromIterable(tasks));
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Publisher<S> tasks) {
+        return Flux.from(tasks).concatMap(this::write)
+                .collectList()
+                .delayUntil(saved -> store.sync())
+                .flatMapIterable(saved -> saved);
+    }
+
+    @Override
+    public Flux<Task> insertAll(List<Task> tasks) {
+        return saveAll(Flux.fromIterable(tasks));
+    }
+
+    @Override
+    public Mono<Task> findById(Long id) {
+        return Mono.fromCallable(() -> store.task(id));
+    }
+
+    @Override
+    public Mono<Task> findById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return Mono.fromCallable(() -> store.taskExists(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Task> findAll() {
+        return streamAll(0);
+    }
+
+    @Override
+    public Flux<Task> findAllById(Iterable<Long> ids) {
+        return Flux.fromIterable(ids).mapNotNull(store::task);
+    }
+
+    @Override
+    public Flux<Task> findAllById(Publisher<Long> ids) {
+        return Flux.from(ids).mapNotNull(store::task);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromCallable(store::taskCount);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return deleteReturningId(id).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Task task) {
+        return deleteById(task.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Long> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(store::removeTask)).then(store.sync());
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Task> tasks) {
+        return Mono.fromRunnable(() -> tasks.forEach(task -> store.removeTask(task.getId()))).then(store.sync());
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Task> tasks) {
+        return Flux.from(tasks).doOnNext(task -> store.removeTask(task.getId())).then(store.sync());
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(store::deleteAllTasks).then(store.sync());
+    }
+
+    @Override
+    public Flux<Task> findByUserId(Long userId) {
+        return streamByUserId(userId);
+    }
+
+    @Override
+    public Flux<Task> findAllPaged(long offset, int size) {
+        return streamAll(0).skip(offset).take(size);
+    }
+
+    @Override
+    public Flux<Task> findAllAfter(long lastId, int size) {
+        return streamAll(lastId).take(size);
+    }
+
+    /**
+     * Walks the ids after the given one, reading each task only when it is requested.
+     */
+    @Override
+    public Flux<Task> streamAll(long lastId) {
+        return Flux.generate(() -> lastId, (last, sink) -> {
+            for (long id = store.nextTaskId(last); id > 0; id = store.nextTaskId(id)) {
+                Task task = store.task(id);
+                if (task != null) {
+                    sink.next(task);
+                    return id;
+                }
+            }
+            sink.complete();
+            return last;
+        });
+    }
+
+    /**
+     * Reads the user's tasks from the id snapshot taken at subscription, skipping tasks that have
+     * been removed or reassigned since.
+     */
+    @Override
+    public Flux<Task> streamByUserId(Long userId) {
+        return Flux.defer(() -> Flux.fromArray(boxed(store.userTaskIds(userId))))
+                .mapNotNull(store::task)
+                .filter(task -> Objects.equals(task.getUserId(), userId));
+    }
+
+    @Override
+    public Mono<List<Task>> findUserTasksPage(Long userId, long lastId, TaskStatus status, int size) {
+        return Mono.fromCallable(() -> store.userTasksPage(userId, lastId, status, size));
+    }
+
+    /**
+     * Reads the first {@code offset + size} matching tasks and skips the offset, so deep offsets get
+     * expensive; prefer {@link #findMatchingAfter(TaskFilter, long, int)}.
+     */
+    @Override
+    public Flux<Task> findMatchingPaged(TaskFilter filter, long offset, int size) {
+        InMemoryStore.requireCriteria(filter);
+        int limit = (int) Math.min(offset + size, Integer.MAX_VALUE);
+        return Mono.fromCallable(() -> store.matchingPage(filter, 0, limit))
+                .flatMapIterable(tasks -> tasks)
+                .skip(offset);
+    }
+
+    @Override
+    public Flux<Task> findMatchingAfter(TaskFilter filter, long lastId, int size) {
+        InMemoryStore.requireCriteria(filter);
+        return Mono.fromCallable(() -> store.matchingPage(filter, lastId, size))
+                .flatMapIterable(tasks -> tasks);
+    }
+
+    @Override
+    public Mono<Task> assignToUser(Long taskId, Long userId) {
+        return Mono.fromCallable(() -> store.userExists(userId)
+                ? store.updateTask(taskId, task -> task.setUserId(userId))
+                : null)
+                .delayUntil(task -> store.sync());
+    }
+
+    @Override
+    public Mono<Task> updateTask(Long id, String title, String description, String status, Long userId,
+                                 Long version) {
+        return Mono.fromCallable(() -> store.updateTask(id, version, task -> {
+            task.setTitle(title);
+            task.setDescription(description);
+            task.setStatus(TaskStatus.valueOf(status));
+            task.setUserId(userId);
+        })).delayUntil(task -> store.sync());
+    }
+
+    @Override
+    public Mono<Task> patchTask(Long id, String title, String description, String status, Long userId,
+                                Long version) {
+        return Mono.fromCallable(() -> store.updateTask(id, version, task -> {
+            if (title != null) {
+                task.setTitle(title);
+            }
+            if (description != null) {
+                task.setDescription(description);
+            }
+            if (status != null) {
+                task.setStatus(TaskStatus.valueOf(status));
+            }
+            if (userId != null) {
+                task.setUserId(userId);
+            }
+        })).delayUntil(task -> store.sync());
+    }
+
+    @Override
+    public Mono<Long> deleteReturningId(Long id) {
+        return Mono.fromCallable(() -> store.removeTask(id))
+                .delayUntil(task -> store.sync())
+                .map(Task::getId);
+    }
+
+    /**
+     * Rejects a filter without criteria when called, like the SQL variant, and selects the tasks on subscription.
+     */
+    @Override
+    public Flux<Long> updateStatus(TaskFilter filter, TaskStatus status) {
+        InMemoryStore.requireCriteria(filter);
+        return Mono.fromCallable(() -> changed(filter, id -> store.updateTask(id, task -> task.setStatus(status))))
+                .delayUntil(ids -> store.sync())
+                .flatMapIterable(ids -> ids);
+    }
+
+    @Override
+    public Flux<Long> deleteMatching(TaskFilter filter) {
+        InMemoryStore.requireCriteria(filter);
+        return Mono.fromCallable(() -> changed(filter, store::removeTask))
+                .delayUntil(ids -> store.sync())
+                .flatMapIterable(ids -> ids);
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Long>> statusCounts() {
+        return Mono.fromCallable(store::statusCounts);
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Long>> statusCounts(Long userId) {
+        return Mono.fromCallable(() -> store.statusCounts(userId));
+    }
+
+    /**
+     * The counts change under the same lock as the tasks they count and cannot drift.
+     */
+    @Override
+    public Mono<Long> reconcileStatusCounts() {
+        return Mono.just(0L);
+    }
+
+    /**
+     * Reads the version index without a snapshot: the watermark is taken before reading, so a change
+     * missed here has a version at or above it and is returned by the next sync.
+     */
+    @Override
+    public Flux<TaskSyncEntry> changesSince(long[] since) {
+        return Flux.defer(() -> {
+            boolean full = since == null || since.length != 1 || since[0] <= store.syncHorizon();
+            long watermark = store.syncWatermark();
+            Flux<TaskSyncEntry> changes = full
+                    ? streamAll(0).map(TaskSyncEntry::changed)
+                    : Flux.concat(Flux.fromIterable(store.changedTaskIds(since[0]))
+                                    .mapNotNull(store::task)
+                                    .map(TaskSyncEntry::changed),
+                            Flux.defer(() -> Flux.fromIterable(store.deletedTaskIds(since[0])))
+                                    .map(TaskSyncEntry::deleted));
+            return Flux.concat(changes, Mono.just(TaskSyncEntry.end(new long[]{watermark}, full)));
+        });
+    }
+
+    @Override
+    public Mono<Long> purgeTombstones(Instant before) {
+        return Mono.fromCallable(() -> store.purgeTombstones(before.toEpochMilli()));
+    }
+
+    private <S extends Task> Mono<S> write(S task) {
+        return Mono.fromCallable(() -> {
+            if (task.getId() == null) {
+                Task inserted = store.insertTask(task);
+                task.setId(inserted.getId());
+                task.setVersion(inserted.getVersion());
+                return task;
+            }
+            Task updated = store.updateTask(task.getId(), task.getVersion(), stored -> {
+                stored.setTitle(task.getTitle());
+                stored.setDescription(task.getDescription());
+                stored.setCreationDate(task.getCreationDate());
+                stored.setStatus(task.getStatus());
+                stored.setUserId(task.getUserId());
+            });
+            if (updated == null) {
+                if (task.getVersion() != null && store.task(task.getId()) != null) {
+                    throw new OptimisticLockingFailureException(
+                            "Failed to update table [tasks]; row with Id [" + task.getId() + "] has changed");
+                }
+                throw new TransientDataAccessResourceException(
+                        "Failed to update table [tasks]; row with Id [" + task.getId() + "] does not exist");
+            }
+            task.setVersion(updated.getVersion());
+            return task;
+        });
+    }
+
+    private List<Long> changed(TaskFilter filter, LongFunction<Task> change) {
+        List<Long> ids = store.matching(filter);
+        List<Long> changed = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (change.apply(id) != null) {
+                changed.add(id);
+            }
+        }
+        return changed;
+    }
+
+    private static Long[] boxed(long[] ids) {
+        Long[] boxed = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            boxed[i] = ids[i];
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,172 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.entity.User;
+import com.recruitment.repository.UserRepository;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+/**
+ * UserRepository over an {@link InMemoryStore}. Deleting a user unassigns its tasks like the
+ * {@code ON DELETE SET NULL} foreign key of the database schema. Writes complete once the store's
+ * journal reports them durable.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final InMemoryStore store;
+
+    public InMemoryUserRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public <S extends User> Mono<S> save(S user) {
+        return Mono.fromCallable(() -> {
+            User stored;
+            if (user.getId() == null) {
+                stored = store.insertUser(user);
+                user.setId(stored.getId());
+            } else if ((stored = store.updateUser(user)) == null) {
+                if (user.getVersion() != null && store.user(user.getId()) != null) {
+                    throw new OptimisticLockingFailureException(
+                            "Failed to update table [users]; row with Id [" + user.getId() + "] has changed");
+                }
+                throw new TransientDataAccessResourceException(
+                        "Failed to update table [users]; row with Id [" + user.getId() + "] does not exist");
+            }
+            user.setVersion(stored.getVersion());
+            return user;
+        }).delayUntil(saved -> store.sync());
+    }
+
+    @Override
+    public <S extends User> Flux<S> saveAll(Iterable<S> users) {
+        return Flux.fromIterable(users).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends User> Flux<S> saveAll(Publisher<S> users) {
+        return Flux.from(users).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return Mono.fromCallable(() -> store.user(id));
+    }
+
+    @Override
+    public Mono<User> findById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return Mono.fromCallable(() -> store.userExists(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<User> findAll() {
+        return after(0);
+    }
+
+    @Override
+    public Flux<User> findAllById(Iterable<Long> ids) {
+        return Flux.fromIterable(ids).mapNotNull(store::user);
+    }
+
+    @Override
+    public Flux<User> findAllById(Publisher<Long> ids) {
+        return Flux.from(ids).mapNotNull(store::user);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromCallable(store::userCount);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return Mono.fromRunnable(() -> store.deleteUser(id)).then(store.sync());
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(User user) {
+        return deleteById(user.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Long> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(store::deleteUser)).then(store.sync());
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends User> users) {
+        return Mono.fromRunnable(() -> users.forEach(user -> store.deleteUser(user.getId()))).then(store.sync());
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends User> users) {
+        return Flux.from(users).doOnNext(user -> store.deleteUser(user.getId())).then(store.sync());
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(store::deleteAllUsers).then(store.sync());
+    }
+
+    @Override
+    public Flux<User> findAllPaged(long offset, int size) {
+        return after(0).skip(offset).take(size);
+    }
+
+    @Override
+    public Flux<User> findAllAfter(long lastId, int size) {
+        return after(lastId).take(size);
+    }
+
+    @Override
+    public Flux<Long> findAllIds() {
+        return Flux.generate(() -> 0L, (last, sink) -> {
+            long id = store.nextUserId(last);
+            if (id > 0) {
+                sink.next(id);
+                return id;
+            }
+            sink.complete();
+            return last;
+        });
+    }
+
+    @Override
+    public Flux<Long> findExistingIds(Long[] ids) {
+        return Flux.defer(() -> Flux.fromStream(Arrays.stream(ids).filter(store::userExists).distinct()));
+    }
+
+    private Flux<User> after(long lastId) {
+        return Flux.generate(() -> lastId, (last, sink) -> {
+            for (long id = store.nextUserId(last); id > 0; id = store.nextUserId(id)) {
+                User user = store.user(id);
+                if (user != null) {
+                    sink.next(user);
+                    return id;
+                }
+            }
+            sink.complete();
+            return last;
+        });
+    }
+}
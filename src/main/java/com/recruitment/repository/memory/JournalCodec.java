@@ -0,0 +1,153 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary encoding of journal and snapshot records. A record payload starts with its type, followed
+ * by the full state of the entity or the id of the removed entity. Fields added later are appended,
+ * so records written before read them as absent.
+ */
+final class JournalCodec {
+
+    static final byte USER_STORED = 1;
+    static final byte USER_REMOVED = 2;
+    static final byte TASK_STORED = 3;
+    static final byte TASK_REMOVED = 4;
+    static final byte SEQUENCES = 5;
+    static final byte SNAPSHOT_END = 6;
+
+    private JournalCodec() {
+    }
+
+    static byte[] userStored(User user) {
+        return encode(USER_STORED, out -> {
+            out.writeLong(user.getId());
+            writeString(out, user.getName());
+            out.writeLong(user.getVersion() == null ? 0 : user.getVersion());
+        });
+    }
+
+    static byte[] taskStored(Task task) {
+        return encode(TASK_STORED, out -> {
+            out.writeLong(task.getId());
+            writeString(out, task.getTitle());
+            writeString(out, task.getDescription());
+            out.writeBoolean(task.getCreationDate() != null);
+            if (task.getCreationDate() != null) {
+                out.writeLong(task.getCreationDate().toEpochDay());
+            }
+            writeString(out, task.getStatus() == null ? null : task.getStatus().name());
+            out.writeBoolean(task.getUserId() != null);
+            if (task.getUserId() != null) {
+                out.writeLong(task.getUserId());
+            }
+            out.writeLong(task.getVersion() == null ? 0 : task.getVersion());
+        });
+    }
+
+    static byte[] removed(byte type, long id) {
+        return encode(type, out -> out.writeLong(id));
+    }
+
+    static byte[] sequences(long userSequence, long taskSequence) {
+        return encode(SEQUENCES, out -> {
+            out.writeLong(userSequence);
+            out.writeLong(taskSequence);
+        });
+    }
+
+    static byte[] snapshotEnd() {
+        return encode(SNAPSHOT_END, out -> {
+        });
+    }
+
+    /**
+     * Applies a record to the store.
+     *
+     * @return the record type
+     * @throws IllegalStateException if the record type is unknown
+     */
+    static byte apply(byte[] payload, InMemoryStore store) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte type = in.readByte();
+            switch (type) {
+                case USER_STORED -> {
+                    User user = new User();
+                    user.setId(in.readLong());
+                    user.setName(readString(in));
+                    user.setVersion(readVersion(in));
+                    store.restoreUser(user);
+                }
+                case USER_REMOVED -> store.restoreUserRemoval(in.readLong());
+                case TASK_STORED -> {
+                    Task task = new Task();
+                    task.setId(in.readLong());
+                    task.setTitle(readString(in));
+                    task.setDescription(readString(in));
+                    task.setCreationDate(in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null);
+                    String status = readString(in);
+                    task.setStatus(status == null ? null : TaskStatus.valueOf(status));
+                    task.setUserId(in.readBoolean() ? in.readLong() : null);
+                    task.setVersion(readVersion(in));
+                    store.restoreTask(task);
+                }
+                case TASK_REMOVED -> store.restoreTaskRemoval(in.readLong());
+                case SEQUENCES -> store.restoreSequences(in.readLong(), in.readLong());
+                case SNAPSHOT_END -> {
+                }
+                default -> throw new IllegalStateException("Unknown journal record type " + type);
+            }
+            return type;
+        } catch (IOException e) {
+            throw new IllegalStateException("Truncated journal record", e);
+        }
+    }
+
+    static int checksum(byte[] payload, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(byte type, Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static long readVersion(DataInputStream in) throws IOException {
+        return in.available() > 0 ? in.readLong() : 0;
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
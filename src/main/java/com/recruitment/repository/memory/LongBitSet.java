@@ -0,0 +1,164 @@
+package com.recruitment.repository.memory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Concurrent, growable set of non-negative long values stored as a bitmap, iterable in ascending order.
+ * Used as an ordered index of dense ids: membership changes are lock-free compare-and-set operations
+ * that only exclude a concurrent growth of the bitmap, and reads never lock.
+ */
+public class LongBitSet {
+
+    private final ReentrantReadWriteLock growth = new ReentrantReadWriteLock();
+    private final AtomicLong cardinality = new AtomicLong();
+    private volatile AtomicLongArray words = new AtomicLongArray(64);
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value, not negative
+     * @return true if the value was not in the set yet
+     */
+    public boolean set(long value) {
+        int word = wordIndex(value);
+        long bit = 1L << value;
+        while (true) {
+            growth.readLock().lock();
+            try {
+                AtomicLongArray current = words;
+                if (word < current.length()) {
+                    long previous = current.getAndAccumulate(word, bit, (existing, mask) -> existing | mask);
+                    if ((previous & bit) != 0) {
+                        return false;
+                    }
+                    cardinality.incrementAndGet();
+                    return true;
+                }
+            } finally {
+                growth.readLock().unlock();
+            }
+            grow(word);
+        }
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value the value
+     * @return true if the value was in the set
+     */
+    public boolean clear(long value) {
+        if (value < 0) {
+            return false;
+        }
+        int word = wordIndex(value);
+        long bit = 1L << value;
+        growth.readLock().lock();
+        try {
+            AtomicLongArray current = words;
+            if (word >= current.length()) {
+                return false;
+            }
+            long previous = current.getAndAccumulate(word, ~bit, (existing, mask) -> existing & mask);
+            if ((previous & bit) == 0) {
+                return false;
+            }
+            cardinality.decrementAndGet();
+            return true;
+        } finally {
+            growth.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the value is in the set.
+     *
+     * @param value the value
+     * @return true if the value is in the set
+     */
+    public boolean contains(long value) {
+        if (value < 0) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int word = wordIndex(value);
+        return word < current.length() && (current.get(word) & (1L << value)) != 0;
+    }
+
+    /**
+     * Returns the smallest value in the set that is greater than or equal to {@code from}.
+     *
+     * @param from the lower bound
+     * @return the value, or -1 if there is none
+     */
+    public long next(long from) {
+        long start = Math.max(from, 0);
+        AtomicLongArray current = words;
+        int word = wordIndex(start);
+        if (word >= current.length()) {
+            return -1;
+        }
+        long bits = current.get(word) & (-1L << start);
+        while (true) {
+            if (bits != 0) {
+                return (long) word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == current.length()) {
+                return -1;
+            }
+            bits = current.get(word);
+        }
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the cardinality
+     */
+    public long size() {
+        return cardinality.get();
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        growth.writeLock().lock();
+        try {
+            words = new AtomicLongArray(64);
+            cardinality.set(0);
+        } finally {
+            growth.writeLock().unlock();
+        }
+    }
+
+    private void grow(int word) {
+        growth.writeLock().lock();
+        try {
+            AtomicLongArray current = words;
+            if (word < current.length()) {
+                return;
+            }
+            int length = current.length();
+            while (length <= word) {
+                length = length > (1 << 29) ? Integer.MAX_VALUE - 8 : length * 2;
+            }
+            AtomicLongArray grown = new AtomicLongArray(length);
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            words = grown;
+        } finally {
+            growth.writeLock().unlock();
+        }
+    }
+
+    private static int wordIndex(long value) {
+        if (value < 0 || (value >>> 6) >= Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Value out of range: " + value);
+        }
+        return (int) (value >>> 6);
+    }
+}
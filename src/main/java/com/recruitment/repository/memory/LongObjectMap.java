@@ -0,0 +1,272 @@
+package com.recruitment.repository.memory;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent map from positive long keys to objects, without boxing the keys. Keys are spread over
+ * lock-striped segments, each an open-addressing table of primitive longs with linear probing.
+ * Writes lock one segment; reads are optimistic and only take the segment's read lock when they
+ * raced with a write.
+ *
+ * @param <V> the value type
+ */
+public class LongObjectMap<V> {
+
+    private static final long EMPTY = 0L;
+
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Creates a map.
+     *
+     * @param expectedSize the expected number of entries
+     * @param concurrency  the expected number of concurrent writers, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public LongObjectMap(int expectedSize, int concurrency) {
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 1 << 16) * 2 - 1));
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(Math.max(1, expectedSize / segmentCount));
+        }
+    }
+
+    /**
+     * Returns the value of the key.
+     *
+     * @param key the key
+     * @return the value, or null if absent
+     */
+    public V get(long key) {
+        if (key <= EMPTY) {
+            return null;
+        }
+        long hash = mix(key);
+        return segment(hash).get(key, hash);
+    }
+
+    /**
+     * Stores the value of the key.
+     *
+     * @param key   the key, must be positive
+     * @param value the value, not null
+     * @return the previous value, or null if absent
+     */
+    public V put(long key, V value) {
+        requirePositive(key);
+        long hash = mix(key);
+        return segment(hash).compute(key, hash, previous -> value);
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key the key
+     * @return the removed value, or null if absent
+     */
+    public V remove(long key) {
+        if (key <= EMPTY) {
+            return null;
+        }
+        long hash = mix(key);
+        return segment(hash).compute(key, hash, previous -> null);
+    }
+
+    /**
+     * Replaces the value of the key atomically with respect to other writes of the key.
+     * The function receives null when the key is absent; returning null removes the key.
+     *
+     * @param key       the key, must be positive
+     * @param remapping computes the new value from the current one
+     * @return the previous value, or null if absent
+     */
+    public V compute(long key, UnaryOperator<V> remapping) {
+        requirePositive(key);
+        long hash = mix(key);
+        return segment(hash).compute(key, hash, remapping);
+    }
+
+    /**
+     * Returns the number of entries. Concurrent writes may or may not be counted.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment<V> segment(long hash) {
+        return segments[segmentShift == 64 ? 0 : (int) (hash >>> segmentShift)];
+    }
+
+    private static void requirePositive(long key) {
+        if (key <= EMPTY) {
+            throw new IllegalArgumentException("Only positive keys are supported: " + key);
+        }
+    }
+
+    private static long mix(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        return z ^ (z >>> 29);
+    }
+
+    private static final class Segment<V> {
+
+        private final StampedLock lock = new StampedLock();
+        private final int initialCapacity;
+        private long[] keys;
+        private Object[] values;
+        private volatile int size;
+
+        private Segment(int expectedSize) {
+            this.initialCapacity = capacityFor(expectedSize);
+            this.keys = new long[initialCapacity];
+            this.values = new Object[initialCapacity];
+        }
+
+        private V get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            long[] currentKeys = keys;
+            Object[] currentValues = values;
+            if (currentKeys.length == currentValues.length) {
+                V value = find(currentKeys, currentValues, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(keys, values, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private V compute(long key, long hash, UnaryOperator<V> remapping) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slotOf(key, hash);
+                @SuppressWarnings("unchecked")
+                V previous = keys[slot] == key ? (V) values[slot] : null;
+                V value = remapping.apply(previous);
+                if (value != null) {
+                    if (previous == null) {
+                        if ((size + 1) * 2 > keys.length) {
+                            resize(keys.length * 2);
+                            slot = slotOf(key, hash);
+                        }
+                        keys[slot] = key;
+                        size = size + 1;
+                    }
+                    values[slot] = value;
+                } else if (previous != null) {
+                    delete(slot);
+                    size = size - 1;
+                }
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Returns the slot holding the key, or the free slot where it would be inserted.
+         */
+        private int slotOf(long key, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void clear() {
+            long stamp = lock.writeLock();
+            try {
+                keys = new long[initialCapacity];
+                values = new Object[initialCapacity];
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Backward-shift deletion, keeping every remaining key reachable from its home slot.
+         */
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            int free = slot;
+            int next = (free + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = (int) mix(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    keys[free] = keys[next];
+                    values[free] = values[next];
+                    free = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[free] = EMPTY;
+            values[free] = null;
+        }
+
+        private void resize(int capacity) {
+            long[] newKeys = new long[capacity];
+            Object[] newValues = new Object[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    int slot = (int) mix(keys[i]) & mask;
+                    while (newKeys[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    newKeys[slot] = keys[i];
+                    newValues[slot] = values[i];
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V find(long[] keys, Object[] values, long key, long hash) {
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask, probes = 0; probes < keys.length; slot = (slot + 1) & mask, probes++) {
+                long existing = keys[slot];
+                if (existing == key) {
+                    return (V) values[slot];
+                }
+                if (existing == EMPTY) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private static int capacityFor(int expectedSize) {
+            int capacity = 8;
+            while (capacity < expectedSize * 2) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+    }
+}
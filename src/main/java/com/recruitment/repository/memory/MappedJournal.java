@@ -0,0 +1,595 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * StoreJournal appending records to memory-mapped files in a directory, for an embedded store that
+ * survives restarts without a database.
+ *
+ * <p>Records are copied into the mapped region of the current journal file under a short lock.
+ * A single flusher thread makes them durable with group commit: every {@link #sync()} waiting when a
+ * flush starts is completed by that one {@code force}, and syncs arriving during the flush are served
+ * by the next one. Each record is framed by its length and a CRC32C checksum, so a torn write at the
+ * end of the journal is detected and discarded on recovery.
+ *
+ * <p>Once the current journal grows past the compaction threshold, a background thread starts a new
+ * journal generation, writes a snapshot of the store next to it and deletes the older files. The
+ * snapshot is taken while writes continue, so it may already contain changes of the new journal;
+ * records carry the full entity state, so replaying them over the snapshot yields the same result.
+ * Recovery loads the newest snapshot and replays the journals of its generation and later.
+ *
+ * <p>Files: {@code journal-<generation>.log} starting with a header that records the region size,
+ * and {@code snapshot-<generation>.snap}, written to a temporary file and renamed atomically.
+ */
+@Slf4j
+public class MappedJournal implements StoreJournal, Closeable {
+
+    private static final int JOURNAL_MAGIC = 0x544A524E;
+    private static final int SNAPSHOT_MAGIC = 0x54534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int FRAME_BYTES = 8;
+    private static final int REGION_END = -1;
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int regionSize;
+    private final long compactionThreshold;
+    private final Duration commitDelay;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private long generation;
+    private FileChannel channel;
+    private int fileRegionSize;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private int regionDirtyFrom;
+    private volatile long journalSize;
+    private volatile long appendedLsn;
+    private volatile long durableLsn;
+    private volatile IOException failure;
+
+    private final Object flushMonitor = new Object();
+    private CompletableFuture<Void> pendingFlush = new CompletableFuture<>();
+    private boolean flushRequested;
+    private boolean closed;
+    private final Thread flusher;
+
+    private final ExecutorService compactor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private volatile InMemoryStore store;
+
+    /**
+     * Opens the journal directory, creating it if needed. Nothing is read or written before
+     * {@link #replay(InMemoryStore)}.
+     *
+     * @param directory           the directory holding the journal and snapshot files
+     * @param regionSize          the size of the mapped regions of new journal files
+     * @param compactionThreshold the journal size in bytes after which the journal is compacted
+     * @param commitDelay         how long the flusher waits for more records before each flush
+     * @throws IOException if the directory cannot be created
+     */
+    public MappedJournal(Path directory, int regionSize, long compactionThreshold, Duration commitDelay)
+            throws IOException {
+        if (regionSize < HEADER_BYTES + FRAME_BYTES + 1024) {
+            throw new IllegalArgumentException("Journal region size must be at least 1 KB");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.regionSize = regionSize;
+        this.compactionThreshold = compactionThreshold;
+        this.commitDelay = commitDelay;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public void userStored(User user) {
+        append(JournalCodec.userStored(user));
+    }
+
+    @Override
+    public void userRemoved(long id) {
+        append(JournalCodec.removed(JournalCodec.USER_REMOVED, id));
+    }
+
+    @Override
+    public void taskStored(Task task) {
+        append(JournalCodec.taskStored(task));
+    }
+
+    @Override
+    public void taskRemoved(long id) {
+        append(JournalCodec.removed(JournalCodec.TASK_REMOVED, id));
+    }
+
+    /**
+     * Completes on a Reactor thread rather than the flusher, so callers cannot delay the next flush.
+     */
+    @Override
+    public Mono<Void> sync() {
+        return Mono.defer(() -> {
+            if (durableLsn >= appendedLsn) {
+                return Mono.empty();
+            }
+            CompletableFuture<Void> flush;
+            synchronized (flushMonitor) {
+                if (closed) {
+                    return Mono.error(new IllegalStateException("Journal is closed"));
+                }
+                flushRequested = true;
+                flush = pendingFlush;
+                flushMonitor.notifyAll();
+            }
+            // A copy, so a cancelled subscriber does not cancel the flush shared with others.
+            return Mono.fromFuture(flush.copy()).publishOn(Schedulers.parallel());
+        });
+    }
+
+    /**
+     * Loads the newest snapshot and replays the journals written after it, then continues appending
+     * to the newest journal after its last intact record.
+     *
+     * @throws UncheckedIOException if the files cannot be read
+     */
+    @Override
+    public void replay(InMemoryStore store) {
+        appendLock.lock();
+        try {
+            if (this.store != null) {
+                throw new IllegalStateException("Journal has already been replayed");
+            }
+            long snapshot = newest(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (snapshot >= 0) {
+                readSnapshot(snapshotPath(snapshot), store);
+            }
+            long last = -1;
+            long end = 0;
+            for (long journal : generations(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+                if (journal >= snapshot) {
+                    end = replayJournal(journalPath(journal), store);
+                    last = journal;
+                }
+            }
+            long current = Math.max(Math.max(snapshot, last), 0);
+            openJournal(current, current == last ? end : 0);
+            deleteBefore(Math.max(snapshot, 0));
+            this.store = store;
+            log.info("Recovered {} users and {} tasks from {}", store.userCount(), store.taskCount(), directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover journal from " + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes outstanding records and closes the journal; later writes fail.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (flushMonitor) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushMonitor.notifyAll();
+        }
+        try {
+            flusher.join();
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            if (channel != null) {
+                forceDirty();
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        synchronized (flushMonitor) {
+            pendingFlush.complete(null);
+        }
+    }
+
+    /**
+     * Starts a new journal generation, snapshots the store and deletes the files the snapshot replaces.
+     *
+     * @throws IOException if a file cannot be written
+     */
+    void compact() throws IOException {
+        InMemoryStore current = store;
+        if (current == null) {
+            return;
+        }
+        long next;
+        appendLock.lock();
+        try {
+            requireWritable();
+            next = generation + 1;
+            forceDirty();
+            channel.close();
+            openJournal(next, 0);
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException io ? io : new IOException(e);
+            throw e;
+        } finally {
+            appendLock.unlock();
+        }
+        writeSnapshot(next, current);
+        deleteBefore(next);
+        log.info("Compacted journal in {} to generation {}", directory, next);
+    }
+
+    private void append(byte[] payload) {
+        appendLock.lock();
+        try {
+            requireWritable();
+            int size = FRAME_BYTES + payload.length;
+            if (size + Integer.BYTES > fileRegionSize - HEADER_BYTES) {
+                throw new IllegalArgumentException("Journal record of " + size + " bytes exceeds the region size");
+            }
+            if (region.remaining() < size + Integer.BYTES) {
+                nextRegion();
+            }
+            region.putInt(payload.length);
+            region.putInt(JournalCodec.checksum(payload, payload.length));
+            region.put(payload);
+            journalSize = regionStart + region.position();
+            appendedLsn += size;
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException("Failed to append to journal in " + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void requireWritable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Journal failed earlier", failure);
+        }
+        if (channel == null) {
+            throw new IllegalStateException(store == null ? "Journal has not been replayed" : "Journal is closed");
+        }
+    }
+
+    private void nextRegion() throws IOException {
+        region.putInt(REGION_END);
+        forceDirty();
+        regionStart += fileRegionSize;
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, fileRegionSize);
+        regionDirtyFrom = 0;
+    }
+
+    private void forceDirty() {
+        int position = region.position();
+        if (position > regionDirtyFrom) {
+            region.force(regionDirtyFrom, position - regionDirtyFrom);
+            regionDirtyFrom = position;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            CompletableFuture<Void> batch;
+            synchronized (flushMonitor) {
+                while (!flushRequested && !closed) {
+                    try {
+                        flushMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (!flushRequested) {
+                    return;
+                }
+            }
+            if (!commitDelay.isZero()) {
+                try {
+                    Thread.sleep(commitDelay.toMillis(), commitDelay.toNanosPart() % 1_000_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            synchronized (flushMonitor) {
+                flushRequested = false;
+                batch = pendingFlush;
+                pendingFlush = new CompletableFuture<>();
+            }
+            try {
+                flush();
+                batch.complete(null);
+            } catch (RuntimeException e) {
+                failure = new IOException("Failed to flush journal in " + directory, e);
+                batch.completeExceptionally(failure);
+            }
+            if (journalSize >= compactionThreshold && store != null && compacting.compareAndSet(false, true)) {
+                compactor.execute(() -> {
+                    try {
+                        compact();
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Journal compaction in {} failed", directory, e);
+                    } finally {
+                        compacting.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Forces the records appended since the last flush, outside the append lock so appends continue
+     * during the flush. A region or generation switch forces its own remainder.
+     */
+    private void flush() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        long lsn;
+        appendLock.lock();
+        try {
+            if (region == null) {
+                return;
+            }
+            target = region;
+            from = regionDirtyFrom;
+            to = region.position();
+            lsn = appendedLsn;
+            regionDirtyFrom = to;
+        } finally {
+            appendLock.unlock();
+        }
+        if (to > from) {
+            target.force(from, to - from);
+        }
+        durableLsn = lsn;
+    }
+
+    private void openJournal(long generation, long end) throws IOException {
+        Path path = journalPath(generation);
+        boolean created = !Files.exists(path);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.generation = generation;
+        if (end == 0) {
+            fileRegionSize = regionSize;
+            channel.truncate(0);
+            regionStart = 0;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileRegionSize);
+            region.putInt(JOURNAL_MAGIC).putInt(VERSION).putInt(fileRegionSize).putInt(0);
+        } else {
+            fileRegionSize = readRegionSize(channel);
+            regionStart = end / fileRegionSize * fileRegionSize;
+            channel.truncate(regionStart + fileRegionSize);
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, fileRegionSize);
+            region.position((int) (end - regionStart));
+            // Clear a torn record after the recovered end so it cannot resurface behind new records.
+            for (int i = region.position(); i < fileRegionSize; i++) {
+                region.put(i, (byte) 0);
+            }
+            region.force();
+        }
+        regionDirtyFrom = 0;
+        forceDirty();
+        journalSize = regionStart + region.position();
+        if (created) {
+            forceDirectory();
+        }
+    }
+
+    /**
+     * Applies the intact records of a journal file to the store.
+     *
+     * @return the offset after the last intact record
+     */
+    private long replayJournal(Path path, InMemoryStore store) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = file.size();
+            if (size < HEADER_BYTES || readMagic(file) == 0) {
+                return 0;
+            }
+            int fileRegion = readRegionSize(file);
+            long start = 0;
+            while (start < size) {
+                MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(fileRegion, size - start));
+                if (start == 0) {
+                    buffer.position(HEADER_BYTES);
+                }
+                while (buffer.remaining() >= Integer.BYTES) {
+                    int recordStart = buffer.position();
+                    int length = buffer.getInt();
+                    if (length == REGION_END) {
+                        break;
+                    }
+                    if (length == 0) {
+                        return start + recordStart;
+                    }
+                    if (length < 0 || length > buffer.remaining() - Integer.BYTES) {
+                        log.warn("Discarding torn journal record at offset {} of {}", start + recordStart, path);
+                        return start + recordStart;
+                    }
+                    int checksum = buffer.getInt();
+                    byte[] payload = new byte[length];
+                    buffer.get(payload);
+                    if (JournalCodec.checksum(payload, length) != checksum) {
+                        log.warn("Discarding corrupt journal record at offset {} of {}", start + recordStart, path);
+                        return start + recordStart;
+                    }
+                    JournalCodec.apply(payload, store);
+                }
+                start += fileRegion;
+            }
+            return start;
+        }
+    }
+
+    private void writeSnapshot(long generation, InMemoryStore store) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX + TEMP_SUFFIX);
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(file),
+                    1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(VERSION);
+            writeFrame(out, JournalCodec.sequences(store.userSequence(), store.taskSequence()));
+            for (long id = store.nextUserId(0); id > 0; id = store.nextUserId(id)) {
+                User user = store.user(id);
+                if (user != null) {
+                    writeFrame(out, JournalCodec.userStored(user));
+                }
+            }
+            for (long id = store.nextTaskId(0); id > 0; id = store.nextTaskId(id)) {
+                Task task = store.task(id);
+                if (task != null) {
+                    writeFrame(out, JournalCodec.taskStored(task));
+                }
+            }
+            writeFrame(out, JournalCodec.snapshotEnd());
+            out.flush();
+            file.force(true);
+        }
+        Files.move(temp, snapshotPath(generation), StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+    }
+
+    private void readSnapshot(Path path, InMemoryStore store) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            while (true) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (JournalCodec.checksum(payload, length) != checksum) {
+                    throw new IOException("Corrupt record in snapshot " + path);
+                }
+                if (JournalCodec.apply(payload, store) == JournalCodec.SNAPSHOT_END) {
+                    return;
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated snapshot " + path, e);
+        }
+    }
+
+    private static void writeFrame(DataOutputStream out, byte[] payload) throws IOException {
+        out.writeInt(payload.length);
+        out.writeInt(JournalCodec.checksum(payload, payload.length));
+        out.write(payload);
+    }
+
+    private static int readMagic(FileChannel file) throws IOException {
+        return file.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).getInt(0);
+    }
+
+    private static int readRegionSize(FileChannel file) throws IOException {
+        MappedByteBuffer header = file.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getInt(0) != JOURNAL_MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a journal file");
+        }
+        return header.getInt(8);
+    }
+
+    private void deleteBefore(long generation) throws IOException {
+        for (long journal : generations(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+            if (journal < generation) {
+                Files.deleteIfExists(journalPath(journal));
+            }
+        }
+        for (long snapshot : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (snapshot < generation) {
+                Files.deleteIfExists(snapshotPath(snapshot));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path temp : files.filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX)).toList()) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private long newest(String prefix, String suffix) throws IOException {
+        List<Long> generations = generations(prefix, suffix);
+        return generations.isEmpty() ? -1 : generations.get(generations.size() - 1);
+    }
+
+    /**
+     * Returns the generations of the files with the prefix and suffix in ascending order.
+     */
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> name.substring(prefix.length(), name.length() - suffix.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path journalPath(long generation) {
+        return directory.resolve(JOURNAL_PREFIX + generation + JOURNAL_SUFFIX);
+    }
+
+    private Path snapshotPath(long generation) {
+        return directory.resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX);
+    }
+
+    private void forceDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not every platform can sync a directory.
+        }
+    }
+}
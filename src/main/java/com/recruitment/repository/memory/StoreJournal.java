@@ -0,0 +1,66 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import reactor.core.publisher.Mono;
+
+/**
+ * Receives every change of an {@link InMemoryStore} so it can be made durable. The store calls the
+ * record methods before applying a change, while holding the lock of the changed entity, so records
+ * of one entity are written in the order the changes are applied. Records carry the full new state
+ * of an entity, so replaying a record more than once is harmless.
+ */
+public interface StoreJournal {
+
+    /**
+     * Journal that records nothing, for a purely in-memory store.
+     */
+    StoreJournal NONE = new StoreJournal() {
+        @Override
+        public void userStored(User user) {
+        }
+
+        @Override
+        public void userRemoved(long id) {
+        }
+
+        @Override
+        public void taskStored(Task task) {
+        }
+
+        @Override
+        public void taskRemoved(long id) {
+        }
+
+        @Override
+        public Mono<Void> sync() {
+            return Mono.empty();
+        }
+
+        @Override
+        public void replay(InMemoryStore store) {
+        }
+    };
+
+    void userStored(User user);
+
+    void userRemoved(long id);
+
+    void taskStored(Task task);
+
+    void taskRemoved(long id);
+
+    /**
+     * Waits for the records written so far to become durable.
+     *
+     * @return a Mono completing once every record written before subscription is durable
+     */
+    Mono<Void> sync();
+
+    /**
+     * Restores the journaled state into an empty store and starts recording its changes.
+     *
+     * @param store the store
+     */
+    void replay(InMemoryStore store);
+}
@@ -0,0 +1,26 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.entity.Task;
+
+/**
+ * Notified of every task change an {@link InMemoryStore} applies, after it was applied and while
+ * the lock of the task is held, so changes of one task arrive in order. Changes restored from a
+ * journal are not passed on. Implementations must not block, modify or keep the tasks.
+ */
+@FunctionalInterface
+public interface TaskChangeListener {
+
+    /**
+     * Listener that ignores all changes.
+     */
+    TaskChangeListener NONE = (previous, current) -> {
+    };
+
+    /**
+     * Called after a task was created, updated or deleted.
+     *
+     * @param previous the task before the change, null if it was created
+     * @param current  the task after the change, null if it was deleted
+     */
+    void taskChanged(Task previous, Task current);
+}
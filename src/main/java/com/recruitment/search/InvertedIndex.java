@@ -0,0 +1,389 @@
+package com.recruitment.search;
+
+import com.recruitment.cache.LongHashSet;
+import com.recruitment.repository.memory.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index from the words of task titles and descriptions to task ids.
+ * Every word has a {@link PostingList} per field, found through a sorted dictionary so that query
+ * words can be expanded to all indexed words they are a prefix of. A forward index keeps the words of
+ * every task as an array of term numbers, so re-indexing a task only touches the postings of the
+ * words that changed. Changes of one task are serialised on one of a fixed number of lock stripes.
+ *
+ * <p>A query matches the tasks containing every query word, either exactly or as a prefix of a
+ * word, in the title or in the description. The query word with the fewest postings drives the
+ * search and the others are joined by skipping in their postings, so the cost follows the most
+ * selective word. Every query word contributes its best match to the score: the inverse document
+ * frequency of the query word, weighted by the field and by whether the match is exact. Postings
+ * are walked from the newest task down, which breaks ties in favour of newer tasks and lets the
+ * search stop as soon as the results are all scored as high as any remaining task could be, so
+ * a query for a frequent word does not read all of its postings.
+ */
+public class InvertedIndex {
+
+    static final int TITLE = 0;
+    static final int DESCRIPTION = 1;
+
+    private static final double[] FIELD_WEIGHTS = {2.0, 1.0};
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int STRIPES = 64;
+    private static final int[] NO_ENTRIES = new int[0];
+    private static final long[] NO_IDS = new long[0];
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparingLong(Hit::id);
+
+    private final ConcurrentHashMap<String, Term> terms = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Term> sortedTerms = new ConcurrentSkipListMap<>();
+    private final LongObjectMap<int[]> documents;
+    private final Object[] stripes = new Object[STRIPES];
+    private final int maxExpansions;
+    private volatile Term[] termsById = new Term[1024];
+    private int termCount;
+    private volatile LongHashSet removedWhileLoading;
+
+    /**
+     * Creates an index.
+     *
+     * @param expectedSize  the expected number of tasks
+     * @param maxExpansions the maximum number of indexed words a query word is expanded to as a prefix
+     */
+    public InvertedIndex(int expectedSize, int maxExpansions) {
+        this.documents = new LongObjectMap<>(expectedSize, STRIPES);
+        this.maxExpansions = maxExpansions;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Indexes a task, replacing what was indexed for it before.
+     *
+     * @param id          the task id
+     * @param title       the title, may be null
+     * @param description the description, may be null
+     */
+    public void index(long id, String title, String description) {
+        int[] entries = entries(title, description);
+        synchronized (stripe(id)) {
+            replace(id, entries);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id the task id
+     */
+    public void remove(long id) {
+        LongHashSet removed = removedWhileLoading;
+        if (removed != null) {
+            removed.add(id);
+        }
+        synchronized (stripe(id)) {
+            replace(id, NO_ENTRIES);
+        }
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query the query words
+     * @param limit the maximum number of results
+     * @return the ids of the best matching tasks, best first; ties are broken by the newer task
+     */
+    public long[] search(String query, int limit) {
+        List<String> words = Tokenizer.tokens(query);
+        if (words.isEmpty() || limit <= 0) {
+            return NO_IDS;
+        }
+        double documentCount = Math.max(1, documents.size());
+        List<Clause> clauses = new ArrayList<>(words.size());
+        for (String word : words) {
+            Clause clause = clause(word, documentCount);
+            if (clause.cost == 0) {
+                return NO_IDS;
+            }
+            clauses.add(clause);
+        }
+        clauses.sort(Comparator.comparingLong(clause -> clause.cost));
+
+        double maxScore = 0;
+        for (Clause clause : clauses) {
+            maxScore += clause.maxWeight;
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        Clause lead = clauses.get(0);
+        long candidate = lead.floor(PostingList.END);
+        while (candidate != PostingList.NONE) {
+            long next = candidate - 1;
+            boolean matchesAll = true;
+            for (int i = 1; i < clauses.size() && matchesAll; i++) {
+                long found = clauses.get(i).floor(candidate);
+                if (found != candidate) {
+                    next = found;
+                    matchesAll = false;
+                }
+            }
+            if (matchesAll) {
+                collect(top, candidate, clauses, limit);
+                if (top.size() == limit && top.peek().score() >= maxScore) {
+                    break;
+                }
+            }
+            if (next == PostingList.NONE) {
+                break;
+            }
+            candidate = lead.floor(next);
+        }
+
+        long[] ids = new long[top.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = top.poll().id();
+        }
+        return ids;
+    }
+
+    /**
+     * Starts loading existing tasks with {@link #load(Document)}; removals are remembered until
+     * {@link #endLoad()} so that a task deleted after it was scanned is not loaded.
+     */
+    void beginLoad() {
+        removedWhileLoading = new LongHashSet(1024);
+    }
+
+    void endLoad() {
+        removedWhileLoading = null;
+    }
+
+    /**
+     * Splits a task into the term entries to index. Thread-safe, so tasks can be analysed in parallel.
+     */
+    Document analyze(long id, String title, String description) {
+        return new Document(id, entries(title, description));
+    }
+
+    /**
+     * Indexes a scanned task unless it was indexed or removed since the scan started, in which case
+     * the scanned state is older than the indexed one.
+     */
+    void load(Document document) {
+        long id = document.id();
+        synchronized (stripe(id)) {
+            LongHashSet removed = removedWhileLoading;
+            if (documents.get(id) == null && (removed == null || !removed.contains(id))) {
+                replace(id, document.entries());
+            }
+        }
+    }
+
+    private void replace(long id, int[] entries) {
+        int[] previous = documents.get(id);
+        if (previous == null) {
+            previous = NO_ENTRIES;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < previous.length || j < entries.length) {
+            if (j == entries.length || (i < previous.length && previous[i] < entries[j])) {
+                postings(previous[i++]).remove(id);
+            } else if (i == previous.length || entries[j] < previous[i]) {
+                postings(entries[j++]).add(id);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        if (entries.length == 0) {
+            documents.remove(id);
+        } else {
+            documents.put(id, entries);
+        }
+    }
+
+    /**
+     * Returns the sorted, distinct entries of a task: the term number shifted left by one, with the
+     * field in the lowest bit.
+     */
+    private int[] entries(String title, String description) {
+        List<String> titleWords = Tokenizer.tokens(title);
+        List<String> descriptionWords = Tokenizer.tokens(description);
+        int[] entries = new int[titleWords.size() + descriptionWords.size()];
+        int count = 0;
+        for (String word : titleWords) {
+            entries[count++] = term(word).id << 1 | TITLE;
+        }
+        for (String word : descriptionWords) {
+            entries[count++] = term(word).id << 1 | DESCRIPTION;
+        }
+        Arrays.sort(entries);
+        return entries;
+    }
+
+    private Clause clause(String word, double documentCount) {
+        Clause clause = new Clause();
+        int expansions = 0;
+        for (Term term : sortedTerms.tailMap(word).values()) {
+            if (expansions == maxExpansions || !term.word.startsWith(word)) {
+                break;
+            }
+            double matchWeight = term.word.length() == word.length() ? 1.0 : PREFIX_WEIGHT;
+            boolean matched = false;
+            for (int field = TITLE; field <= DESCRIPTION; field++) {
+                PostingList.Cursor cursor = term.postings[field].cursor();
+                if (cursor.cardinality() > 0) {
+                    clause.add(cursor, matchWeight * FIELD_WEIGHTS[field]);
+                    matched = true;
+                }
+            }
+            if (matched) {
+                expansions++;
+            }
+        }
+        clause.weigh(Math.log(1 + documentCount / Math.max(1, clause.cost)));
+        return clause;
+    }
+
+    private static void collect(PriorityQueue<Hit> top, long id, List<Clause> clauses, int limit) {
+        double score = 0;
+        for (Clause clause : clauses) {
+            score += clause.score(id);
+        }
+        Hit hit = new Hit(id, score);
+        if (top.size() < limit) {
+            top.add(hit);
+        } else if (WORST_FIRST.compare(hit, top.peek()) > 0) {
+            top.poll();
+            top.add(hit);
+        }
+    }
+
+    private PostingList postings(int entry) {
+        return termsById[entry >>> 1].postings[entry & 1];
+    }
+
+    private Term term(String word) {
+        Term term = terms.get(word);
+        return term != null ? term : newTerm(word);
+    }
+
+    private synchronized Term newTerm(String word) {
+        Term term = terms.get(word);
+        if (term == null) {
+            Term[] byId = termsById;
+            if (termCount == byId.length) {
+                byId = Arrays.copyOf(byId, termCount * 2);
+            }
+            term = new Term(word, termCount);
+            byId[termCount++] = term;
+            termsById = byId;
+            terms.put(word, term);
+            sortedTerms.put(word, term);
+        }
+        return term;
+    }
+
+    private Object stripe(long id) {
+        return stripes[(int) (id & (STRIPES - 1))];
+    }
+
+    /**
+     * The analysed form of a scanned task.
+     */
+    record Document(long id, int[] entries) {
+    }
+
+    private record Hit(long id, double score) {
+    }
+
+    private static final class Term {
+
+        private final String word;
+        private final int id;
+        private final PostingList[] postings = {new PostingList(), new PostingList()};
+
+        private Term(String word, int id) {
+            this.word = word;
+            this.id = id;
+        }
+    }
+
+    /**
+     * The postings of all indexed words matching one query word, as a union. Remembers where every
+     * cursor was last found, {@link PostingList#END} before the first lookup, which stays valid for
+     * lower targets down to that id.
+     */
+    private static final class Clause {
+
+        private final List<PostingList.Cursor> cursors = new ArrayList<>();
+        private double[] weights = new double[4];
+        private long[] positions = new long[4];
+        private double maxWeight;
+        private long cost;
+
+        void add(PostingList.Cursor cursor, double weight) {
+            int i = cursors.size();
+            if (i == weights.length) {
+                weights = Arrays.copyOf(weights, i * 2);
+                positions = Arrays.copyOf(positions, i * 2);
+            }
+            weights[i] = weight;
+            positions[i] = PostingList.END;
+            cursors.add(cursor);
+            cost += cursor.cardinality();
+        }
+
+        /**
+         * Scales the weights by the inverse document frequency of the query word.
+         */
+        void weigh(double idf) {
+            for (int i = 0; i < cursors.size(); i++) {
+                weights[i] *= idf;
+                maxWeight = Math.max(maxWeight, weights[i]);
+            }
+        }
+
+        /**
+         * Returns the largest id at or below the target in any of the postings, or {@link PostingList#NONE}.
+         * Targets must not increase between calls.
+         */
+        long floor(long target) {
+            long largest = PostingList.NONE;
+            for (int i = 0; i < cursors.size(); i++) {
+                if (positions[i] > target || positions[i] == PostingList.END) {
+                    positions[i] = cursors.get(i).floor(target);
+                }
+                largest = Math.max(largest, positions[i]);
+            }
+            return largest;
+        }
+
+        /**
+         * Returns the weight of the best match of the id, which the last {@link #floor(long)} returned.
+         */
+        double score(long id) {
+            double score = 0;
+            for (int i = 0; i < cursors.size(); i++) {
+                if (positions[i] == id) {
+                    score = Math.max(score, weights[i]);
+                }
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.recruitment.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of task ids, the postings of one term in one field. Ids are stored as varint-encoded
+ * deltas in blocks of {@value #BLOCK}; the first id of every block is kept uncompressed in a skip
+ * table, so a cursor can jump to the block holding an id without decoding the blocks before it.
+ * Ids larger than every stored id, as those of new tasks are, are appended in place. Other changes
+ * are kept in small sorted arrays of added and removed ids and merged into the blocks once they
+ * outgrow a fraction of the list.
+ *
+ * <p>Writers synchronise on the list. A {@link Cursor} is a constant-time snapshot: the blocks are
+ * only appended to beyond the size a cursor captured, or replaced as a whole, and the arrays of
+ * pending changes are copied on write.
+ */
+final class PostingList {
+
+    /**
+     * Returned by {@link Cursor#ceiling(long)} when there is no greater id.
+     */
+    static final long END = Long.MAX_VALUE;
+    /**
+     * Returned by {@link Cursor#floor(long)} when there is no smaller id; task ids are positive.
+     */
+    static final long NONE = 0;
+    static final int BLOCK = 128;
+
+    private static final int MIN_PENDING = 32;
+    private static final int MAX_PENDING = 4096;
+    private static final long[] NO_IDS = new long[0];
+
+    private byte[] data = new byte[8];
+    private int length;
+    private long[] blockFirst = new long[1];
+    private int[] blockOffset = new int[1];
+    private int size;
+    private long last;
+    private long[] added = NO_IDS;
+    private long[] removed = NO_IDS;
+
+    /**
+     * Adds an id.
+     *
+     * @return true if the id was not in the list
+     */
+    synchronized boolean add(long id) {
+        int removedAt = Arrays.binarySearch(removed, id);
+        if (removedAt >= 0) {
+            removed = without(removed, removedAt);
+            return true;
+        }
+        if (id > last) {
+            append(id);
+            return true;
+        }
+        if (Arrays.binarySearch(added, id) >= 0 || blocksContain(id)) {
+            return false;
+        }
+        added = with(added, id);
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @return true if the id was in the list
+     */
+    synchronized boolean remove(long id) {
+        int addedAt = Arrays.binarySearch(added, id);
+        if (addedAt >= 0) {
+            added = without(added, addedAt);
+            return true;
+        }
+        if (Arrays.binarySearch(removed, id) >= 0 || !blocksContain(id)) {
+            return false;
+        }
+        removed = with(removed, id);
+        compactIfNeeded();
+        return true;
+    }
+
+    synchronized int cardinality() {
+        return size - removed.length + added.length;
+    }
+
+    /**
+     * Returns a cursor over the ids in the list now; later changes are not visible through it.
+     */
+    synchronized Cursor cursor() {
+        return new Cursor(data, blockFirst, blockOffset, size, added, removed);
+    }
+
+    private boolean blocksContain(long id) {
+        return id <= last && new Cursor(data, blockFirst, blockOffset, size, NO_IDS, NO_IDS).ceiling(id) == id;
+    }
+
+    private void append(long id) {
+        if (size % BLOCK == 0) {
+            int block = size / BLOCK;
+            if (block == blockFirst.length) {
+                blockFirst = Arrays.copyOf(blockFirst, block * 2);
+                blockOffset = Arrays.copyOf(blockOffset, block * 2);
+            }
+            blockFirst[block] = id;
+            blockOffset[block] = length;
+        } else {
+            writeVarint(id - last);
+        }
+        size++;
+        last = id;
+    }
+
+    private void writeVarint(long value) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Re-encodes the blocks with the pending changes merged in, into new arrays so that
+     * existing cursors keep reading the old ones.
+     */
+    private void compactIfNeeded() {
+        if (added.length + removed.length <= Math.min(MAX_PENDING, Math.max(MIN_PENDING, size >>> 3))) {
+            return;
+        }
+        Cursor merged = cursor();
+        int blocks = Math.max(1, (merged.cardinality() + BLOCK - 1) / BLOCK);
+        data = new byte[Math.max(8, length)];
+        length = 0;
+        blockFirst = new long[blocks];
+        blockOffset = new int[blocks];
+        size = 0;
+        last = 0;
+        added = NO_IDS;
+        removed = NO_IDS;
+        for (long id = merged.ceiling(1); id != END; id = merged.ceiling(id + 1)) {
+            append(id);
+        }
+    }
+
+    private static long[] with(long[] ids, long id) {
+        int at = -Arrays.binarySearch(ids, id) - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, at);
+        copy[at] = id;
+        System.arraycopy(ids, at, copy, at + 1, ids.length - at);
+        return copy;
+    }
+
+    private static long[] without(long[] ids, int at) {
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, at);
+        System.arraycopy(ids, at + 1, copy, at, copy.length - at);
+        return copy;
+    }
+
+    /**
+     * Read access to a snapshot of a posting list. Lookups in either direction are answered from the
+     * decoded block of the previous lookup when they fall into it, so scans in id order decode every
+     * block once. Not thread-safe.
+     */
+    static final class Cursor {
+
+        private final byte[] data;
+        private final long[] blockFirst;
+        private final int[] blockOffset;
+        private final int size;
+        private final int blocks;
+        private final long[] added;
+        private final long[] removed;
+        private final long[] block = new long[BLOCK];
+        private int loadedBlock = -1;
+        private int loadedLength;
+
+        private Cursor(byte[] data, long[] blockFirst, int[] blockOffset, int size, long[] added, long[] removed) {
+            this.data = data;
+            this.blockFirst = blockFirst;
+            this.blockOffset = blockOffset;
+            this.size = size;
+            this.blocks = (size + BLOCK - 1) / BLOCK;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        int cardinality() {
+            return size - removed.length + added.length;
+        }
+
+        /**
+         * Returns the smallest id greater than or equal to the target, or {@link #END}.
+         */
+        long ceiling(long target) {
+            long id = blockCeiling(target);
+            while (id != END && Arrays.binarySearch(removed, id) >= 0) {
+                id = blockCeiling(id + 1);
+            }
+            int at = Arrays.binarySearch(added, target);
+            at = at >= 0 ? at : -at - 1;
+            return Math.min(id, at < added.length ? added[at] : END);
+        }
+
+        /**
+         * Returns the largest id less than or equal to the target, or {@link #NONE}.
+         */
+        long floor(long target) {
+            long id = blockFloor(target);
+            while (id != NONE && Arrays.binarySearch(removed, id) >= 0) {
+                id = blockFloor(id - 1);
+            }
+            int at = Arrays.binarySearch(added, target);
+            at = at >= 0 ? at : -at - 2;
+            return Math.max(id, at >= 0 ? added[at] : NONE);
+        }
+
+        private long blockCeiling(long target) {
+            int index = blockOf(target);
+            if (index < 0) {
+                return blocks > 0 ? blockFirst[0] : END;
+            }
+            load(index);
+            int at = Arrays.binarySearch(block, 0, loadedLength, target);
+            at = at >= 0 ? at : -at - 1;
+            if (at < loadedLength) {
+                return block[at];
+            }
+            return index + 1 < blocks ? blockFirst[index + 1] : END;
+        }
+
+        private long blockFloor(long target) {
+            int index = blockOf(target);
+            if (index < 0) {
+                return NONE;
+            }
+            load(index);
+            int at = Arrays.binarySearch(block, 0, loadedLength, target);
+            return block[at >= 0 ? at : -at - 2];
+        }
+
+        /**
+         * Returns the last block whose first id is less than or equal to the target, or -1.
+         */
+        private int blockOf(long target) {
+            if (loadedBlock >= 0 && block[0] <= target
+                    && (loadedBlock + 1 == blocks || target < blockFirst[loadedBlock + 1])) {
+                return loadedBlock;
+            }
+            int index = Arrays.binarySearch(blockFirst, 0, blocks, target);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        private void load(int index) {
+            if (index == loadedBlock) {
+                return;
+            }
+            int length = Math.min(BLOCK, size - index * BLOCK);
+            int position = blockOffset[index];
+            long id = blockFirst[index];
+            block[0] = id;
+            for (int i = 1; i < length; i++) {
+                long delta = 0;
+                int shift = 0;
+                byte next;
+                do {
+                    next = data[position++];
+                    delta |= (long) (next & 0x7F) << shift;
+                    shift += 7;
+                } while (next < 0);
+                id += delta;
+                block[i] = id;
+            }
+            loadedBlock = index;
+            loadedLength = length;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.recruitment.search;
+
+import com.recruitment.entity.Task;
+import com.recruitment.repository.ReadOnlyRouting;
+import com.recruitment.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text index over task titles and descriptions, kept in process and updated by the task
+ * service on every write. Each application instance indexes the writes it serves itself; the index
+ * is built from all existing tasks at startup.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1024;
+
+    private final TaskRepository taskRepository;
+    private final boolean enabled;
+    private final int maxResults;
+    private final int parallelism;
+    private final InvertedIndex index;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           @Value("${app.search.enabled:true}") boolean enabled,
+                           @Value("${app.search.expected-size:1024}") int expectedSize,
+                           @Value("${app.search.max-expansions:50}") int maxExpansions,
+                           @Value("${app.search.max-results:100}") int maxResults,
+                           @Value("${app.search.rebuild-parallelism:0}") int parallelism) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+        this.maxResults = maxResults;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.index = new InvertedIndex(expectedSize, maxExpansions);
+    }
+
+    /**
+     * Builds the index from all existing tasks once the application has started.
+     * Searches made before the build completes only see the tasks indexed so far.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        rebuild().subscribe(
+                count -> log.info("Task search index built with {} tasks", count),
+                error -> log.warn("Task search index build failed, search only covers tasks written since startup",
+                        error));
+    }
+
+    /**
+     * Indexes all existing tasks from a streaming scan. Batches of scanned rows are analysed in
+     * parallel and applied in id order, so the postings of every word are appended to in place.
+     * Tasks written or deleted through {@link #index(Task)} and {@link #remove(Long)} while the scan
+     * runs keep their newer state.
+     *
+     * @return a Mono emitting the number of scanned tasks
+     */
+    public Mono<Long> rebuild() {
+        return Mono.defer(() -> {
+            index.beginLoad();
+            return taskRepository.streamAll(0)
+                    .buffer(LOAD_BATCH_SIZE)
+                    .flatMapSequential(batch -> Mono.fromCallable(() -> analyze(batch))
+                            .subscribeOn(Schedulers.parallel()), parallelism)
+                    .doOnNext(documents -> documents.forEach(index::load))
+                    .reduce(0L, (count, documents) -> count + documents.size())
+                    .contextWrite(ReadOnlyRouting::readOnly)
+                    .doFinally(signal -> index.endLoad());
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Indexes the current title and description of a task.
+     *
+     * @param task the created or updated task
+     */
+    public void index(Task task) {
+        if (enabled) {
+            index.index(task.getId(), task.getTitle(), task.getDescription());
+        }
+    }
+
+    /**
+     * Removes a deleted task from the index.
+     *
+     * @param taskId the ID of the task
+     */
+    public void remove(Long taskId) {
+        if (enabled) {
+            index.remove(taskId);
+        }
+    }
+
+    /**
+     * Searches task titles and descriptions.
+     *
+     * @param query the words to search for; each must match a word of the task or be a prefix of one
+     * @param limit the maximum number of results, capped at {@code app.search.max-results}
+     * @return the ids of the best matching tasks, best first
+     */
+    public long[] search(String query, int limit) {
+        return index.search(query, Math.min(limit, maxResults));
+    }
+
+    private List<InvertedIndex.Document> analyze(List<Task> tasks) {
+        List<InvertedIndex.Document> documents = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            documents.add(index.analyze(task.getId(), task.getTitle(), task.getDescription()));
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,47 @@
+package com.recruitment.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case words: maximal runs of letters and digits. Words longer than
+ * {@value #MAX_TOKEN_LENGTH} characters are truncated.
+ */
+final class Tokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Returns the distinct words of the text in order of first occurrence.
+     *
+     * @param text the text, may be null
+     * @return the words
+     */
+    static List<String> tokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); ) {
+            int codePoint = i < lowerCase.length() ? lowerCase.codePointAt(i) : ' ';
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lowerCase.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return new ArrayList<>(tokens);
+    }
+}
@@ -0,0 +1,51 @@
+package com.recruitment.service;
+
+import com.recruitment.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes and decodes the opaque tokens of delta sync.
+ * A token wraps the versions returned by a sync, one per database; the next sync returns what changed since.
+ */
+final class SyncToken {
+
+    private static final String PREFIX = "v:";
+
+    private SyncToken() {
+    }
+
+    /**
+     * Encodes the versions to sync from next time as an opaque token.
+     *
+     * @param versions the versions
+     * @return the token string
+     */
+    static String encode(long[] versions) {
+        String value = Arrays.stream(versions).mapToObj(Long::toString).collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token back into the versions of the previous sync.
+     *
+     * @param token the token string
+     * @return the versions to sync from
+     * @throws InvalidCursorException if the token is malformed
+     */
+    static long[] decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid sync token: " + token);
+            }
+            return Arrays.stream(value.substring(PREFIX.length()).split(",")).mapToLong(Long::parseLong).toArray();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid sync token: " + token);
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.recruitment.service;
 
+import com.recruitment.dto.TaskBatchItemResponse;
+import com.recruitment.dto.TaskBulkStatusRequest;
+import com.recruitment.dto.TaskFilter;
 import com.recruitment.dto.TaskRequest;
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.TaskSummaryResponse;
+import com.recruitment.dto.TaskSyncItem;
 import com.recruitment.dto.TaskUpdateRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Set;
+
 public interface TaskService {
 
     Mono<TaskResponse> save(TaskRequest request);
 
+    Flux<TaskBatchItemResponse> saveAll(List<TaskRequest> requests);
+
     Flux<TaskSummaryResponse> findAll(int page, int size);
 
+    Flux<TaskSummaryResponse> findAllAfter(long lastId, int size);
+
+    Flux<TaskSummaryResponse> findAll(TaskFilter filter, int page, int size);
+
+    Flux<TaskSummaryResponse> findAllAfter(TaskFilter filter, long lastId, int size);
+
+    Flux<TaskSummaryResponse> streamAll(long lastId);
+
+    Flux<TaskSummaryResponse> search(String query, int size);
+
     Mono<TaskResponse> getTaskById(Long id);
 
-    Mono<TaskResponse> updateTask(TaskUpdateRequest taskUpdate, Long id);
+    Mono<TaskResponse> updateTask(TaskUpdateRequest taskUpdate, Long id, Set<Long> expectedVersions);
 
     Mono<Void> deleteTask(Long id);
 
-    Mono<TaskResponse> partialUpdate(TaskUpdateRequest taskUpdate, Long id);
+    Mono<TaskResponse> partialUpdate(TaskUpdateRequest taskUpdate, Long id, Set<Long> expectedVersions);
 
     Mono<TaskResponse> assignTaskToUser(Long taskId, Long userId);
 
+    Flux<Long> updateStatus(TaskBulkStatusRequest request);
+
+    Flux<Long> deleteTasks(TaskFilter filter);
+
+    Mono<TaskStatsResponse> getStats();
+
+    Flux<TaskSyncItem> sync(String token);
+
 }
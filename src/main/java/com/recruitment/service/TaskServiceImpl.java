@@ -1,27 +1,46 @@
 package com.recruitment.service;
 
+import com.recruitment.cache.EntityCache;
+import com.recruitment.cache.UserIdIndex;
+import com.recruitment.dto.TaskBatchItemResponse;
+import com.recruitment.dto.TaskBulkStatusRequest;
+import com.recruitment.dto.TaskFilter;
 import com.recruitment.dto.TaskRequest;
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.TaskSummaryResponse;
+import com.recruitment.dto.TaskSyncItem;
 import com.recruitment.dto.TaskUpdateRequest;
 import com.recruitment.entity.Task;
-import com.recruitment.entity.User;
+import com.recruitment.enums.BatchItemStatus;
 import com.recruitment.enums.TaskStatus;
+import com.recruitment.exception.ConstraintViolations;
+import com.recruitment.exception.InvalidCursorException;
 import com.recruitment.exception.InvalidTaskDataException;
+import com.recruitment.exception.PreconditionFailedException;
 import com.recruitment.exception.StatusNotFoundException;
 import com.recruitment.exception.TaskNotFoundException;
 import com.recruitment.exception.UserNotFoundException;
 import com.recruitment.mapper.TaskMapper;
+import com.recruitment.repository.ReadOnlyRouting;
 import com.recruitment.repository.TaskRepository;
+import com.recruitment.repository.TaskSyncEntry;
 import com.recruitment.repository.UserRepository;
+import com.recruitment.search.TaskSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of TaskService interface.
@@ -34,32 +53,96 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final UserRepository userRepository;
+    private final EntityCache<TaskResponse> taskCache;
+    private final UserIdIndex userIdIndex;
+    private final TaskSearchIndex taskSearchIndex;
+
+    @Value("${app.tasks.batch.max-size:1000}")
+    private int maxBatchSize;
 
     /**
-     * Saves a new task. Validates user existence if userId is provided.
+     * Saves a new task. A missing user is reported from the {@code fk_tasks_user} violation,
+     * so the insert itself checks the reference without a separate lookup.
      *
      * @param request the task request DTO
      * @return a Mono emitting the created TaskResponse
      * @throws UserNotFoundException if userId is provided but the user does not exist
      */
-    @Transactional
     @Override
     public Mono<TaskResponse> save(TaskRequest request) {
         Task task = taskMapper.toEntity(request);
         task.setCreationDate(LocalDate.now());
         task.setStatus(TaskStatus.NEW);
 
-        if (task.getUserId() != null) {
-            return userRepository.findById(task.getUserId())
-                    .switchIfEmpty(Mono.error(new UserNotFoundException(
-                            "User with id " + task.getUserId() + " was not found."
-                    )))
-                    .then(taskRepository.save(task))
-                    .map(taskMapper::toResponse);
+        return taskRepository.save(task)
+                .onErrorMap(ConstraintViolations::isUserForeignKeyViolation,
+                        e -> new UserNotFoundException("User with id " + task.getUserId() + " was not found."))
+                .doOnNext(taskSearchIndex::index)
+                .map(taskMapper::toResponse)
+                .doOnNext(response -> taskCache.put(response.getId(), response));
+    }
+
+    /**
+     * Saves tasks in bulk within one transaction.
+     * Referenced users missing from the user id index are validated with one query and accepted tasks are inserted
+     * with a single batched statement. Invalid items are reported as rejected and do not
+     * prevent the other items from being created.
+     *
+     * @param requests the task request DTOs
+     * @return a Flux emitting one TaskBatchItemResponse per request, in request order
+     * @throws InvalidTaskDataException if the batch is empty or exceeds the maximum batch size
+     */
+    @Transactional
+    @Override
+    public Flux<TaskBatchItemResponse> saveAll(List<TaskRequest> requests) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            return Flux.error(new InvalidTaskDataException(
+                    "Batch must contain between 1 and " + maxBatchSize + " tasks"));
         }
 
-        return taskRepository.save(task)
-                .map(taskMapper::toResponse);
+        Long[] unknownUserIds = requests.stream()
+                .map(TaskRequest::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(userId -> !userIdIndex.isKnown(userId))
+                .toArray(Long[]::new);
+        Mono<Set<Long>> existingUserIds = unknownUserIds.length == 0
+                ? Mono.just(Set.of())
+                : userRepository.findExistingIds(unknownUserIds)
+                .doOnNext(userIdIndex::register)
+                .collect(Collectors.toSet());
+
+        return existingUserIds.flatMapMany(foundUserIds -> {
+            TaskBatchItemResponse[] results = new TaskBatchItemResponse[requests.size()];
+            List<Task> accepted = new ArrayList<>(requests.size());
+            List<Integer> acceptedIndexes = new ArrayList<>(requests.size());
+
+            for (int i = 0; i < requests.size(); i++) {
+                TaskRequest request = requests.get(i);
+                if (request.getTitle() == null || request.getTitle().isBlank()) {
+                    results[i] = batchItem(i, BatchItemStatus.REJECTED, null, "Title cannot be empty");
+                } else if (request.getUserId() != null && !userIdIndex.isKnown(request.getUserId())
+                        && !foundUserIds.contains(request.getUserId())) {
+                    results[i] = batchItem(i, BatchItemStatus.REJECTED, null,
+                            "User with id " + request.getUserId() + " was not found.");
+                } else {
+                    Task task = taskMapper.toEntity(request);
+                    task.setStatus(TaskStatus.NEW);
+                    accepted.add(task);
+                    acceptedIndexes.add(i);
+                }
+            }
+
+            return taskRepository.insertAll(accepted)
+                    .index()
+                    .doOnNext(inserted -> {
+                        taskSearchIndex.index(inserted.getT2());
+                        int index = acceptedIndexes.get(inserted.getT1().intValue());
+                        results[index] = batchItem(index, BatchItemStatus.CREATED,
+                                taskMapper.toResponse(inserted.getT2()), null);
+                    })
+                    .thenMany(Flux.fromArray(results));
+        });
     }
 
     /**
@@ -73,11 +156,109 @@ public class TaskServiceImpl implements TaskService {
     public Flux<TaskSummaryResponse> findAll(int page, int size) {
         long offset = (long) page * size;
         return taskRepository.findAllPaged(offset, size)
-                .map(taskMapper::toSummaryResponse);
+                .map(taskMapper::toSummaryResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Returns the page of tasks that follows the given task id (keyset pagination).
+     *
+     * @param lastId the id of the last task of the previous page
+     * @param size   the number of items per page
+     * @return a Flux of TaskSummaryResponse
+     */
+    @Override
+    public Flux<TaskSummaryResponse> findAllAfter(long lastId, int size) {
+        return taskRepository.findAllAfter(lastId, size)
+                .map(taskMapper::toSummaryResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Returns the tasks matching the filter criteria, by page number.
+     *
+     * @param filter the filter criteria
+     * @param page   the page number (0-based)
+     * @param size   the number of items per page
+     * @return a Flux of TaskSummaryResponse
+     */
+    @Override
+    public Flux<TaskSummaryResponse> findAll(TaskFilter filter, int page, int size) {
+        if (!hasCriteria(filter)) {
+            return findAll(page, size);
+        }
+        long offset = (long) page * size;
+        return taskRepository.findMatchingPaged(filter, offset, size)
+                .map(taskMapper::toSummaryResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Returns the page of tasks matching the filter criteria that follows the given task id (keyset pagination).
+     *
+     * @param filter the filter criteria
+     * @param lastId the id of the last task of the previous page
+     * @param size   the number of items per page
+     * @return a Flux of TaskSummaryResponse
+     */
+    @Override
+    public Flux<TaskSummaryResponse> findAllAfter(TaskFilter filter, long lastId, int size) {
+        if (!hasCriteria(filter)) {
+            return findAllAfter(lastId, size);
+        }
+        return taskRepository.findMatchingAfter(filter, lastId, size)
+                .map(taskMapper::toSummaryResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Streams all tasks that follow the given task id, without paging.
+     * Rows are read with backpressure, so memory stays bounded for any table size.
+     *
+     * @param lastId the id after which streaming starts (0 for all tasks)
+     * @return a Flux of TaskSummaryResponse
+     */
+    @Override
+    public Flux<TaskSummaryResponse> streamAll(long lastId) {
+        return taskRepository.streamAll(lastId)
+                .map(taskMapper::toSummaryResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Searches task titles and descriptions with the in-process search index. Every word of the query
+     * must match a word of the task or be a prefix of one; the best matches come first. When the index
+     * is disabled, the tasks whose title contains the query are returned in id order.
+     *
+     * @param query the search query
+     * @param size  the maximum number of results
+     * @return a Flux of TaskSummaryResponse
+     * @throws InvalidTaskDataException if the query is empty
+     */
+    @Override
+    public Flux<TaskSummaryResponse> search(String query, int size) {
+        if (query == null || query.isBlank()) {
+            return Flux.error(new InvalidTaskDataException("Search query cannot be empty"));
+        }
+        if (!taskSearchIndex.isEnabled()) {
+            TaskFilter filter = new TaskFilter();
+            filter.setTitle(query.strip());
+            return findAll(filter, 0, size);
+        }
+        return Mono.fromCallable(() -> taskSearchIndex.search(query, size))
+                .filter(ids -> ids.length > 0)
+                .flatMapMany(ids -> taskRepository.findAllById(Arrays.stream(ids).boxed().toList())
+                        .collectMap(Task::getId)
+                        .flatMapIterable(tasks -> Arrays.stream(ids)
+                                .mapToObj(tasks::get)
+                                .filter(Objects::nonNull)
+                                .toList()))
+                .map(taskMapper::toSummaryResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
     }
 
     /**
-     * Fetches a task by its ID.
+     * Fetches a task by its ID, serving repeated lookups from the task cache.
      *
      * @param id the ID of the task
      * @return a Mono emitting the TaskResponse
@@ -85,57 +266,68 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Mono<TaskResponse> getTaskById(Long id) {
-        return taskRepository.findById(id)
+        return taskCache.get(id, key -> taskRepository.findById(key).map(taskMapper::toResponse))
                 .switchIfEmpty(Mono.error(new TaskNotFoundException("Task with id: " + id + " was not found.")))
-                .map(taskMapper::toResponse);
+                .contextWrite(ReadOnlyRouting::readOnly);
     }
 
     /**
      * Updates an existing task with full data.
      *
-     * @param taskUpdate the task update DTO
-     * @param id         the ID of the task to update
+     * @param taskUpdate       the task update DTO
+     * @param id               the ID of the task to update
+     * @param expectedVersions the versions one of which the task must still be at, or empty to update any version
      * @return a Mono emitting the updated TaskResponse
-     * @throws TaskNotFoundException    if the task does not exist
-     * @throws InvalidTaskDataException if any required field is missing
-     * @throws StatusNotFoundException  if status value is invalid
-     * @throws UserNotFoundException    if the user does not exist
+     * @throws TaskNotFoundException       if the task does not exist
+     * @throws PreconditionFailedException if the task is no longer at an expected version
+     * @throws InvalidTaskDataException    if any required field is missing
+     * @throws StatusNotFoundException     if status value is invalid
+     * @throws UserNotFoundException       if the user does not exist
      */
-    @Transactional
     @Override
-    public Mono<TaskResponse> updateTask(TaskUpdateRequest taskUpdate, Long id) {
-        return taskRepository.findById(id)
-                .switchIfEmpty(Mono.error(new TaskNotFoundException("Task with id: " + id + " was not found.")))
-                .flatMap(existingTask ->
-                        updateTaskFields(taskUpdate)
-                                .flatMap(status -> {
-                                    existingTask.setTitle(taskUpdate.getTitle());
-                                    existingTask.setDescription(taskUpdate.getDescription());
-                                    existingTask.setStatus(status);
-                                    existingTask.setUserId(taskUpdate.getUserId());
-                                    return taskRepository.save(existingTask)
-                                            .map(taskMapper::toResponse);
-                                })
-                );
+    public Mono<TaskResponse> updateTask(TaskUpdateRequest taskUpdate, Long id, Set<Long> expectedVersions) {
+        if (expectedVersions.size() > 1) {
+            return matchingVersion(id, expectedVersions)
+                    .flatMap(version -> updateTask(taskUpdate, id, Set.of(version)));
+        }
+        Long expectedVersion = expectedVersions.isEmpty() ? null : expectedVersions.iterator().next();
+        return updateTaskFields(taskUpdate)
+                .flatMap(status -> taskRepository.updateTask(id, taskUpdate.getTitle(),
+                        taskUpdate.getDescription(), status.name(), taskUpdate.getUserId(), expectedVersion))
+                .switchIfEmpty(Mono.defer(() -> missingOrChanged(id, expectedVersion)))
+                .onErrorMap(ConstraintViolations::isUserForeignKeyViolation,
+                        e -> new UserNotFoundException("User with id: " + taskUpdate.getUserId() + " was not found."))
+                .doOnNext(taskSearchIndex::index)
+                .map(taskMapper::toResponse)
+                .doOnNext(response -> taskCache.put(response.getId(), response));
     }
 
     /**
      * Applies partial update to an existing task.
      *
-     * @param taskUpdate the DTO containing fields to update
-     * @param id         the ID of the task to update
+     * @param taskUpdate       the DTO containing fields to update
+     * @param id               the ID of the task to update
+     * @param expectedVersions the versions one of which the task must still be at, or empty to update any version
      * @return a Mono emitting the updated TaskResponse
-     * @throws TaskNotFoundException   if the task does not exist
-     * @throws StatusNotFoundException if the status value is invalid
+     * @throws TaskNotFoundException       if the task does not exist
+     * @throws PreconditionFailedException if the task is no longer at an expected version
+     * @throws StatusNotFoundException     if the status value is invalid
+     * @throws UserNotFoundException       if the user does not exist
      */
-    @Transactional
     @Override
-    public Mono<TaskResponse> partialUpdate(TaskUpdateRequest taskUpdate, Long id) {
-        return taskRepository.findById(id)
-                .switchIfEmpty(Mono.error(new TaskNotFoundException("Task with id: " + id + " was not found.")))
-                .flatMap(existingTask -> partialUpdateTaskFields(existingTask, taskUpdate))
-                .flatMap(taskRepository::save)
-                .map(taskMapper::toResponse);
+    public Mono<TaskResponse> partialUpdate(TaskUpdateRequest taskUpdate, Long id, Set<Long> expectedVersions) {
+        if (expectedVersions.size() > 1) {
+            return matchingVersion(id, expectedVersions)
+                    .flatMap(version -> partialUpdate(taskUpdate, id, Set.of(version)));
+        }
+        Long expectedVersion = expectedVersions.isEmpty() ? null : expectedVersions.iterator().next();
+        return partialUpdateTaskFields(taskUpdate, id, expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> missingOrChanged(id, expectedVersion)))
+                .onErrorMap(ConstraintViolations::isUserForeignKeyViolation,
+                        e -> new UserNotFoundException("User with id: " + taskUpdate.getUserId() + " was not found."))
+                .doOnNext(taskSearchIndex::index)
+                .map(taskMapper::toResponse)
+                .doOnNext(response -> taskCache.put(response.getId(), response));
     }
 
     /**
@@ -147,19 +339,20 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Mono<Void> deleteTask(Long id) {
-        return taskRepository.findById(id)
+        return taskRepository.deleteReturningId(id)
                 .switchIfEmpty(Mono.error(new TaskNotFoundException("Task with id: " + id + " was not found.")))
-                .flatMap(existingTask -> taskRepository.deleteById(id));
+                .doOnNext(taskCache::invalidate)
+                .doOnNext(taskSearchIndex::remove)
+                .then();
     }
 
     /**
-     * Helper method to apply updates to a Task entity.
+     * Helper method to validate a full task update.
      *
      * @param taskUpdate the update DTO
      * @return TaskStatus enum
      * @throws InvalidTaskDataException if required fields are missing
      * @throws StatusNotFoundException  if status is invalid
-     * @throws UserNotFoundException    if the user does not exist
      */
     private Mono<TaskStatus> updateTaskFields(TaskUpdateRequest taskUpdate) {
         if (taskUpdate.getTitle() == null || taskUpdate.getTitle().isBlank()) {
@@ -181,35 +374,24 @@ public class TaskServiceImpl implements TaskService {
             ));
         }
 
-        if (taskUpdate.getUserId() != null) {
-            return userRepository.findById(taskUpdate.getUserId())
-                    .switchIfEmpty(Mono.error(new UserNotFoundException("User with id: " + taskUpdate.getUserId() + " was not found.")))
-                    .thenReturn(status);
-        }
-
         return Mono.just(status);
     }
 
     /**
-     * Helper method to apply partial updates to a Task entity.
+     * Helper method to apply partial updates to a task in a single statement.
+     * Blank or null fields are passed as null and left unchanged by the update.
      *
-     * @param existingTask the existing Task entity
-     * @param taskUpdate   the DTO containing fields to update
-     * @return a Mono emitting the updated TaskResponse
+     * @param taskUpdate      the DTO containing fields to update
+     * @param id              the ID of the task to update
+     * @param expectedVersion the version the task must still be at, or null
+     * @return a Mono emitting the updated Task, or empty if the task does not exist at the expected version
+     * @throws StatusNotFoundException if status is invalid
      */
-    private Mono<Task> partialUpdateTaskFields(Task existingTask, TaskUpdateRequest taskUpdate) {
-        if (taskUpdate.getTitle() != null && !taskUpdate.getTitle().isBlank()) {
-            existingTask.setTitle(taskUpdate.getTitle());
-        }
-
-        if (taskUpdate.getDescription() != null && !taskUpdate.getDescription().isBlank()) {
-            existingTask.setDescription(taskUpdate.getDescription());
-        }
-
+    private Mono<Task> partialUpdateTaskFields(TaskUpdateRequest taskUpdate, Long id, Long expectedVersion) {
+        String status = null;
         if (taskUpdate.getStatus() != null && !taskUpdate.getStatus().isBlank()) {
             try {
-                TaskStatus status = TaskStatus.valueOf(taskUpdate.getStatus().toUpperCase());
-                existingTask.setStatus(status);
+                status = TaskStatus.valueOf(taskUpdate.getStatus().toUpperCase()).name();
             } catch (IllegalArgumentException e) {
                 return Mono.error(new StatusNotFoundException(
                         "Wrong status. Choose one from the list: NEW, IN_PROGRESS, COMPLETED, CANCELLED."
@@ -217,20 +399,72 @@ public class TaskServiceImpl implements TaskService {
             }
         }
 
-        if (taskUpdate.getUserId() != null) {
-            return userRepository.findById(taskUpdate.getUserId())
-                    .switchIfEmpty(Mono.error(new UserNotFoundException("User with id: " + taskUpdate.getUserId() + " was not found.")))
-                    .then(Mono.fromCallable(() -> {
-                        existingTask.setUserId(taskUpdate.getUserId());
-                        return existingTask;
-                    }));
+        return taskRepository.patchTask(id, blankToNull(taskUpdate.getTitle()),
+                blankToNull(taskUpdate.getDescription()), status, taskUpdate.getUserId(), expectedVersion);
+    }
+
+    /**
+     * Helper method to explain a conditional update that changed no row. A task that exists was
+     * changed by someone else, so its cached copy is dropped as it may be the stale one the
+     * client's version came from.
+     *
+     * @param id              the ID of the task
+     * @param expectedVersion the version the update expected, or null
+     * @return a Mono failing with PreconditionFailedException or TaskNotFoundException
+     */
+    private <T> Mono<T> missingOrChanged(Long id, Long expectedVersion) {
+        Mono<T> notFound = Mono.error(new TaskNotFoundException("Task with id: " + id + " was not found."));
+        if (expectedVersion == null) {
+            return notFound;
         }
+        return taskRepository.existsById(id)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return notFound;
+                    }
+                    taskCache.invalidate(id);
+                    return Mono.error(new PreconditionFailedException("Task with id: " + id + " has changed."));
+                });
+    }
+
+    /**
+     * Helper method to pick which of several expected versions the task is at, read from the primary.
+     * The update is then made conditional on that version, so a change in between still fails it.
+     *
+     * @param id               the ID of the task
+     * @param expectedVersions the versions the task may be at
+     * @return a Mono emitting the current version of the task
+     * @throws TaskNotFoundException       if the task does not exist
+     * @throws PreconditionFailedException if the task is at none of the versions
+     */
+    private Mono<Long> matchingVersion(Long id, Set<Long> expectedVersions) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(new TaskNotFoundException("Task with id: " + id + " was not found.")))
+                .map(Task::getVersion)
+                .filter(expectedVersions::contains)
+                .switchIfEmpty(Mono.defer(() -> {
+                    taskCache.invalidate(id);
+                    return Mono.error(new PreconditionFailedException("Task with id: " + id + " has changed."));
+                }));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
 
-        return Mono.just(existingTask);
+    private static TaskBatchItemResponse batchItem(int index, BatchItemStatus status, TaskResponse task, String error) {
+        TaskBatchItemResponse item = new TaskBatchItemResponse();
+        item.setIndex(index);
+        item.setStatus(status);
+        item.setTask(task);
+        item.setError(error);
+        return item;
     }
 
     /**
-     * Asynchronously assigns an existing task to a specific user using CompletableFuture.
+     * Assigns an existing task to a specific user with a single conditional update.
+     * The user and task lookups are only performed when the update matched no row,
+     * to report which of the two does not exist.
      *
      * @param taskId the ID of the task to assign
      * @param userId the ID of the user to assign the task to
@@ -238,23 +472,107 @@ public class TaskServiceImpl implements TaskService {
      * @throws UserNotFoundException if the user does not exist
      * @throws TaskNotFoundException if the task does not exist
      */
-    @Transactional
     @Override
     public Mono<TaskResponse> assignTaskToUser(Long taskId, Long userId) {
-        return Mono.fromFuture(
-                CompletableFuture.supplyAsync(() -> {
-                    User user = userRepository.findById(userId)
-                            .blockOptional()
-                            .orElseThrow(() -> new UserNotFoundException("User with id: " + userId + " was not found."));
-
-                    Task task = taskRepository.findById(taskId)
-                            .blockOptional()
-                            .orElseThrow(() -> new TaskNotFoundException("Task with id: " + taskId + " was not found."));
-                    task.setUserId(user.getId());
-                    Task updatedTask = taskRepository.save(task).block();
-                    return taskMapper.toResponse(updatedTask);
-                })
-        );
+        return taskRepository.assignToUser(taskId, userId)
+                .switchIfEmpty(Mono.defer(() -> userIdIndex.exists(userId)
+                        .flatMap(userExists -> Mono.<Task>error(userExists
+                                ? new TaskNotFoundException("Task with id: " + taskId + " was not found.")
+                                : new UserNotFoundException("User with id: " + userId + " was not found.")))))
+                .map(taskMapper::toResponse)
+                .doOnNext(response -> taskCache.put(response.getId(), response));
     }
 
+    /**
+     * Moves all tasks selected by ids and/or filter criteria to a new status
+     * with one set-based update.
+     *
+     * @param request the target status and the filter selecting the tasks
+     * @return a Flux emitting the ids of the updated tasks
+     * @throws InvalidTaskDataException if the status or the filter is missing
+     * @throws StatusNotFoundException  if the status value is invalid
+     */
+    @Override
+    public Flux<Long> updateStatus(TaskBulkStatusRequest request) {
+        if (request.getStatus() == null || request.getStatus().isBlank()) {
+            return Flux.error(new InvalidTaskDataException("Status cannot be empty"));
+        }
+        if (!hasCriteria(request.getFilter())) {
+            return Flux.error(new InvalidTaskDataException("Filter must contain ids or at least one criterion"));
+        }
+
+        TaskStatus status;
+        try {
+            status = TaskStatus.valueOf(request.getStatus().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Flux.error(new StatusNotFoundException(
+                    "Wrong status. Choose one from the list: NEW, IN_PROGRESS, COMPLETED, CANCELLED."
+            ));
+        }
+
+        return taskRepository.updateStatus(request.getFilter(), status)
+                .doOnNext(taskCache::invalidate);
+    }
+
+    /**
+     * Deletes all tasks selected by ids and/or filter criteria with one set-based delete.
+     *
+     * @param filter the filter selecting the tasks
+     * @return a Flux emitting the ids of the deleted tasks
+     * @throws InvalidTaskDataException if the filter is empty
+     */
+    @Override
+    public Flux<Long> deleteTasks(TaskFilter filter) {
+        if (!hasCriteria(filter)) {
+            return Flux.error(new InvalidTaskDataException("Filter must contain ids or at least one criterion"));
+        }
+        return taskRepository.deleteMatching(filter)
+                .doOnNext(taskCache::invalidate)
+                .doOnNext(taskSearchIndex::remove);
+    }
+
+    /**
+     * Fetches the number of tasks per status, read from the task counters instead of counting rows.
+     * The counters change with every task write and are corrected by {@link TaskStatsReconciler}.
+     *
+     * @return a Mono emitting the TaskStatsResponse
+     */
+    @Override
+    public Mono<TaskStatsResponse> getStats() {
+        return taskRepository.statusCounts()
+                .map(taskMapper::toStatsResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Streams the tasks created, changed or deleted since the sync that returned the token. Without
+     * a token, or with one older than the deletions still remembered, all tasks are streamed and the
+     * last item is marked full. Reads the primary database, whose versions the token refers to.
+     *
+     * @param token the token of the previous sync, or null
+     * @return a Flux of TaskSyncItem ending with the item carrying the next token
+     * @throws InvalidCursorException if the token is malformed
+     */
+    @Override
+    public Flux<TaskSyncItem> sync(String token) {
+        return Flux.defer(() -> taskRepository.changesSince(token == null ? null : SyncToken.decode(token)))
+                .map(this::toSyncItem);
+    }
+
+    private TaskSyncItem toSyncItem(TaskSyncEntry entry) {
+        TaskSyncItem item = new TaskSyncItem();
+        if (entry.task() != null) {
+            item.setTask(taskMapper.toResponse(entry.task()));
+        } else if (entry.deletedTaskId() != null) {
+            item.setDeletedId(entry.deletedTaskId());
+        } else {
+            item.setNextToken(SyncToken.encode(entry.nextVersions()));
+            item.setFull(entry.full());
+        }
+        return item;
+    }
+
+    private static boolean hasCriteria(TaskFilter filter) {
+        return filter != null && filter.hasCriteria();
+    }
 }
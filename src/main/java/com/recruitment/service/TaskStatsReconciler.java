@@ -0,0 +1,73 @@
+package com.recruitment.service;
+
+import com.recruitment.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Periodically recounts the tasks and corrects the task counters behind the stats endpoints.
+ * The counters are updated with every write, so a correction only happens after changes that
+ * bypassed them, e.g. rows edited by hand with the triggers disabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.stats.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskStatsReconciler {
+
+    private final TaskRepository taskRepository;
+    private final Duration interval;
+    private Disposable schedule;
+
+    public TaskStatsReconciler(TaskRepository taskRepository,
+                               @Value("${app.stats.reconcile.interval:1h}") Duration interval) {
+        this.taskRepository = taskRepository;
+        this.interval = interval;
+    }
+
+    /**
+     * Starts the reconciliation once the application has started. Runs never overlap;
+     * a failed run is logged and retried at the next interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedule = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> reconcile())
+                .subscribe();
+    }
+
+    /**
+     * Recounts the tasks once.
+     *
+     * @return a Mono emitting the number of corrected counters
+     */
+    public Mono<Long> reconcile() {
+        return taskRepository.reconcileStatusCounts()
+                .doOnNext(corrected -> {
+                    if (corrected > 0) {
+                        log.warn("Corrected {} drifted task counters", corrected);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Task counter reconciliation failed", error);
+                    return Mono.empty();
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.recruitment.service;
+
+import com.recruitment.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically forgets task deletions older than the retention, so the tombstones kept for delta
+ * sync do not grow without bound. Clients whose last sync is older than the retention get a full
+ * sync instead of the changes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sync.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskTombstonePurger {
+
+    private final TaskRepository taskRepository;
+    private final Duration interval;
+    private final Duration retention;
+    private Disposable schedule;
+
+    public TaskTombstonePurger(TaskRepository taskRepository,
+                               @Value("${app.sync.purge.interval:1h}") Duration interval,
+                               @Value("${app.sync.tombstone-retention:30d}") Duration retention) {
+        this.taskRepository = taskRepository;
+        this.interval = interval;
+        this.retention = retention;
+    }
+
+    /**
+     * Starts purging once the application has started. Runs never overlap;
+     * a failed run is logged and retried at the next interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedule = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> purge())
+                .subscribe();
+    }
+
+    /**
+     * Purges the tombstones once.
+     *
+     * @return a Mono emitting the number of purged tombstones
+     */
+    public Mono<Long> purge() {
+        return Mono.defer(() -> taskRepository.purgeTombstones(Instant.now().minus(retention)))
+                .doOnNext(purged -> {
+                    if (purged > 0) {
+                        log.info("Purged {} task tombstones", purged);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Task tombstone purge failed", error);
+                    return Mono.empty();
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+}
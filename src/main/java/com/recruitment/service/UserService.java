@@ -1,6 +1,7 @@
 package com.recruitment.service;
 
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.UserRequest;
 import com.recruitment.dto.UserResponse;
 import reactor.core.publisher.Flux;
@@ -12,8 +13,14 @@ public interface UserService {
 
     Flux<UserResponse> findAll(int page, int size);
 
+    Flux<UserResponse> findAllAfter(long lastId, int size);
+
     Mono<UserResponse> getUserById(Long id);
 
-    Flux<TaskResponse> getUserTasks(Long userId);
+    Flux<TaskResponse> getUserTasks(Long userId, long lastId, String status, int size);
+
+    Flux<TaskResponse> streamUserTasks(Long userId);
+
+    Mono<TaskStatsResponse> getUserTaskStats(Long userId);
 
 }
@@ -1,12 +1,19 @@
 package com.recruitment.service;
 
+import com.recruitment.cache.EntityCache;
+import com.recruitment.cache.UserIdIndex;
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.UserRequest;
 import com.recruitment.dto.UserResponse;
+import com.recruitment.entity.Task;
 import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.exception.StatusNotFoundException;
 import com.recruitment.exception.UserNotFoundException;
 import com.recruitment.mapper.TaskMapper;
 import com.recruitment.mapper.UserMapper;
+import com.recruitment.repository.ReadOnlyRouting;
 import com.recruitment.repository.TaskRepository;
 import com.recruitment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +22,8 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 /**
  * Implementation of UserService interface.
  * Provides reactive methods for managing users in the system.
@@ -27,6 +36,8 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
+    private final EntityCache<UserResponse> userCache;
+    private final UserIdIndex userIdIndex;
 
     /**
      * Saves a new user in the system.
@@ -39,7 +50,11 @@ public class UserServiceImpl implements UserService {
     public Mono<UserResponse> save(UserRequest request) {
         User user = userMapper.toEntity(request);
         return userRepository.save(user)
-                .map(userMapper::toResponse);
+                .map(userMapper::toResponse)
+                .doOnNext(response -> {
+                    userIdIndex.register(response.getId());
+                    userCache.put(response.getId(), response);
+                });
     }
 
     /**
@@ -53,11 +68,26 @@ public class UserServiceImpl implements UserService {
     public Flux<UserResponse> findAll(int page, int size) {
         long offset = (long) page * size;
         return userRepository.findAllPaged(offset, size)
-                .map(userMapper::toResponse);
+                .map(userMapper::toResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Fetches the page of users that follows the given user id (keyset pagination).
+     *
+     * @param lastId the id of the last user of the previous page
+     * @param size   the number of items per page
+     * @return a Flux emitting UserResponse objects
+     */
+    @Override
+    public Flux<UserResponse> findAllAfter(long lastId, int size) {
+        return userRepository.findAllAfter(lastId, size)
+                .map(userMapper::toResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
     }
 
     /**
-     * Fetches user details by ID.
+     * Fetches user details by ID, serving repeated lookups from the user cache.
      *
      * @param id the ID of the user
      * @return a Mono emitting the UserResponse object
@@ -65,23 +95,77 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<UserResponse> getUserById(Long id) {
-        return userRepository.findById(id)
+        return userCache.get(id, key -> userRepository.findById(key).map(userMapper::toResponse))
                 .switchIfEmpty(Mono.error(new UserNotFoundException("User with id: " + id + " was not found.")))
-                .map(userMapper::toResponse);
+                .contextWrite(ReadOnlyRouting::readOnly);
     }
 
     /**
-     * Fetches tasks assigned to a specific user.
+     * Fetches one page of tasks assigned to a specific user (keyset pagination).
+     * The user's existence and the page are read with a single query.
      *
      * @param userId the ID of the user
+     * @param lastId the id of the last task of the previous page (0 for the first page)
+     * @param status the optional status to filter by
+     * @param size   the number of items per page
      * @return a Flux emitting TaskResponse objects
-     * @throws UserNotFoundException if the user does not exist
+     * @throws UserNotFoundException   if the user does not exist
+     * @throws StatusNotFoundException if the status value is invalid
      */
     @Override
-    public Flux<TaskResponse> getUserTasks(Long userId) {
-        return userRepository.findById(userId)
+    public Flux<TaskResponse> getUserTasks(Long userId, long lastId, String status, int size) {
+        TaskStatus taskStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                taskStatus = TaskStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return Flux.error(new StatusNotFoundException(
+                        "Wrong status. Choose one from the list: NEW, IN_PROGRESS, COMPLETED, CANCELLED."
+                ));
+            }
+        }
+
+        return taskRepository.findUserTasksPage(userId, lastId, taskStatus, size)
                 .switchIfEmpty(Mono.error(new UserNotFoundException("User with id: " + userId + " was not found.")))
-                .thenMany(taskRepository.findByUserId(userId))
-                .map(taskMapper::toResponse);
+                .doOnNext(tasks -> userIdIndex.register(userId))
+                .flatMapIterable(tasks -> tasks)
+                .map(taskMapper::toResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Streams all tasks assigned to a specific user with backpressure.
+     *
+     * @param userId the ID of the user
+     * @return a Flux emitting TaskResponse objects
+     * @throws UserNotFoundException if the user does not exist
+     */
+    @Override
+    public Flux<TaskResponse> streamUserTasks(Long userId) {
+        return userIdIndex.exists(userId)
+                .flatMapMany(exists -> exists
+                        ? taskRepository.streamByUserId(userId)
+                        : Flux.<Task>error(new UserNotFoundException("User with id: " + userId + " was not found.")))
+                .map(taskMapper::toResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    /**
+     * Fetches the number of tasks per status assigned to a specific user, read from the task counters
+     * instead of counting rows.
+     *
+     * @param userId the ID of the user
+     * @return a Mono emitting the TaskStatsResponse
+     * @throws UserNotFoundException if the user does not exist
+     */
+    @Override
+    public Mono<TaskStatsResponse> getUserTaskStats(Long userId) {
+        return userIdIndex.exists(userId)
+                .flatMap(exists -> exists
+                        ? taskRepository.statusCounts(userId)
+                        : Mono.<Map<TaskStatus, Long>>error(
+                        new UserNotFoundException("User with id: " + userId + " was not found.")))
+                .map(taskMapper::toStatsResponse)
+                .contextWrite(ReadOnlyRouting::readOnly);
     }
 }
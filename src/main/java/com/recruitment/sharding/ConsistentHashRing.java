@@ -0,0 +1,76 @@
+package com.recruitment.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistent hash ring mapping user ids to shards. Every shard owns a number of virtual nodes placed by
+ * hashing its name, so adding or removing a shard only moves the keys of the neighbouring ring segments
+ * and the placement does not depend on the order the shards are listed in.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final int[] shards;
+
+    /**
+     * Builds the ring.
+     *
+     * @param shardNames   the stable names of the shards; the index in the list is the shard number
+     * @param virtualNodes the number of ring points per shard
+     */
+    public ConsistentHashRing(List<String> shardNames, int virtualNodes) {
+        if (shardNames.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one shard and one virtual node");
+        }
+        int size = shardNames.size() * virtualNodes;
+        long[][] nodes = new long[size][];
+        for (int shard = 0; shard < shardNames.size(); shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                nodes[shard * virtualNodes + node] =
+                        new long[]{hash(shardNames.get(shard) + "#" + node), shard};
+            }
+        }
+        Arrays.sort(nodes, (a, b) -> Long.compare(a[0], b[0]));
+        this.points = new long[size];
+        this.shards = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = nodes[i][0];
+            shards[i] = (int) nodes[i][1];
+        }
+    }
+
+    /**
+     * Returns the shard owning the key: the shard of the first ring point at or after the key's hash.
+     *
+     * @param key the key, e.g. a user id
+     * @return the shard number
+     */
+    public int shardFor(long key) {
+        int index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return shards[index == points.length ? 0 : index];
+    }
+
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * SplitMix64 finaliser, spreading sequential ids evenly over the ring.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
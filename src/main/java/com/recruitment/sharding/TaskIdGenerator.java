@@ -0,0 +1,79 @@
+package com.recruitment.sharding;
+
+/**
+ * Generates globally unique, time-ordered task ids without coordination between shards or instances.
+ * Layout (most significant first): 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of
+ * per-millisecond sequence, 6 bits for the shard the task was created on and 6 bits for the generating instance.
+ * Ids of one instance keep growing, so keyset paging by id continues to work, and they sort after the
+ * serial ids of the single-database schema.
+ */
+public final class TaskIdGenerator {
+
+    public static final long EPOCH_MILLIS = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+    public static final int MAX_SHARDS = 64;
+    public static final int MAX_WORKERS = 64;
+
+    private static final int WORKER_BITS = 6;
+    private static final int SHARD_BITS = 6;
+    private static final int SEQUENCE_BITS = 10;
+    private static final int SHARD_SHIFT = WORKER_BITS;
+    private static final int SEQUENCE_SHIFT = SHARD_SHIFT + SHARD_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_SHIFT + SEQUENCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long worker;
+    private long lastMillis = -1;
+    private long sequence;
+
+    /**
+     * Creates a generator.
+     *
+     * @param workerId the id of this instance, unique among the running instances
+     */
+    public TaskIdGenerator(int workerId) {
+        if (workerId < 0 || workerId >= MAX_WORKERS) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + (MAX_WORKERS - 1));
+        }
+        this.worker = workerId;
+    }
+
+    /**
+     * Generates the next id. A clock moving backwards is absorbed by staying on the last timestamp.
+     *
+     * @param shard the shard the task is created on
+     * @return the id
+     */
+    public synchronized long nextId(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (MAX_SHARDS - 1));
+        }
+        long now = Math.max(System.currentTimeMillis(), lastMillis);
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                while (now <= lastMillis) {
+                    Thread.onSpinWait();
+                    now = System.currentTimeMillis();
+                }
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH_MILLIS) << TIMESTAMP_SHIFT) | (sequence << SEQUENCE_SHIFT) | ((long) shard << SHARD_SHIFT)
+                | worker;
+    }
+
+    /**
+     * Returns the shard an id was generated for. Tasks can move later, so this is a lookup hint only.
+     *
+     * @param id the task id
+     * @return the shard number, or -1 for ids not produced by this generator
+     */
+    public static int shardHint(long id) {
+        if ((id >>> TIMESTAMP_SHIFT) == 0) {
+            return -1;
+        }
+        return (int) ((id >>> SHARD_SHIFT) & (MAX_SHARDS - 1));
+    }
+}
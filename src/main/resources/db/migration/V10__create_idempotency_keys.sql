@@ -0,0 +1,13 @@
+-- Idempotency keys of requests that must not be applied twice, shared by all instances behind the
+-- in-process caches. A row is claimed without a response while the request runs, for the length of a
+-- lease, and completed with the response until it expires. Keys and request bodies are stored as
+-- SHA-256 hashes.
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+    key_hash     CHAR(64)    PRIMARY KEY,
+    request_hash CHAR(64)    NOT NULL,
+    response     TEXT,
+    expires_at   TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
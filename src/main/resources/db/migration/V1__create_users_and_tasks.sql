@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS users
+(
+    id   BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tasks
+(
+    id            BIGSERIAL PRIMARY KEY,
+    title         VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    creation_date DATE         NOT NULL,
+    status        VARCHAR(50)  NOT NULL CHECK (status IN ('NEW', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    user_id       BIGINT,
+    CONSTRAINT fk_tasks_user
+        FOREIGN KEY (user_id)
+            REFERENCES users (id)
+            ON DELETE SET NULL
+);
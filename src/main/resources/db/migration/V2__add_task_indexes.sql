@@ -0,0 +1,13 @@
+-- Built concurrently so the migration does not lock writes on existing tables.
+
+-- Tasks of a user in id order (findByUserId, user task pages and streams).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id ON tasks (user_id, id);
+
+-- Tasks of a user filtered by status, in id order.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id_status ON tasks (user_id, status, id);
+
+-- Creation date ranges.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_creation_date ON tasks (creation_date, id);
+
+-- Active tasks only, the small and frequently queried part of the table.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_active ON tasks (status, id) WHERE status IN ('NEW', 'IN_PROGRESS');
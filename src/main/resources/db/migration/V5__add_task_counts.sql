@@ -0,0 +1,83 @@
+-- Task counts by status and by user and status, kept up to date by statement-level triggers on tasks,
+-- so they change in the same transaction as the tasks they count. A statement adds its net changes
+-- with one upsert per group, however many rows it touched, in key order so that concurrent statements
+-- lock the counter rows in the same order and cannot deadlock on each other.
+
+-- Totals by status are split over stripes chosen by the writing connection, so that concurrent
+-- transactions do not queue on one row lock per status; readers sum the stripes.
+CREATE TABLE IF NOT EXISTS task_status_counts
+(
+    status VARCHAR(50) NOT NULL,
+    stripe SMALLINT    NOT NULL,
+    count  BIGINT      NOT NULL,
+    PRIMARY KEY (status, stripe)
+);
+
+CREATE TABLE IF NOT EXISTS user_task_counts
+(
+    user_id BIGINT      NOT NULL,
+    status  VARCHAR(50) NOT NULL,
+    count   BIGINT      NOT NULL,
+    PRIMARY KEY (user_id, status)
+);
+
+CREATE OR REPLACE FUNCTION count_task_changes() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    changes TEXT := CASE TG_OP
+        WHEN 'INSERT' THEN 'SELECT status, user_id, 1 AS delta FROM new_rows'
+        WHEN 'DELETE' THEN 'SELECT status, user_id, -1 AS delta FROM old_rows'
+        ELSE 'SELECT status, user_id, -1 AS delta FROM old_rows '
+            || 'UNION ALL SELECT status, user_id, 1 AS delta FROM new_rows'
+        END;
+BEGIN
+    EXECUTE format(
+            'WITH changes AS (%s), '
+                || 'by_status AS ('
+                || 'INSERT INTO task_status_counts AS c (status, stripe, count) '
+                || 'SELECT status, mod(pg_backend_pid(), 16), sum(delta) FROM changes '
+                || 'GROUP BY status HAVING sum(delta) <> 0 ORDER BY status '
+                || 'ON CONFLICT (status, stripe) DO UPDATE SET count = c.count + excluded.count) '
+                || 'INSERT INTO user_task_counts AS c (user_id, status, count) '
+                || 'SELECT user_id, status, sum(delta) FROM changes WHERE user_id IS NOT NULL '
+                || 'GROUP BY user_id, status HAVING sum(delta) <> 0 ORDER BY user_id, status '
+                || 'ON CONFLICT (user_id, status) DO UPDATE SET count = c.count + excluded.count',
+            changes);
+    RETURN NULL;
+END
+$$;
+
+-- Transition tables require one trigger per event. Updates that change neither status nor user
+-- net out to no change.
+DROP TRIGGER IF EXISTS tasks_count_insert ON tasks;
+CREATE TRIGGER tasks_count_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION count_task_changes();
+
+DROP TRIGGER IF EXISTS tasks_count_update ON tasks;
+CREATE TRIGGER tasks_count_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION count_task_changes();
+
+DROP TRIGGER IF EXISTS tasks_count_delete ON tasks;
+CREATE TRIGGER tasks_count_delete
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION count_task_changes();
+
+-- Creating the triggers locks out writes until the migration commits, so the initial counts are exact.
+TRUNCATE task_status_counts, user_task_counts;
+
+INSERT INTO task_status_counts (status, stripe, count)
+SELECT status, 0, count(*)
+FROM tasks
+GROUP BY status;
+
+INSERT INTO user_task_counts (user_id, status, count)
+SELECT user_id, status, count(*)
+FROM tasks
+WHERE user_id IS NOT NULL
+GROUP BY user_id, status;
@@ -0,0 +1,77 @@
+-- Change versions for delta sync. Every insert and every update that changes a row stamps it with
+-- the id of the writing transaction; deletes leave a tombstone stamped the same way. Transaction ids
+-- are handed out in increasing order but commit in any order, so readers only trust versions below
+-- the oldest transaction still running (the xmin of their snapshot) to be complete.
+-- Existing rows keep version 0 and are returned by every full sync.
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS task_tombstones
+(
+    task_id        BIGINT PRIMARY KEY,
+    change_version BIGINT      NOT NULL,
+    deleted_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_change_version ON task_tombstones (change_version);
+
+-- Versions up to which tombstones may have been purged; syncs from older versions start over.
+CREATE TABLE IF NOT EXISTS task_sync_horizon
+(
+    id      BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    version BIGINT NOT NULL
+);
+
+INSERT INTO task_sync_horizon (version)
+VALUES (0)
+ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION stamp_task_change_version() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        -- The version is not writable; rows written with their current values keep it.
+        NEW.change_version := OLD.change_version;
+        IF NEW IS NOT DISTINCT FROM OLD THEN
+            RETURN NEW;
+        END IF;
+    END IF;
+    NEW.change_version := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS tasks_stamp_change_version ON tasks;
+CREATE TRIGGER tasks_stamp_change_version
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION stamp_task_change_version();
+
+CREATE OR REPLACE FUNCTION record_task_tombstones() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO task_tombstones AS t (task_id, change_version)
+        SELECT id, pg_current_xact_id()::text::bigint
+        FROM old_rows
+        ON CONFLICT (task_id) DO UPDATE SET change_version = excluded.change_version, deleted_at = now();
+    ELSE
+        -- A task inserted again under its old id, e.g. moved back to a shard, is no longer deleted.
+        DELETE FROM task_tombstones WHERE task_id IN (SELECT id FROM new_rows);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS tasks_tombstone_delete ON tasks;
+CREATE TRIGGER tasks_tombstone_delete
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_task_tombstones();
+
+DROP TRIGGER IF EXISTS tasks_tombstone_insert ON tasks;
+CREATE TRIGGER tasks_tombstone_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_task_tombstones();
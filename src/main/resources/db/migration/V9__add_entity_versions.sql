@@ -0,0 +1,28 @@
+-- Entity versions for optimistic locking and ETags. Spring Data advances the version of the entities
+-- it saves itself; every other change of a task, by the repository statements, bulk statements or the
+-- foreign key action on user deletion, is advanced by the change version trigger. Updates that change
+-- nothing keep their version, like their change version.
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION stamp_task_change_version() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        -- The version is not writable; rows written with their current values keep it.
+        NEW.change_version := OLD.change_version;
+        IF NEW IS NOT DISTINCT FROM OLD THEN
+            RETURN NEW;
+        END IF;
+        IF NEW.version = OLD.version THEN
+            NEW.version := OLD.version + 1;
+        END IF;
+    END IF;
+    NEW.change_version := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$;
@@ -0,0 +1,19 @@
+-- Task shard schema. Ids are generated by the application (TaskIdGenerator) and users live on the
+-- primary database, so there is no serial and no foreign key; user references are validated by the application.
+CREATE TABLE IF NOT EXISTS tasks
+(
+    id            BIGINT PRIMARY KEY,
+    title         VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    creation_date DATE         NOT NULL,
+    status        VARCHAR(50)  NOT NULL CHECK (status IN ('NEW', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    user_id       BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks (user_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id_status ON tasks (user_id, status, id);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_creation_date ON tasks (creation_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_active ON tasks (status, id) WHERE status IN ('NEW', 'IN_PROGRESS');
@@ -0,0 +1,3 @@
+-- Trigram operator classes for title substring filters (ILIKE '%...%'), which a btree index cannot serve.
+-- pg_trgm is a trusted extension, so the database owner can create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,16 @@
+-- Indexes for the filtered task listing. Every filter combination is ordered by id, so the
+-- indexes end with id and keyset pages stop after reading one page of index entries.
+-- Built concurrently so the migration does not lock writes on existing tables.
+
+-- Tasks by any status in id order. The smaller partial index on the active statuses is kept
+-- for the listings of open tasks, which are the most frequent ones.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status ON tasks (status, id);
+
+-- Tasks by status within a creation date range.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status_creation_date ON tasks (status, creation_date, id);
+
+-- Tasks of a user within a creation date range.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id_creation_date ON tasks (user_id, creation_date, id);
+
+-- Title substrings; combined with the btree indexes above through bitmap scans.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_title_trgm ON tasks USING gin (title gin_trgm_ops);
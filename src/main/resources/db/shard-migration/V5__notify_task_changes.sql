@@ -0,0 +1,63 @@
+-- Publishes every change of a task on the task_changes channel, delivered to listeners when the
+-- writing transaction commits. A statement's changes are sent as JSON arrays of up to 40 changes, one
+-- notification per batch rather than one per row, so a bulk statement does not flood the notification
+-- queue. Payloads carry the keys a subscriber filters on, not the task data, and leave out null keys,
+-- so a batch of the largest changes stays well below the notification size limit.
+CREATE OR REPLACE FUNCTION notify_task_changes() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('task_changes', json_strip_nulls(json_agg(c.change ORDER BY c.id))::text)
+        FROM (SELECT n.id,
+                     (row_number() OVER (ORDER BY n.id) - 1) / 40 AS batch,
+                     json_build_object('type', 'CREATED', 'taskId', n.id, 'userId', n.user_id,
+                                       'status', n.status) AS change
+              FROM new_rows n) c
+        GROUP BY c.batch
+        ORDER BY c.batch;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('task_changes', json_strip_nulls(json_agg(c.change ORDER BY c.id))::text)
+        FROM (SELECT o.id,
+                     (row_number() OVER (ORDER BY o.id) - 1) / 40 AS batch,
+                     json_build_object('type', 'DELETED', 'taskId', o.id, 'userId', o.user_id,
+                                       'status', o.status) AS change
+              FROM old_rows o) c
+        GROUP BY c.batch
+        ORDER BY c.batch;
+    ELSE
+        -- Rows written with their current values are not changes.
+        PERFORM pg_notify('task_changes', json_strip_nulls(json_agg(c.change ORDER BY c.id))::text)
+        FROM (SELECT n.id,
+                     (row_number() OVER (ORDER BY n.id) - 1) / 40 AS batch,
+                     json_build_object(
+                             'type', CASE WHEN o.user_id IS DISTINCT FROM n.user_id THEN 'ASSIGNED' ELSE 'UPDATED' END,
+                             'taskId', n.id, 'userId', n.user_id, 'status', n.status,
+                             'previousUserId', o.user_id, 'previousStatus', o.status) AS change
+              FROM old_rows o
+                       JOIN new_rows n ON n.id = o.id
+              WHERE o IS DISTINCT FROM n) c
+        GROUP BY c.batch
+        ORDER BY c.batch;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS tasks_notify_insert ON tasks;
+CREATE TRIGGER tasks_notify_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_changes();
+
+DROP TRIGGER IF EXISTS tasks_notify_update ON tasks;
+CREATE TRIGGER tasks_notify_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_changes();
+
+DROP TRIGGER IF EXISTS tasks_notify_delete ON tasks;
+CREATE TRIGGER tasks_notify_delete
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_changes();
@@ -0,0 +1,2 @@
+-- Tasks changed since a sync version. Built concurrently so the migration does not lock writes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_change_version ON tasks (change_version);
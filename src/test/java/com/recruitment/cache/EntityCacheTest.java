@@ -0,0 +1,81 @@
+package com.recruitment.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldLoadOnceAndServeRepeatedLookupsFromCache() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(), registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.get(1L, id -> Mono.fromCallable(() -> "value-" + loads.incrementAndGet())))
+                    .expectNext("value-1")
+                    .verifyComplete();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidationAndServeUpdatedValueAfterPut() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(), registry);
+
+        StepVerifier.create(cache.get(1L, id -> Mono.just("old"))).expectNext("old").verifyComplete();
+        cache.put(1L, "updated");
+        StepVerifier.create(cache.get(1L, id -> Mono.just("loaded"))).expectNext("updated").verifyComplete();
+        cache.invalidate(1L);
+        StepVerifier.create(cache.get(1L, id -> Mono.just("loaded"))).expectNext("loaded").verifyComplete();
+    }
+
+    @Test
+    void shouldNotCacheValueLoadedWhileInvalidated() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(), registry);
+        Sinks.One<String> staleLoad = Sinks.one();
+
+        StepVerifier.create(cache.get(1L, id -> staleLoad.asMono()))
+                .then(() -> {
+                    cache.invalidate(1L);
+                    staleLoad.tryEmitValue("stale");
+                })
+                .expectNext("stale")
+                .verifyComplete();
+        StepVerifier.create(cache.get(1L, id -> Mono.just("fresh"))).expectNext("fresh").verifyComplete();
+    }
+
+    @Test
+    void shouldNotCacheMissingEntities() {
+        EntityCache<String> cache = EntityCache.create("test", new EntityCacheProperties(), registry);
+
+        StepVerifier.create(cache.get(1L, id -> Mono.empty())).verifyComplete();
+        StepVerifier.create(cache.get(1L, id -> Mono.just("created"))).expectNext("created").verifyComplete();
+    }
+
+    @Test
+    void shouldBypassCacheWhenDisabled() {
+        EntityCacheProperties properties = new EntityCacheProperties();
+        properties.setEnabled(false);
+        properties.setExpireAfterWrite(Duration.ofSeconds(1));
+        EntityCache<String> cache = EntityCache.create("test", properties, registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.put(1L, "ignored");
+        cache.get(1L, id -> Mono.fromCallable(() -> "value-" + loads.incrementAndGet())).block();
+        StepVerifier.create(cache.get(1L, id -> Mono.fromCallable(() -> "value-" + loads.incrementAndGet())))
+                .expectNext("value-2")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,58 @@
+package com.recruitment.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashSetTest {
+
+    @Test
+    void shouldContainAddedValuesAcrossResizes() {
+        LongHashSet set = new LongHashSet(4);
+
+        LongStream.rangeClosed(1, 10_000).forEach(set::add);
+
+        assertThat(set.size()).isEqualTo(10_000);
+        assertThat(LongStream.rangeClosed(1, 10_000).allMatch(set::contains)).isTrue();
+        assertThat(set.contains(10_001)).isFalse();
+        assertThat(set.contains(0)).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreDuplicates() {
+        LongHashSet set = new LongHashSet(16);
+
+        assertThat(set.add(42)).isTrue();
+        assertThat(set.add(42)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectNonPositiveValues() {
+        LongHashSet set = new LongHashSet(16);
+
+        assertThatThrownBy(() -> set.add(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldAcceptConcurrentAdditions() throws InterruptedException {
+        LongHashSet set = new LongHashSet(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            long offset = t * 5_000L;
+            executor.execute(() -> LongStream.rangeClosed(offset + 1, offset + 5_000).forEach(set::add));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(set.size()).isEqualTo(40_000);
+        assertThat(LongStream.rangeClosed(1, 40_000).allMatch(set::contains)).isTrue();
+    }
+}
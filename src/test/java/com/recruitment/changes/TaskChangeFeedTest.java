@@ -0,0 +1,69 @@
+package com.recruitment.changes;
+
+import com.recruitment.dto.TaskChangeEvent;
+import com.recruitment.enums.TaskChangeType;
+import com.recruitment.enums.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TaskChangeFeed feed = new TaskChangeFeed(2, registry);
+
+    @Test
+    void shouldDeliverChangesMatchingBeforeOrAfterTheChange() {
+        StepVerifier.create(feed.changes(7L, TaskStatus.COMPLETED))
+                .then(() -> {
+                    feed.publish(event(1L, TaskChangeType.CREATED, 7L, TaskStatus.NEW, null, null));
+                    feed.publish(event(2L, TaskChangeType.UPDATED, 8L, TaskStatus.COMPLETED, 8L, TaskStatus.NEW));
+                    feed.publish(event(3L, TaskChangeType.UPDATED, 7L, TaskStatus.COMPLETED, 7L, TaskStatus.NEW));
+                    feed.publish(event(4L, TaskChangeType.ASSIGNED, 8L, TaskStatus.COMPLETED, 7L,
+                            TaskStatus.COMPLETED));
+                })
+                .assertNext(event -> assertThat(event.getTaskId()).isEqualTo(3L))
+                .assertNext(event -> assertThat(event.getTaskId()).isEqualTo(4L))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldDropSubscriberThatFallsBehindWithoutAffectingOthers() {
+        StepVerifier fast = StepVerifier.create(feed.changes(null, null))
+                .expectNextCount(3)
+                .thenCancel()
+                .verifyLater();
+
+        StepVerifier.create(feed.changes(null, null), 0)
+                .then(() -> {
+                    for (long id = 1; id <= 3; id++) {
+                        feed.publish(event(id, TaskChangeType.CREATED, null, TaskStatus.NEW, null, null));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(event -> true)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify(Duration.ofSeconds(5));
+
+        fast.verify(Duration.ofSeconds(5));
+        assertThat(registry.counter("task.changes.overflows").count()).isEqualTo(1);
+    }
+
+    private static TaskChangeEvent event(Long taskId, TaskChangeType type, Long userId, TaskStatus status,
+                                         Long previousUserId, TaskStatus previousStatus) {
+        TaskChangeEvent event = new TaskChangeEvent();
+        event.setTaskId(taskId);
+        event.setType(type);
+        event.setUserId(userId);
+        event.setStatus(status);
+        event.setPreviousUserId(previousUserId);
+        event.setPreviousStatus(previousStatus);
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.recruitment.config;
+
+import com.recruitment.repository.ReadOnlyRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingConnectionFactoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Connection primaryConnection = Mockito.mock(Connection.class);
+    private final Connection replicaConnection = Mockito.mock(Connection.class);
+    private final ConnectionFactory primary = factory(Mono.just(primaryConnection));
+
+    @Test
+    void shouldRouteOnlyReadOnlyOperationsToReplica() {
+        ReplicaRoutingConnectionFactory routing = routing(factory(Mono.just(replicaConnection)));
+
+        StepVerifier.create(routing.create()).expectNext(primaryConnection).verifyComplete();
+        StepVerifier.create(routing.create().contextWrite(ReadOnlyRouting::readOnly))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUsePrimaryWhenPinned() {
+        ReplicaRoutingConnectionFactory routing = routing(factory(Mono.just(replicaConnection)));
+
+        StepVerifier.create(routing.create()
+                        .contextWrite(ReadOnlyRouting::readOnly)
+                        .contextWrite(ReadOnlyRouting::pinToPrimary))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailOverToPrimaryAndSkipFailedReplicaDuringCooldown() {
+        ConnectionFactory failing = factory(Mono.error(new IllegalStateException("replica down")));
+        ReplicaRoutingConnectionFactory routing = routing(failing);
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(routing.create().contextWrite(ReadOnlyRouting::readOnly))
+                    .expectNext(primaryConnection)
+                    .verifyComplete();
+        }
+
+        Mockito.verify(failing, Mockito.times(1)).create();
+        assertThat(registry.get(ReplicaRoutingConnectionFactory.FAILOVER_COUNTER).counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private ReplicaRoutingConnectionFactory routing(ConnectionFactory replica) {
+        return new ReplicaRoutingConnectionFactory(primary, List.of(replica), Duration.ofMinutes(1), registry);
+    }
+
+    private static ConnectionFactory factory(Mono<Connection> connection) {
+        ConnectionFactory factory = Mockito.mock(ConnectionFactory.class);
+        Mockito.doReturn(connection).when(factory).create();
+        return factory;
+    }
+}
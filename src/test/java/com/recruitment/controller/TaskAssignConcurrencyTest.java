@@ -0,0 +1,107 @@
+package com.recruitment.controller;
+
+import com.recruitment.cache.EntityCache;
+import com.recruitment.changes.TaskChangeFeed;
+import com.recruitment.cache.UserIdIndex;
+import com.recruitment.dto.TaskResponse;
+import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.idempotency.IdempotentRequests;
+import com.recruitment.mapper.TaskMapper;
+import com.recruitment.repository.TaskRepository;
+import com.recruitment.repository.UserRepository;
+import com.recruitment.search.TaskSearchIndex;
+import com.recruitment.service.TaskServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+@WebFluxTest(TaskController.class)
+@Import({TaskServiceImpl.class, TaskMapper.class, IdempotentRequests.class})
+class TaskAssignConcurrencyTest {
+
+    private static final int REQUESTS = 2000;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private EntityCache<TaskResponse> taskCache;
+
+    @MockBean
+    private UserIdIndex userIdIndex;
+
+    @MockBean
+    private TaskSearchIndex taskSearchIndex;
+
+    @MockBean
+    private TaskChangeFeed taskChangeFeed;
+
+    @Test
+    void shouldAssignTasksConcurrentlyWithoutBlockingThreads() {
+        Set<Thread> repositoryThreads = ConcurrentHashMap.newKeySet();
+        Set<Thread> mappingThreads = ConcurrentHashMap.newKeySet();
+
+        Mockito.when(taskRepository.assignToUser(anyLong(), anyLong()))
+                .thenAnswer(invocation -> Mono.fromCallable(() -> {
+                            repositoryThreads.add(Thread.currentThread());
+                            return task(invocation.getArgument(0), invocation.getArgument(1));
+                        })
+                        .delayElement(Duration.ofMillis(1))
+                        .doOnNext(task -> mappingThreads.add(Thread.currentThread())));
+
+        Long completed = Flux.range(1, REQUESTS)
+                .flatMap(i -> Mono.fromCallable(() -> webTestClient.put()
+                                        .uri("/tasks/{taskId}/assign/{userId}", i, 7)
+                                        .exchange()
+                                        .expectStatus().isOk()
+                                        .expectBody(TaskResponse.class)
+                                        .returnResult()
+                                        .getResponseBody())
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        64)
+                .doOnNext(resp -> assertThat(resp.getUserId()).isEqualTo(7L))
+                .count()
+                .block(Duration.ofMinutes(1));
+
+        assertThat(completed).isEqualTo(REQUESTS);
+        assertThat(repositoryThreads).noneMatch(ForkJoinWorkerThread.class::isInstance);
+        assertThat(mappingThreads).allMatch(Schedulers::isNonBlockingThread);
+        Mockito.verify(taskRepository, Mockito.times(REQUESTS)).assignToUser(anyLong(), anyLong());
+        Mockito.verify(taskRepository, Mockito.never()).findById(anyLong());
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    private static Task task(Long taskId, Long userId) {
+        Task task = new Task();
+        task.setId(taskId);
+        task.setTitle("Task " + taskId);
+        task.setDescription("Task description");
+        task.setCreationDate(LocalDate.now());
+        task.setStatus(TaskStatus.NEW);
+        task.setUserId(userId);
+        return task;
+    }
+}
@@ -1,11 +1,22 @@
 package com.recruitment.controller;
 
+import com.recruitment.changes.TaskChangeFeed;
+import com.recruitment.dto.TaskBatchItemResponse;
+import com.recruitment.dto.TaskBulkStatusRequest;
+import com.recruitment.dto.TaskChangeEvent;
+import com.recruitment.dto.TaskFilter;
 import com.recruitment.dto.TaskRequest;
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.TaskSummaryResponse;
+import com.recruitment.dto.TaskSyncItem;
 import com.recruitment.dto.TaskUpdateRequest;
+import com.recruitment.enums.BatchItemStatus;
+import com.recruitment.enums.TaskChangeType;
 import com.recruitment.enums.TaskStatus;
+import com.recruitment.exception.PreconditionFailedException;
 import com.recruitment.exception.TaskNotFoundException;
+import com.recruitment.idempotency.IdempotentRequests;
 import com.recruitment.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,18 +24,34 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 
 @WebFluxTest(TaskController.class)
+@Import(IdempotentRequests.class)
 class TaskControllerTest {
 
     @Autowired
@@ -33,6 +60,9 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskChangeFeed taskChangeFeed;
+
     private TaskResponse taskResponse;
     private TaskSummaryResponse taskSummaryResponse;
 
@@ -45,6 +75,7 @@ class TaskControllerTest {
         taskResponse.setUserId(1L);
         taskResponse.setStatus(TaskStatus.NEW);
         taskResponse.setCreationDate(LocalDate.now());
+        taskResponse.setVersion(3L);
 
         taskSummaryResponse = new TaskSummaryResponse();
         taskSummaryResponse.setId(1L);
@@ -73,6 +104,72 @@ class TaskControllerTest {
                 .value(resp -> assertThat(resp.getTitle()).isEqualTo("Test Task"));
     }
 
+    @Test
+    void shouldCreateTaskOnceForRetriesWithSameIdempotencyKey() {
+        Mockito.when(taskService.save(any(TaskRequest.class)))
+                .thenReturn(Mono.just(taskResponse).delayElement(Duration.ofMillis(50)));
+
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Test Task");
+        request.setDescription("Task description");
+
+        List<Long> ids = Flux.range(0, 3)
+                .flatMap(i -> Mono.fromCallable(() -> webTestClient.post()
+                        .uri("/tasks")
+                        .header("Idempotency-Key", "create-once")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(request)
+                        .exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(TaskResponse.class)
+                        .returnResult()
+                        .getResponseBody()
+                        .getId()).subscribeOn(Schedulers.boundedElastic()))
+                .collectList()
+                .block();
+
+        assertThat(ids).containsOnly(1L).hasSize(3);
+        Mockito.verify(taskService, Mockito.times(1)).save(any(TaskRequest.class));
+
+        request.setTitle("Another Task");
+        webTestClient.post()
+                .uri("/tasks")
+                .header("Idempotency-Key", "create-once")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void shouldCreateTasksInBatch() {
+        TaskBatchItemResponse created = new TaskBatchItemResponse();
+        created.setIndex(0);
+        created.setStatus(BatchItemStatus.CREATED);
+        created.setTask(taskResponse);
+        TaskBatchItemResponse rejected = new TaskBatchItemResponse();
+        rejected.setIndex(1);
+        rejected.setStatus(BatchItemStatus.REJECTED);
+        rejected.setError("Title cannot be empty");
+        Mockito.when(taskService.saveAll(anyList())).thenReturn(Flux.just(created, rejected));
+
+        TaskRequest valid = new TaskRequest();
+        valid.setTitle("Test Task");
+        TaskRequest invalid = new TaskRequest();
+
+        webTestClient.post()
+                .uri("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(valid, invalid))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskBatchItemResponse.class)
+                .hasSize(2)
+                .value(list -> assertThat(list.get(1).getStatus()).isEqualTo(BatchItemStatus.REJECTED));
+
+        Mockito.verify(taskService).saveAll(argThat(requests -> requests.size() == 2));
+    }
+
     @Test
     void shouldFetchAllTasks() {
         Mockito.when(taskService.findAll(0, 10)).thenReturn(Flux.just(taskSummaryResponse));
@@ -90,6 +187,153 @@ class TaskControllerTest {
                 .value(list -> assertThat(list.get(0).getTitle()).isEqualTo("Test Task"));
     }
 
+    @Test
+    void shouldFetchTasksMatchingFilter() {
+        Mockito.when(taskService.findAllAfter(any(TaskFilter.class), eq(5L), eq(10)))
+                .thenReturn(Flux.just(taskSummaryResponse));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/tasks")
+                        .queryParam("cursor", PageCursor.encode(5L))
+                        .queryParam("status", "NEW")
+                        .queryParam("userId", 2)
+                        .queryParam("createdFrom", "2024-01-01")
+                        .queryParam("title", "test")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskSummaryResponse.class)
+                .hasSize(1);
+
+        Mockito.verify(taskService).findAllAfter(argThat(filter -> filter.getStatus() == TaskStatus.NEW
+                && filter.getUserId() == 2L
+                && LocalDate.of(2024, 1, 1).equals(filter.getCreatedFrom())
+                && "test".equals(filter.getTitle())), eq(5L), eq(10));
+    }
+
+    @Test
+    void shouldFetchTaskStats() {
+        TaskStatsResponse stats = new TaskStatsResponse();
+        stats.setTotal(5);
+        stats.setByStatus(Map.of(TaskStatus.NEW, 4L, TaskStatus.CANCELLED, 1L));
+        Mockito.when(taskService.getStats()).thenReturn(Mono.just(stats));
+
+        webTestClient.get()
+                .uri("/tasks/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(5)
+                .jsonPath("$.byStatus.CANCELLED").isEqualTo(1);
+    }
+
+    @Test
+    void shouldSearchTasks() {
+        Mockito.when(taskService.search("release notes", 10)).thenReturn(Flux.just(taskSummaryResponse));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/tasks/search").queryParam("q", "release notes").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskSummaryResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldFetchTasksAfterCursorAndReturnNextCursor() {
+        Mockito.when(taskService.findAllAfter(5L, 1)).thenReturn(Flux.just(taskSummaryResponse));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/tasks")
+                        .queryParam("cursor", PageCursor.encode(5L))
+                        .queryParam("size", 1)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(PageCursor.NEXT_CURSOR_HEADER, PageCursor.encode(1L))
+                .expectBodyList(TaskSummaryResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        webTestClient.get()
+                .uri("/tasks?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldStreamTasksAsNdjson() {
+        Mockito.when(taskService.streamAll(0L)).thenReturn(Flux.just(taskSummaryResponse, taskSummaryResponse));
+
+        Flux<TaskSummaryResponse> body = webTestClient.get()
+                .uri("/tasks/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskSummaryResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSyncTasksSinceToken() {
+        TaskSyncItem changed = new TaskSyncItem();
+        changed.setTask(taskResponse);
+        TaskSyncItem deleted = new TaskSyncItem();
+        deleted.setDeletedId(7L);
+        TaskSyncItem end = new TaskSyncItem();
+        end.setNextToken("next");
+        end.setFull(false);
+        Mockito.when(taskService.sync("token")).thenReturn(Flux.just(changed, deleted, end));
+
+        webTestClient.get()
+                .uri("/tasks/sync?since=token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].task.id").isEqualTo(1)
+                .jsonPath("$[1].deletedId").isEqualTo(7)
+                .jsonPath("$[2].nextToken").isEqualTo("next")
+                .jsonPath("$[2].full").isEqualTo(false);
+    }
+
+    @Test
+    void shouldStreamTaskChangesUntilOverflow() {
+        TaskChangeEvent event = new TaskChangeEvent();
+        event.setType(TaskChangeType.ASSIGNED);
+        event.setTaskId(1L);
+        event.setUserId(7L);
+        event.setStatus(TaskStatus.NEW);
+        Mockito.when(taskChangeFeed.changes(7L, null))
+                .thenReturn(Flux.just(event).concatWith(Flux.error(Exceptions.failWithOverflow())));
+
+        Flux<ServerSentEvent<TaskChangeEvent>> body = webTestClient.get()
+                .uri("/tasks/changes?userId=7")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<TaskChangeEvent>>() {
+                })
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .assertNext(change -> {
+                    assertThat(change.event()).isEqualTo("assigned");
+                    assertThat(change.data().getTaskId()).isEqualTo(1L);
+                })
+                .assertNext(change -> assertThat(change.event()).isEqualTo("overflow"))
+                .verifyComplete();
+    }
+
     @Test
     void shouldGetTaskById() {
         Mockito.when(taskService.getTaskById(1L)).thenReturn(Mono.just(taskResponse));
@@ -98,13 +342,26 @@ class TaskControllerTest {
                 .uri("/tasks/1")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
                 .expectBody(TaskResponse.class)
                 .value(resp -> assertThat(resp.getId()).isEqualTo(1L));
     }
 
+    @Test
+    void shouldAnswerNotModifiedWhenETagMatches() {
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(Mono.just(taskResponse));
+
+        webTestClient.get()
+                .uri("/tasks/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     @Test
     void shouldUpdateTask() {
-        Mockito.when(taskService.updateTask(any(TaskUpdateRequest.class), eq(1L)))
+        Mockito.when(taskService.updateTask(any(TaskUpdateRequest.class), eq(1L), eq(Set.of())))
                 .thenReturn(Mono.just(taskResponse));
 
         TaskUpdateRequest updateRequest = new TaskUpdateRequest();
@@ -122,9 +379,53 @@ class TaskControllerTest {
                 .value(resp -> assertThat(resp.getTitle()).isEqualTo("Test Task"));
     }
 
+    @Test
+    void shouldRejectUpdateWhenETagDoesNotMatch() {
+        Mockito.when(taskService.partialUpdate(any(TaskUpdateRequest.class), eq(1L), eq(Set.of(3L))))
+                .thenReturn(Mono.error(new PreconditionFailedException("Task with id: 1 has changed.")));
+
+        TaskUpdateRequest updateRequest = new TaskUpdateRequest();
+        updateRequest.setTitle("Partially Updated");
+
+        webTestClient.patch()
+                .uri("/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        webTestClient.patch()
+                .uri("/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        Mockito.verify(taskService).partialUpdate(any(TaskUpdateRequest.class), eq(1L), eq(Set.of(3L)));
+    }
+
+    @Test
+    void shouldMatchAnyStrongTagInIfMatchList() {
+        Mockito.when(taskService.partialUpdate(any(TaskUpdateRequest.class), eq(1L), eq(Set.of(2L, 3L))))
+                .thenReturn(Mono.just(taskResponse));
+
+        TaskUpdateRequest updateRequest = new TaskUpdateRequest();
+        updateRequest.setTitle("Partially Updated");
+
+        webTestClient.patch()
+                .uri("/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\", W/\"4\", \"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     void shouldPartialUpdateTask() {
-        Mockito.when(taskService.partialUpdate(any(TaskUpdateRequest.class), eq(1L)))
+        Mockito.when(taskService.partialUpdate(any(TaskUpdateRequest.class), eq(1L), eq(Set.of())))
                 .thenReturn(Mono.just(taskResponse));
 
         TaskUpdateRequest updateRequest = new TaskUpdateRequest();
@@ -150,6 +451,42 @@ class TaskControllerTest {
                 .expectStatus().isNoContent();
     }
 
+    @Test
+    void shouldUpdateStatusInBulk() {
+        Mockito.when(taskService.updateStatus(any(TaskBulkStatusRequest.class))).thenReturn(Flux.just(1L, 2L));
+
+        TaskFilter filter = new TaskFilter();
+        filter.setIds(List.of(1L, 2L, 3L));
+        TaskBulkStatusRequest request = new TaskBulkStatusRequest();
+        request.setStatus("COMPLETED");
+        request.setFilter(filter);
+
+        webTestClient.patch()
+                .uri("/tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Long.class)
+                .value(ids -> assertThat(ids).containsExactly(1L, 2L));
+    }
+
+    @Test
+    void shouldDeleteTasksInBulkByFilter() {
+        Mockito.when(taskService.deleteTasks(any(TaskFilter.class))).thenReturn(Flux.just(4L));
+
+        webTestClient.delete()
+                .uri("/tasks?userId=1&status=CANCELLED&createdTo=2024-01-31")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Long.class)
+                .value(ids -> assertThat(ids).containsExactly(4L));
+
+        Mockito.verify(taskService).deleteTasks(argThat(filter -> filter.getUserId() == 1L
+                && filter.getStatus() == TaskStatus.CANCELLED
+                && LocalDate.of(2024, 1, 31).equals(filter.getCreatedTo())));
+    }
+
     @Test
     void shouldReturnNotFoundWhenTaskDoesNotExist() {
         Mockito.when(taskService.getTaskById(2L))
@@ -160,4 +497,21 @@ class TaskControllerTest {
                 .exchange()
                 .expectStatus().isNotFound();
     }
+
+    @Test
+    void shouldReturnNotFoundWhenReferencedUserViolatesForeignKey() {
+        Mockito.when(taskService.partialUpdate(any(TaskUpdateRequest.class), eq(1L), eq(Set.of())))
+                .thenReturn(Mono.error(new DataIntegrityViolationException(
+                        "insert or update on table \"tasks\" violates foreign key constraint \"fk_tasks_user\"")));
+
+        TaskUpdateRequest updateRequest = new TaskUpdateRequest();
+        updateRequest.setUserId(99L);
+
+        webTestClient.patch()
+                .uri("/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
 }
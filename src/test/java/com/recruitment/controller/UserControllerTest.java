@@ -1,8 +1,10 @@
 package com.recruitment.controller;
 
 import com.recruitment.dto.TaskResponse;
+import com.recruitment.dto.TaskStatsResponse;
 import com.recruitment.dto.UserRequest;
 import com.recruitment.dto.UserResponse;
+import com.recruitment.enums.TaskStatus;
 import com.recruitment.exception.UserNotFoundException;
 import com.recruitment.service.TaskService;
 import com.recruitment.service.UserService;
@@ -16,6 +18,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -84,6 +89,22 @@ class UserControllerTest {
                 .value(list -> assertThat(list.get(0).getName()).isEqualTo("John"));
     }
 
+    @Test
+    void shouldFetchUsersAfterCursor() {
+        Mockito.when(userService.findAllAfter(3L, 10)).thenReturn(Flux.just(userResponse));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/users")
+                        .queryParam("cursor", PageCursor.encode(3L))
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(PageCursor.NEXT_CURSOR_HEADER)
+                .expectBodyList(UserResponse.class)
+                .hasSize(1);
+    }
+
     @Test
     void shouldGetUserById() {
         Mockito.when(userService.getUserById(1L)).thenReturn(Mono.just(userResponse));
@@ -97,19 +118,107 @@ class UserControllerTest {
     }
 
     @Test
-    void shouldFetchUserTasks() {
-        Mockito.when(userService.getUserTasks(1L))
+    void shouldFetchFirstPageOfUserTasksByDefault() {
+        Mockito.when(userService.getUserTasks(1L, 0L, null, 10))
                 .thenReturn(Flux.just(taskResponse));
 
         webTestClient.get()
                 .uri("/users/1/tasks")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().doesNotExist(PageCursor.NEXT_CURSOR_HEADER)
                 .expectBodyList(TaskResponse.class)
                 .hasSize(1)
                 .value(list -> assertThat(list.get(0).getTitle()).isEqualTo("Test Task"));
     }
 
+    @Test
+    void shouldFetchUserTasksPageByStatusAfterCursor() {
+        Mockito.when(userService.getUserTasks(1L, 5L, "NEW", 1))
+                .thenReturn(Flux.just(taskResponse));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/users/1/tasks")
+                        .queryParam("cursor", PageCursor.encode(5L))
+                        .queryParam("status", "NEW")
+                        .queryParam("size", 1)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(PageCursor.NEXT_CURSOR_HEADER, PageCursor.encode(1L))
+                .expectBodyList(TaskResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldCapUserTasksPageSize() {
+        Mockito.when(userService.getUserTasks(1L, 0L, null, 1000))
+                .thenReturn(Flux.just(taskResponse));
+
+        webTestClient.get()
+                .uri("/users/1/tasks?size=1000000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldRejectNegativeUserTasksPageSize() {
+        webTestClient.get()
+                .uri("/users/1/tasks?size=-1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    void shouldReturnNotFoundForTasksOfMissingUser() {
+        Mockito.when(userService.getUserTasks(2L, 0L, null, 10))
+                .thenReturn(Flux.error(new UserNotFoundException("User with id: 2 was not found.")));
+
+        webTestClient.get()
+                .uri("/users/2/tasks")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldFetchUserTaskStats() {
+        TaskStatsResponse stats = new TaskStatsResponse();
+        stats.setTotal(3);
+        stats.setByStatus(Map.of(TaskStatus.NEW, 2L, TaskStatus.COMPLETED, 1L));
+        Mockito.when(userService.getUserTaskStats(1L)).thenReturn(Mono.just(stats));
+
+        webTestClient.get()
+                .uri("/users/1/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.byStatus.NEW").isEqualTo(2);
+    }
+
+    @Test
+    void shouldStreamUserTasksAsServerSentEvents() {
+        Mockito.when(userService.streamUserTasks(1L)).thenReturn(Flux.just(taskResponse));
+
+        Flux<TaskResponse> body = webTestClient.get()
+                .uri("/users/1/tasks/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(TaskResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .assertNext(task -> assertThat(task.getTitle()).isEqualTo("Test Task"))
+                .verifyComplete();
+    }
+
     @Test
     void shouldReturnNotFoundWhenUserDoesNotExist() {
         Mockito.when(userService.getUserById(2L))
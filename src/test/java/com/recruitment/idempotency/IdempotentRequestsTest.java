@@ -0,0 +1,180 @@
+package com.recruitment.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitment.exception.IdempotencyKeyInProgressException;
+import com.recruitment.exception.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotentRequestsTest {
+
+    private final MapStore store = new MapStore();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void shouldRunOnceAndReplayResponseForSameKey() {
+        IdempotentRequests requests = requests(store);
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(requests.execute("create", "key", "request", String.class, this::run))
+                    .expectNext("response-1")
+                    .verifyComplete();
+        }
+
+        assertThat(runs).hasValue(1);
+        StepVerifier.create(requests.execute("create", null, "request", String.class, this::run))
+                .expectNext("response-2")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldShareRunBetweenConcurrentRequests() {
+        IdempotentRequests requests = requests(store);
+        Mono<String> slow = Mono.delay(Duration.ofMillis(50)).then(Mono.fromCallable(this::response));
+
+        StepVerifier.create(Mono.zip(
+                        requests.execute("create", "key", "request", String.class, () -> slow),
+                        requests.execute("create", "key", "request", String.class, () -> slow)))
+                .assertNext(responses -> assertThat(responses.getT1()).isEqualTo(responses.getT2()))
+                .verifyComplete();
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        IdempotentRequests requests = requests(store);
+        requests.execute("create", "key", "request", String.class, this::run).block();
+
+        StepVerifier.create(requests.execute("create", "key", "other request", String.class, this::run))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+        StepVerifier.create(requests.execute("assign", "key", "other request", String.class, this::run))
+                .expectNext("response-2")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRunAgainAfterFailure() {
+        IdempotentRequests requests = requests(store);
+
+        StepVerifier.create(requests.execute("create", "key", "request", String.class,
+                        () -> Mono.error(new IllegalStateException("failed"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(requests.execute("create", "key", "request", String.class, this::run))
+                .expectNext("response-1")
+                .verifyComplete();
+        assertThat(store.responses).hasSize(1);
+    }
+
+    @Test
+    void shouldReplayResponseStoredByAnotherInstance() {
+        requests(store).execute("create", "key", "request", String.class, this::run).block();
+
+        StepVerifier.create(requests(store).execute("create", "key", "request", String.class, this::run))
+                .expectNext("response-1")
+                .verifyComplete();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectRetryWhileAnotherInstanceIsRunning() {
+        IdempotentRequests running = requests(store);
+        running.execute("create", "key", "request", String.class, Mono::never).subscribe();
+
+        StepVerifier.create(requests(store).execute("create", "key", "request", String.class, this::run))
+                .expectError(IdempotencyKeyInProgressException.class)
+                .verify();
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void shouldRetryStoringResponse() {
+        store.completeFailures.set(2);
+
+        StepVerifier.create(requests(store).execute("create", "key", "request", String.class, this::run))
+                .expectNext("response-1")
+                .verifyComplete();
+        assertThat(store.responses.values()).extracting(StoredResponse::body).containsExactly("\"response-1\"");
+    }
+
+    @Test
+    void shouldFailAndKeepClaimWhenResponseCannotBeStored() {
+        store.completeFailures.set(Integer.MAX_VALUE);
+
+        StepVerifier.create(requests(store).execute("create", "key", "request", String.class, this::run))
+                .expectErrorMessage("store unavailable")
+                .verify();
+        StepVerifier.create(requests(store).execute("create", "key", "request", String.class, this::run))
+                .expectError(IdempotencyKeyInProgressException.class)
+                .verify();
+        assertThat(runs).hasValue(1);
+    }
+
+    private Mono<String> run() {
+        return Mono.fromCallable(this::response);
+    }
+
+    private String response() {
+        return "response-" + runs.incrementAndGet();
+    }
+
+    private static IdempotentRequests requests(IdempotencyStore store) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.<String, Object>of("store", store));
+        ObjectProvider<IdempotencyStore> stores = beans.getBeanProvider(IdempotencyStore.class);
+        ObjectProvider<MeterRegistry> registry = beans.getBeanProvider(MeterRegistry.class);
+        return new IdempotentRequests(stores, new ObjectMapper(), registry, true, 100, Duration.ofHours(1),
+                Duration.ofMinutes(1));
+    }
+
+    /**
+     * Store shared by the instances of a test, without expiry.
+     */
+    private static final class MapStore implements IdempotencyStore {
+
+        private final Map<String, StoredResponse> responses = new ConcurrentHashMap<>();
+        private final AtomicInteger completeFailures = new AtomicInteger();
+
+        @Override
+        public Mono<Boolean> claim(String key, String requestHash, Instant now, Instant leaseUntil) {
+            return Mono.fromCallable(() -> responses.putIfAbsent(key, new StoredResponse(requestHash, null)) == null);
+        }
+
+        @Override
+        public Mono<StoredResponse> find(String key) {
+            return Mono.justOrEmpty(responses.get(key));
+        }
+
+        @Override
+        public Mono<Void> complete(String key, String body, Instant expiresAt) {
+            return Mono.defer(() -> completeFailures.getAndDecrement() > 0
+                    ? Mono.error(new IllegalStateException("store unavailable"))
+                    : Mono.fromRunnable(() -> responses.computeIfPresent(key,
+                            (k, claimed) -> new StoredResponse(claimed.requestHash(), body))));
+        }
+
+        @Override
+        public Mono<Void> release(String key) {
+            return Mono.fromRunnable(() -> responses.computeIfPresent(key,
+                    (k, claimed) -> claimed.body() == null ? null : claimed));
+        }
+
+        @Override
+        public Mono<Long> purge(Instant before) {
+            return Mono.just(0L);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.recruitment.metrics;
+
+import com.recruitment.cache.EntityCache;
+import com.recruitment.cache.UserIdIndex;
+import com.recruitment.entity.Task;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.exception.TaskNotFoundException;
+import com.recruitment.mapper.TaskMapper;
+import com.recruitment.repository.TaskRepository;
+import com.recruitment.repository.UserRepository;
+import com.recruitment.search.TaskSearchIndex;
+import com.recruitment.service.TaskService;
+import com.recruitment.service.TaskServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ServiceMetricsAspect aspect = new ServiceMetricsAspect(registry);
+    private final TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+
+    private final TaskService taskService = proxy(new TaskServiceImpl(proxy(taskRepository, TaskRepository.class),
+            new TaskMapper(), Mockito.mock(UserRepository.class), EntityCache.disabled(),
+            Mockito.mock(UserIdIndex.class), Mockito.mock(TaskSearchIndex.class)), TaskService.class);
+
+    @Test
+    void shouldTimeOperationAndCountRoundTrips() {
+        Mockito.when(taskRepository.findById(1L)).thenReturn(Mono.just(task()));
+
+        StepVerifier.create(taskService.getTaskById(1L)).expectNextCount(1).verifyComplete();
+
+        assertThat(registry.get(OperationMeters.TIMER)
+                .tags("service", "TaskService", "method", "getTaskById", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(OperationMeters.DB_ROUND_TRIPS).tag("method", "getTaskById")
+                .summary().totalAmount()).isEqualTo(1.0);
+        assertThat(registry.get(OperationMeters.IN_FLIGHT).tag("method", "getTaskById")
+                .gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldCountErrorsByExceptionType() {
+        Mockito.when(taskRepository.findById(2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.getTaskById(2L)).verifyError(TaskNotFoundException.class);
+
+        assertThat(registry.get(OperationMeters.ERRORS)
+                .tags("method", "getTaskById", "exception", "TaskNotFoundException")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get(OperationMeters.TIMER).tags("method", "getTaskById", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    private <T> T proxy(T target, Class<T> type) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(type);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static Task task() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Task");
+        task.setDescription("Task description");
+        task.setCreationDate(LocalDate.now());
+        task.setStatus(TaskStatus.NEW);
+        return task;
+    }
+}
@@ -0,0 +1,64 @@
+package com.recruitment.repository;
+
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.repository.memory.InMemoryStore;
+import com.recruitment.repository.memory.InMemoryTaskRepository;
+import com.recruitment.repository.memory.InMemoryUserRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRepositoryContractTest extends TaskRepositoryContract {
+
+    private final InMemoryStore store = new InMemoryStore(16, 16);
+    private final TaskRepository taskRepository = new InMemoryTaskRepository(store);
+    private final UserRepository userRepository = new InMemoryUserRepository(store);
+
+    @Override
+    protected TaskRepository taskRepository() {
+        return taskRepository;
+    }
+
+    @Override
+    protected UserRepository userRepository() {
+        return userRepository;
+    }
+
+    @Test
+    void shouldNotLeaveTasksAssignedToUserDeletedConcurrently() {
+        for (int round = 0; round < 100; round++) {
+            User user = new User();
+            user.setName("User");
+            Long userId = userRepository.save(user).block().getId();
+            CompletableFuture<Void> inserts = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 20; i++) {
+                    taskRepository.save(task(userId)).onErrorResume(e -> Mono.empty()).block();
+                }
+            });
+
+            userRepository.deleteById(userId).block();
+            inserts.join();
+
+            assertThat(userRepository.existsById(userId).block()).isFalse();
+            assertThat(taskRepository.findAll().collectList().block())
+                    .extracting(Task::getUserId)
+                    .doesNotContain(userId);
+        }
+    }
+
+    private static Task task(Long userId) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setCreationDate(LocalDate.now());
+        task.setStatus(TaskStatus.NEW);
+        task.setUserId(userId);
+        return task;
+    }
+}
@@ -0,0 +1,51 @@
+package com.recruitment.repository;
+
+import com.recruitment.repository.memory.InMemoryStore;
+import com.recruitment.repository.memory.InMemoryTaskRepository;
+import com.recruitment.repository.memory.InMemoryUserRepository;
+import com.recruitment.repository.memory.MappedJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+class JournaledRepositoryContractTest extends TaskRepositoryContract {
+
+    private final Path directory;
+    private final MappedJournal journal;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+
+    JournaledRepositoryContractTest() {
+        try {
+            directory = Files.createTempDirectory("journal");
+            journal = new MappedJournal(directory, 64 * 1024, Long.MAX_VALUE, Duration.ZERO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        InMemoryStore store = new InMemoryStore(16, 16, journal);
+        journal.replay(store);
+        taskRepository = new InMemoryTaskRepository(store);
+        userRepository = new InMemoryUserRepository(store);
+    }
+
+    @AfterEach
+    void closeJournal() throws IOException {
+        journal.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Override
+    protected TaskRepository taskRepository() {
+        return taskRepository;
+    }
+
+    @Override
+    protected UserRepository userRepository() {
+        return userRepository;
+    }
+}
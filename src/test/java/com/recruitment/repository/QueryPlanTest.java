@@ -0,0 +1,212 @@
+package com.recruitment.repository;
+
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.enums.TaskStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.r2dbc.repository.Query;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs EXPLAIN for every repository query against an embedded PostgreSQL with the
+ * migrated schema and fails if a plan falls back to a sequential scan.
+ * Sequential scans are disabled for the session, so the planner only picks one
+ * when no index can serve the query.
+ */
+class QueryPlanTest {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+
+    private static final Map<String, String> PARAMETER_VALUES = Map.ofEntries(
+            Map.entry("id", "1"),
+            Map.entry("ids", "ARRAY[1, 2]::bigint[]"),
+            Map.entry("taskId", "1"),
+            Map.entry("userId", "1"),
+            Map.entry("lastId", "0"),
+            Map.entry("size", "10"),
+            Map.entry("offset", "0"),
+            Map.entry("status", "'NEW'"),
+            Map.entry("newStatus", "'COMPLETED'"),
+            Map.entry("title", "'title'"),
+            Map.entry("description", "'description'"),
+            Map.entry("createdFrom", "DATE '2024-01-01'"),
+            Map.entry("createdTo", "DATE '2024-01-31'"),
+            Map.entry("titlePattern", "'%task 12%'"),
+            Map.entry("since", "1000000"),
+            Map.entry("version", "1"));
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startDatabase() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (name) SELECT 'user ' || g FROM generate_series(1, 1000) g");
+            statement.execute("INSERT INTO tasks (title, description, creation_date, status, user_id) " +
+                    "SELECT 'task ' || g, 'description', DATE '2024-01-01' + (g % 365), " +
+                    "(ARRAY['NEW', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'])[1 + g % 4], 1 + g % 1000 " +
+                    "FROM generate_series(1, 20000) g");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        Map<String, String> queries = new LinkedHashMap<>();
+        annotatedQueries(TaskRepository.class, queries);
+        annotatedQueries(UserRepository.class, queries);
+        queries.put("TaskRepository.findByUserId", "SELECT * FROM tasks WHERE user_id = :userId");
+        queries.put("TaskRepository.findById", "SELECT * FROM tasks WHERE id = :id");
+        queries.put("UserRepository.findById", "SELECT * FROM users WHERE id = :id");
+        queries.put("TaskRepositoryCustom.streamAll", TaskRepositoryCustomImpl.STREAM_ALL);
+        queries.put("TaskRepositoryCustom.streamByUserId", TaskRepositoryCustomImpl.STREAM_BY_USER_ID);
+        queries.put("TaskRepositoryCustom.findUserTasksPage", TaskRepositoryCustomImpl.USER_TASKS_PAGE);
+        queries.put("TaskRepositoryCustom.findUserTasksPage(status)", TaskRepositoryCustomImpl.USER_TASKS_PAGE_BY_STATUS);
+        queries.put("TaskRepositoryCustom.changesSince(tasks)", TaskRepositoryCustomImpl.CHANGED_SINCE);
+        queries.put("TaskRepositoryCustom.changesSince(tombstones)", TaskRepositoryCustomImpl.DELETED_SINCE);
+        for (Map.Entry<String, TaskFilter> filter : filters().entrySet()) {
+            String where = TaskRepositoryCustomImpl.where(filter.getValue(), new LinkedHashMap<>());
+            queries.put("TaskRepositoryCustom.updateStatus(" + filter.getKey() + ")",
+                    "UPDATE tasks SET status = :newStatus WHERE " + where + " RETURNING id");
+            queries.put("TaskRepositoryCustom.deleteMatching(" + filter.getKey() + ")",
+                    "DELETE FROM tasks WHERE " + where + " RETURNING id");
+            queries.put("TaskRepositoryCustom.findMatchingPaged(" + filter.getKey() + ")",
+                    TaskRepositoryCustomImpl.MATCHING_PAGE.formatted(where));
+            queries.put("TaskRepositoryCustom.findMatchingAfter(" + filter.getKey() + ")",
+                    TaskRepositoryCustomImpl.MATCHING_AFTER.formatted(where));
+        }
+        return queries.entrySet().stream().map(query -> Arguments.of(query.getKey(), query.getValue()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void shouldNotFallBackToSequentialScan(String name, String sql) throws SQLException {
+        List<String> plan = explain(bindLiterals(sql));
+
+        assertThat(plan)
+                .as("Plan of %s:%n%s", name, String.join(System.lineSeparator(), plan))
+                .noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    private static void annotatedQueries(Class<?> repository, Map<String, String> queries) {
+        for (Method method : repository.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query != null) {
+                queries.put(repository.getSimpleName() + "." + method.getName(), query.value());
+            }
+        }
+    }
+
+    private static Map<String, TaskFilter> filters() {
+        Map<String, TaskFilter> filters = new LinkedHashMap<>();
+
+        TaskFilter byIds = new TaskFilter();
+        byIds.setIds(List.of(1L, 2L, 3L));
+        filters.put("ids", byIds);
+
+        TaskFilter byUser = new TaskFilter();
+        byUser.setUserId(1L);
+        filters.put("userId", byUser);
+
+        TaskFilter byUserAndStatus = new TaskFilter();
+        byUserAndStatus.setUserId(1L);
+        byUserAndStatus.setStatus(TaskStatus.COMPLETED);
+        filters.put("userId, status", byUserAndStatus);
+
+        TaskFilter byActiveStatus = new TaskFilter();
+        byActiveStatus.setStatus(TaskStatus.NEW);
+        filters.put("active status", byActiveStatus);
+
+        TaskFilter byCreationDate = new TaskFilter();
+        byCreationDate.setCreatedFrom(LocalDate.of(2024, 1, 1));
+        byCreationDate.setCreatedTo(LocalDate.of(2024, 1, 31));
+        filters.put("creation date range", byCreationDate);
+
+        TaskFilter byCompletedStatus = new TaskFilter();
+        byCompletedStatus.setStatus(TaskStatus.COMPLETED);
+        filters.put("completed status", byCompletedStatus);
+
+        TaskFilter byStatusAndCreationDate = new TaskFilter();
+        byStatusAndCreationDate.setStatus(TaskStatus.COMPLETED);
+        byStatusAndCreationDate.setCreatedFrom(LocalDate.of(2024, 1, 1));
+        byStatusAndCreationDate.setCreatedTo(LocalDate.of(2024, 1, 31));
+        filters.put("status, creation date range", byStatusAndCreationDate);
+
+        TaskFilter byUserAndCreationDate = new TaskFilter();
+        byUserAndCreationDate.setUserId(1L);
+        byUserAndCreationDate.setCreatedFrom(LocalDate.of(2024, 1, 1));
+        filters.put("userId, creation date from", byUserAndCreationDate);
+
+        TaskFilter byTitle = new TaskFilter();
+        byTitle.setTitle("task 12");
+        filters.put("title", byTitle);
+
+        TaskFilter byStatusAndTitle = new TaskFilter();
+        byStatusAndTitle.setStatus(TaskStatus.NEW);
+        byStatusAndTitle.setTitle("task 12");
+        filters.put("status, title", byStatusAndTitle);
+        return filters;
+    }
+
+    private static String bindLiterals(String sql) {
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuilder bound = new StringBuilder();
+        while (matcher.find()) {
+            String value = PARAMETER_VALUES.get(matcher.group(1));
+            if (value == null) {
+                fail("No sample value for parameter :" + matcher.group(1) + " in " + sql);
+            }
+            matcher.appendReplacement(bound, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(bound);
+        return bound.toString();
+    }
+
+    private static List<String> explain(String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet result = statement.executeQuery("EXPLAIN " + sql)) {
+                while (result.next()) {
+                    plan.add(result.getString(1));
+                }
+            }
+        }
+        return plan;
+    }
+}
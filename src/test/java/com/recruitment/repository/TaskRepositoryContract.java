@@ -0,0 +1,365 @@
+package com.recruitment.repository;
+
+import com.recruitment.dto.TaskFilter;
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+import com.recruitment.exception.ConstraintViolations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Behaviour shared by every storage engine behind TaskRepository and UserRepository.
+ */
+public abstract class TaskRepositoryContract {
+
+    protected abstract TaskRepository taskRepository();
+
+    protected abstract UserRepository userRepository();
+
+    @BeforeEach
+    void clear() {
+        taskRepository().deleteAll().block();
+        userRepository().deleteAll().block();
+    }
+
+    @Test
+    void shouldSaveAndFindTask() {
+        Long userId = user();
+        Task saved = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+
+        assertThat(saved.getId()).isNotNull();
+        StepVerifier.create(taskRepository().findById(saved.getId()))
+                .assertNext(found -> {
+                    assertThat(found.getTitle()).isEqualTo(saved.getTitle());
+                    assertThat(found.getStatus()).isEqualTo(TaskStatus.NEW);
+                    assertThat(found.getUserId()).isEqualTo(userId);
+                })
+                .verifyComplete();
+        StepVerifier.create(taskRepository().findById(saved.getId() + 1000)).verifyComplete();
+    }
+
+    @Test
+    void shouldPageTasksInIdOrder() {
+        for (int i = 0; i < 25; i++) {
+            taskRepository().save(task(null, TaskStatus.NEW)).block();
+        }
+
+        List<Task> all = taskRepository().findAllAfter(0, 100).collectList().block();
+        List<Task> page = taskRepository().findAllAfter(all.get(9).getId(), 10).collectList().block();
+
+        assertThat(all).hasSize(25).extracting(Task::getId).isSorted();
+        assertThat(page).extracting(Task::getId)
+                .containsExactlyElementsOf(all.subList(10, 20).stream().map(Task::getId).toList());
+        assertThat(taskRepository().findAllPaged(20, 10).collectList().block()).hasSize(5);
+        assertThat(taskRepository().streamAll(all.get(19).getId()).count().block()).isEqualTo(5);
+        assertThat(taskRepository().count().block()).isEqualTo(25);
+    }
+
+    @Test
+    void shouldPageUserTasks() {
+        Long userId = user();
+        Long emptyUserId = user();
+        Task first = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+        Task second = taskRepository().save(task(userId, TaskStatus.COMPLETED)).block();
+        taskRepository().save(task(null, TaskStatus.NEW)).block();
+
+        StepVerifier.create(taskRepository().findUserTasksPage(userId, 0, null, 10))
+                .assertNext(tasks -> assertThat(tasks).extracting(Task::getId)
+                        .containsExactly(first.getId(), second.getId()))
+                .verifyComplete();
+        StepVerifier.create(taskRepository().findUserTasksPage(userId, first.getId(), null, 10))
+                .assertNext(tasks -> assertThat(tasks).extracting(Task::getId).containsExactly(second.getId()))
+                .verifyComplete();
+        StepVerifier.create(taskRepository().findUserTasksPage(userId, 0, TaskStatus.COMPLETED, 10))
+                .assertNext(tasks -> assertThat(tasks).extracting(Task::getId).containsExactly(second.getId()))
+                .verifyComplete();
+        StepVerifier.create(taskRepository().findUserTasksPage(emptyUserId, 0, null, 10))
+                .assertNext(tasks -> assertThat(tasks).isEmpty())
+                .verifyComplete();
+        StepVerifier.create(taskRepository().findUserTasksPage(emptyUserId + 1000, 0, null, 10)).verifyComplete();
+        assertThat(taskRepository().streamByUserId(userId).collectList().block()).extracting(Task::getId)
+                .containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void shouldAssignOnlyExistingTaskToExistingUser() {
+        Long userId = user();
+        Task task = taskRepository().save(task(null, TaskStatus.NEW)).block();
+
+        StepVerifier.create(taskRepository().assignToUser(task.getId(), userId))
+                .assertNext(assigned -> assertThat(assigned.getUserId()).isEqualTo(userId))
+                .verifyComplete();
+        StepVerifier.create(taskRepository().assignToUser(task.getId(), userId + 1000)).verifyComplete();
+        StepVerifier.create(taskRepository().assignToUser(task.getId() + 1000, userId)).verifyComplete();
+    }
+
+    @Test
+    void shouldRejectTaskOfMissingUser() {
+        Long userId = user();
+        Task task = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+
+        StepVerifier.create(taskRepository().save(task(userId + 1000, TaskStatus.NEW)))
+                .expectErrorMatches(ConstraintViolations::isUserForeignKeyViolation)
+                .verify();
+        StepVerifier.create(taskRepository().patchTask(task.getId(), null, null, null, userId + 1000, null))
+                .expectErrorMatches(ConstraintViolations::isUserForeignKeyViolation)
+                .verify();
+    }
+
+    @Test
+    void shouldPatchOnlyGivenFields() {
+        Long userId = user();
+        Task task = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+
+        StepVerifier.create(taskRepository().patchTask(task.getId(), null, null, "IN_PROGRESS", null, null))
+                .assertNext(patched -> {
+                    assertThat(patched.getTitle()).isEqualTo(task.getTitle());
+                    assertThat(patched.getDescription()).isEqualTo(task.getDescription());
+                    assertThat(patched.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+                    assertThat(patched.getUserId()).isEqualTo(userId);
+                })
+                .verifyComplete();
+        StepVerifier.create(taskRepository().patchTask(task.getId() + 1000, "Title", null, null, null, null))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUpdateOnlyAtExpectedVersion() {
+        Task task = taskRepository().save(task(null, TaskStatus.NEW)).block();
+        long version = task.getVersion();
+
+        StepVerifier.create(taskRepository().patchTask(task.getId(), "Renamed", null, null, null, version))
+                .assertNext(patched -> assertThat(patched.getVersion()).isEqualTo(version + 1))
+                .verifyComplete();
+        StepVerifier.create(taskRepository().patchTask(task.getId(), "Stale", null, null, null, version))
+                .verifyComplete();
+        StepVerifier.create(taskRepository().updateTask(task.getId(), "Title", "Description", "COMPLETED", null,
+                        version + 1))
+                .assertNext(updated -> assertThat(updated.getVersion()).isEqualTo(version + 2))
+                .verifyComplete();
+
+        task.setTitle("Stale");
+        StepVerifier.create(taskRepository().save(task))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+        StepVerifier.create(taskRepository().findById(task.getId()))
+                .assertNext(stored -> assertThat(stored.getTitle()).isEqualTo("Title"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteReturningId() {
+        Task task = taskRepository().save(task(null, TaskStatus.NEW)).block();
+
+        StepVerifier.create(taskRepository().deleteReturningId(task.getId())).expectNext(task.getId()).verifyComplete();
+        StepVerifier.create(taskRepository().deleteReturningId(task.getId())).verifyComplete();
+    }
+
+    @Test
+    void shouldUpdateAndDeleteMatchingTasks() {
+        Long userId = user();
+        Task first = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+        Task second = taskRepository().save(task(userId, TaskStatus.IN_PROGRESS)).block();
+        Task other = taskRepository().save(task(null, TaskStatus.NEW)).block();
+        TaskFilter byUser = new TaskFilter();
+        byUser.setUserId(userId);
+        TaskFilter byStatus = new TaskFilter();
+        byStatus.setStatus(TaskStatus.COMPLETED);
+
+        assertThat(taskRepository().updateStatus(byUser, TaskStatus.COMPLETED).collectList().block())
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(taskRepository().deleteMatching(byStatus).collectList().block())
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(taskRepository().findAll().collectList().block()).extracting(Task::getId)
+                .containsExactly(other.getId());
+        assertThatThrownBy(() -> taskRepository().deleteMatching(new TaskFilter()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldPageTasksMatchingFilter() {
+        Long userId = user();
+        for (int i = 0; i < 6; i++) {
+            Task task = task(i % 2 == 0 ? userId : null, i < 4 ? TaskStatus.NEW : TaskStatus.COMPLETED);
+            task.setTitle(i % 3 == 0 ? "Release 100%" : "Fix bug " + i);
+            taskRepository().save(task).block();
+        }
+        TaskFilter byUserAndStatus = new TaskFilter();
+        byUserAndStatus.setUserId(userId);
+        byUserAndStatus.setStatus(TaskStatus.NEW);
+        TaskFilter byTitle = new TaskFilter();
+        byTitle.setTitle("SE 100%");
+        TaskFilter byStatusAndTitle = new TaskFilter();
+        byStatusAndTitle.setStatus(TaskStatus.NEW);
+        byStatusAndTitle.setTitle("bug");
+
+        List<Task> active = taskRepository().findMatchingAfter(byUserAndStatus, 0, 10).collectList().block();
+        List<Task> bugs = taskRepository().findMatchingAfter(byStatusAndTitle, 0, 10).collectList().block();
+
+        assertThat(active).hasSize(2).extracting(Task::getId).isSorted();
+        assertThat(taskRepository().findMatchingAfter(byUserAndStatus, active.get(0).getId(), 10)
+                .collectList().block()).extracting(Task::getId).containsExactly(active.get(1).getId());
+        assertThat(taskRepository().findMatchingPaged(byTitle, 0, 10).collectList().block())
+                .extracting(Task::getTitle).containsExactly("Release 100%", "Release 100%");
+        assertThat(bugs).extracting(Task::getTitle).containsExactly("Fix bug 1", "Fix bug 2");
+        assertThat(taskRepository().findMatchingPaged(byStatusAndTitle, 1, 10).collectList().block())
+                .extracting(Task::getTitle).containsExactly("Fix bug 2");
+        assertThatThrownBy(() -> taskRepository().findMatchingAfter(new TaskFilter(), 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldUnassignTasksOfDeletedUser() {
+        Long userId = user();
+        Task task = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+
+        userRepository().deleteById(userId).block();
+
+        StepVerifier.create(taskRepository().findById(task.getId()))
+                .assertNext(found -> assertThat(found.getUserId()).isNull())
+                .verifyComplete();
+        assertThat(taskRepository().streamByUserId(userId).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void shouldCountTasksByStatusOnEveryWrite() {
+        Long userId = user();
+        Long otherUserId = user();
+        Task first = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+        Task second = taskRepository().save(task(null, TaskStatus.NEW)).block();
+        taskRepository().insertAll(List.of(task(userId, TaskStatus.IN_PROGRESS), task(otherUserId, TaskStatus.NEW)))
+                .blockLast();
+        taskRepository().patchTask(first.getId(), null, null, "COMPLETED", null, null).block();
+        taskRepository().assignToUser(second.getId(), userId).block();
+        taskRepository().updateTask(second.getId(), "Title", "Description", "CANCELLED", otherUserId, null).block();
+        taskRepository().patchTask(second.getId(), "Renamed", null, null, null, null).block();
+        TaskFilter byOtherUser = new TaskFilter();
+        byOtherUser.setUserId(otherUserId);
+        taskRepository().updateStatus(byOtherUser, TaskStatus.IN_PROGRESS).blockLast();
+        taskRepository().deleteReturningId(first.getId()).block();
+
+        assertThat(taskRepository().statusCounts().block())
+                .containsOnly(entry(TaskStatus.IN_PROGRESS, 3L));
+        assertThat(taskRepository().statusCounts(userId).block())
+                .containsOnly(entry(TaskStatus.IN_PROGRESS, 1L));
+        assertThat(taskRepository().statusCounts(otherUserId).block())
+                .containsOnly(entry(TaskStatus.IN_PROGRESS, 2L));
+        assertThat(taskRepository().statusCounts(otherUserId + 1000).block()).isEmpty();
+        assertThat(taskRepository().reconcileStatusCounts().block()).isZero();
+
+        taskRepository().deleteMatching(byOtherUser).blockLast();
+
+        assertThat(taskRepository().statusCounts(otherUserId).block()).isEmpty();
+        assertThat(taskRepository().statusCounts().block()).containsOnly(entry(TaskStatus.IN_PROGRESS, 1L));
+    }
+
+    @Test
+    void shouldInsertAllInInputOrder() {
+        Long userId = user();
+        List<Task> tasks = List.of(task(userId, TaskStatus.NEW), task(null, TaskStatus.COMPLETED),
+                task(userId, TaskStatus.CANCELLED));
+
+        List<Task> inserted = taskRepository().insertAll(tasks).collectList().block();
+
+        assertThat(inserted).extracting(Task::getStatus)
+                .containsExactly(TaskStatus.NEW, TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+        assertThat(inserted).extracting(Task::getId).doesNotContainNull().isSorted();
+    }
+
+    @Test
+    void shouldSyncChangesSinceLastSync() {
+        Long userId = user();
+        Task kept = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+        Task changed = taskRepository().save(task(userId, TaskStatus.NEW)).block();
+        Task deleted = taskRepository().save(task(null, TaskStatus.NEW)).block();
+
+        List<TaskSyncEntry> full = taskRepository().changesSince(null).collectList().block();
+
+        TaskSyncEntry fullEnd = full.get(full.size() - 1);
+        assertThat(fullEnd.isEnd()).isTrue();
+        assertThat(fullEnd.full()).isTrue();
+        assertThat(full.subList(0, full.size() - 1)).extracting(entry -> entry.task().getId())
+                .containsExactlyInAnyOrder(kept.getId(), changed.getId(), deleted.getId());
+
+        taskRepository().patchTask(changed.getId(), "Renamed", null, null, null, null).block();
+        taskRepository().patchTask(kept.getId(), kept.getTitle(), null, null, null, null).block();
+        Task created = taskRepository().save(task(null, TaskStatus.COMPLETED)).block();
+        taskRepository().deleteReturningId(deleted.getId()).block();
+
+        List<TaskSyncEntry> delta = taskRepository().changesSince(fullEnd.nextVersions()).collectList().block();
+
+        TaskSyncEntry deltaEnd = delta.get(delta.size() - 1);
+        assertThat(deltaEnd.isEnd()).isTrue();
+        assertThat(deltaEnd.full()).isFalse();
+        assertThat(delta).filteredOn(entry -> entry.task() != null)
+                .extracting(entry -> entry.task().getId(), entry -> entry.task().getTitle())
+                .containsExactlyInAnyOrder(tuple(changed.getId(), "Renamed"), tuple(created.getId(), "Task"));
+        assertThat(delta).filteredOn(entry -> entry.deletedTaskId() != null)
+                .extracting(TaskSyncEntry::deletedTaskId)
+                .containsExactly(deleted.getId());
+
+        assertThat(taskRepository().changesSince(deltaEnd.nextVersions()).collectList().block())
+                .singleElement()
+                .satisfies(end -> assertThat(end.full()).isFalse());
+    }
+
+    @Test
+    void shouldStartOverOnceDeletionsArePurged() {
+        Task deleted = taskRepository().save(task(null, TaskStatus.NEW)).block();
+        List<TaskSyncEntry> full = taskRepository().changesSince(null).collectList().block();
+        long[] since = full.get(full.size() - 1).nextVersions();
+        taskRepository().deleteReturningId(deleted.getId()).block();
+        Instant later = Instant.now().plusSeconds(60);
+
+        assertThat(taskRepository().changesSince(since).collectList().block())
+                .extracting(TaskSyncEntry::deletedTaskId)
+                .containsExactly(deleted.getId(), null);
+
+        taskRepository().purgeTombstones(later).block();
+
+        assertThat(taskRepository().changesSince(since).collectList().block())
+                .singleElement()
+                .satisfies(end -> assertThat(end.full()).isTrue());
+        assertThat(taskRepository().purgeTombstones(later).block()).isPositive();
+    }
+
+    @Test
+    void shouldFindExistingUserIds() {
+        Long first = user();
+        Long second = user();
+
+        assertThat(userRepository().findExistingIds(new Long[]{first, second + 1000, second}).collectList().block())
+                .containsExactlyInAnyOrder(first, second);
+        assertThat(userRepository().findAllIds().collectList().block()).containsExactlyInAnyOrder(first, second);
+        assertThat(userRepository().findAllAfter(first, 10).collectList().block()).extracting(User::getId)
+                .containsExactly(second);
+    }
+
+    private Long user() {
+        User user = new User();
+        user.setName("User");
+        return userRepository().save(user).block().getId();
+    }
+
+    private static Task task(Long userId, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setCreationDate(LocalDate.now());
+        task.setStatus(status);
+        task.setUserId(userId);
+        return task;
+    }
+}
@@ -0,0 +1,62 @@
+package com.recruitment.repository.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongBitSetTest {
+
+    @Test
+    void shouldIterateSetBitsInOrder() {
+        LongBitSet bits = new LongBitSet();
+
+        bits.set(3);
+        bits.set(64);
+        bits.set(1_000_000);
+        bits.set(65);
+        bits.clear(64);
+
+        List<Long> values = new ArrayList<>();
+        for (long value = bits.next(0); value >= 0; value = bits.next(value + 1)) {
+            values.add(value);
+        }
+        assertThat(values).containsExactly(3L, 65L, 1_000_000L);
+        assertThat(bits.size()).isEqualTo(3);
+        assertThat(bits.contains(64)).isFalse();
+        assertThat(bits.next(1_000_001)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReportChanges() {
+        LongBitSet bits = new LongBitSet();
+
+        assertThat(bits.set(5)).isTrue();
+        assertThat(bits.set(5)).isFalse();
+        assertThat(bits.clear(5)).isTrue();
+        assertThat(bits.clear(5)).isFalse();
+        assertThat(bits.clear(10_000)).isFalse();
+    }
+
+    @Test
+    void shouldAcceptConcurrentSets() throws InterruptedException {
+        LongBitSet bits = new LongBitSet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            long offset = t;
+            executor.execute(() -> LongStream.range(0, 10_000).forEach(i -> bits.set(i * 8 + offset)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(bits.size()).isEqualTo(80_000);
+        assertThat(LongStream.range(0, 80_000).allMatch(bits::contains)).isTrue();
+    }
+}
@@ -0,0 +1,61 @@
+package com.recruitment.repository.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongObjectMapTest {
+
+    @Test
+    void shouldKeepEntriesAcrossResizesAndRemovals() {
+        LongObjectMap<String> map = new LongObjectMap<>(4, 4);
+
+        LongStream.rangeClosed(1, 10_000).forEach(key -> map.put(key, "v" + key));
+        LongStream.rangeClosed(1, 10_000).filter(key -> key % 2 == 0).forEach(map::remove);
+
+        assertThat(map.size()).isEqualTo(5_000);
+        assertThat(LongStream.rangeClosed(1, 10_000)
+                .allMatch(key -> key % 2 == 0 ? map.get(key) == null : map.get(key).equals("v" + key))).isTrue();
+    }
+
+    @Test
+    void shouldComputeAndRemoveOnNull() {
+        LongObjectMap<Integer> map = new LongObjectMap<>(16, 1);
+
+        assertThat(map.compute(7, value -> value == null ? 1 : value + 1)).isNull();
+        assertThat(map.compute(7, value -> value + 1)).isEqualTo(1);
+        assertThat(map.get(7)).isEqualTo(2);
+        assertThat(map.compute(7, value -> null)).isEqualTo(2);
+        assertThat(map.get(7)).isNull();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectNonPositiveKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>(16, 1);
+
+        assertThatThrownBy(() -> map.put(0, "zero")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldAcceptConcurrentWrites() throws InterruptedException {
+        LongObjectMap<Long> map = new LongObjectMap<>(16, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            long offset = t * 5_000L;
+            executor.execute(() -> LongStream.rangeClosed(offset + 1, offset + 5_000).forEach(key -> map.put(key, key)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(map.size()).isEqualTo(40_000);
+        assertThat(LongStream.rangeClosed(1, 40_000).allMatch(key -> map.get(key) == key)).isTrue();
+    }
+}
@@ -0,0 +1,187 @@
+package com.recruitment.repository.memory;
+
+import com.recruitment.entity.Task;
+import com.recruitment.entity.User;
+import com.recruitment.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedJournalTest {
+
+    private static final int REGION_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverStateAfterRestart() throws IOException {
+        String state;
+        try (MappedJournal journal = journal(Long.MAX_VALUE)) {
+            InMemoryStore store = recover(journal);
+            long ann = store.insertUser(user("Ann")).getId();
+            long bob = store.insertUser(user("Bob")).getId();
+            long first = store.insertTask(task(ann)).getId();
+            store.insertTask(task(bob));
+            long third = store.insertTask(task(null)).getId();
+            store.updateTask(first, task -> task.setStatus(TaskStatus.COMPLETED));
+            store.deleteUser(bob);
+            store.removeTask(third);
+            journal.sync().block();
+            state = dump(store);
+        }
+
+        try (MappedJournal journal = journal(Long.MAX_VALUE)) {
+            InMemoryStore store = recover(journal);
+
+            assertThat(dump(store)).isEqualTo(state);
+            assertThat(store.insertTask(task(null)).getId()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void shouldCompactJournalIntoSnapshot() throws IOException, InterruptedException {
+        String state;
+        try (MappedJournal journal = journal(16 * 1024)) {
+            InMemoryStore store = recover(journal);
+            long userId = store.insertUser(user("Ann")).getId();
+            for (int i = 0; i < 2_000; i++) {
+                long id = store.insertTask(task(userId)).getId();
+                if (i % 3 == 0) {
+                    store.updateTask(id, task -> task.setStatus(TaskStatus.IN_PROGRESS));
+                }
+                if (i % 5 == 0) {
+                    store.removeTask(id);
+                }
+                journal.sync().block();
+            }
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (files().noneMatch(name -> name.endsWith(".snap")) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            state = dump(store);
+        }
+
+        assertThat(files().filter(name -> name.endsWith(".log")).count()).isEqualTo(1);
+        try (MappedJournal journal = journal(16 * 1024)) {
+            assertThat(dump(recover(journal))).isEqualTo(state);
+        }
+    }
+
+    @Test
+    void shouldDiscardTornRecordAndContinueAfterIt() throws IOException {
+        User first;
+        User second;
+        try (MappedJournal journal = journal(Long.MAX_VALUE)) {
+            InMemoryStore store = recover(journal);
+            first = store.insertUser(user("Ann"));
+            second = store.insertUser(user("Bob"));
+            journal.sync().block();
+        }
+        long lastByte = 16 + 8 + JournalCodec.userStored(first).length + 8 + JournalCodec.userStored(second).length - 1;
+        try (FileChannel file = FileChannel.open(directory.resolve("journal-0.log"), StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.wrap(new byte[]{42}), lastByte);
+        }
+
+        try (MappedJournal journal = journal(Long.MAX_VALUE)) {
+            InMemoryStore store = recover(journal);
+            assertThat(dump(store)).isEqualTo("U1Ann;");
+            store.insertUser(user("Cid"));
+            journal.sync().block();
+        }
+
+        try (MappedJournal journal = journal(Long.MAX_VALUE)) {
+            assertThat(dump(recover(journal))).isEqualTo("U1Ann;U2Cid;");
+        }
+    }
+
+    @Test
+    void shouldMakeConcurrentWritesDurable() throws Exception {
+        String state;
+        try (MappedJournal journal = journal(Long.MAX_VALUE)) {
+            InMemoryStore store = recover(journal);
+            long userId = store.insertUser(user("Ann")).getId();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        long id = store.insertTask(task(userId)).getId();
+                        store.updateTask(id, task -> task.setStatus(TaskStatus.COMPLETED));
+                        journal.sync().block();
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            executor.shutdown();
+            state = dump(store);
+        }
+
+        try (MappedJournal journal = journal(Long.MAX_VALUE)) {
+            InMemoryStore store = recover(journal);
+            assertThat(dump(store)).isEqualTo(state);
+            assertThat(store.taskCount()).isEqualTo(1_600);
+        }
+    }
+
+    private MappedJournal journal(long compactionThreshold) throws IOException {
+        return new MappedJournal(directory, REGION_SIZE, compactionThreshold, Duration.ZERO);
+    }
+
+    private Stream<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).toList().stream();
+        }
+    }
+
+    private static InMemoryStore recover(MappedJournal journal) {
+        InMemoryStore store = new InMemoryStore(16, 16, journal);
+        journal.replay(store);
+        return store;
+    }
+
+    private static String dump(InMemoryStore store) {
+        StringBuilder state = new StringBuilder();
+        for (long id = store.nextUserId(0); id > 0; id = store.nextUserId(id)) {
+            state.append('U').append(id).append(store.user(id).getName()).append(';');
+        }
+        for (long id = store.nextTaskId(0); id > 0; id = store.nextTaskId(id)) {
+            Task task = store.task(id);
+            state.append('T').append(id).append(task.getStatus()).append(task.getUserId()).append(';');
+        }
+        return state.toString();
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        return user;
+    }
+
+    private static Task task(Long userId) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setCreationDate(LocalDate.now());
+        task.setStatus(TaskStatus.NEW);
+        task.setUserId(userId);
+        return task;
+    }
+}
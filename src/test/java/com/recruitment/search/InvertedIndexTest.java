@@ -0,0 +1,68 @@
+package com.recruitment.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex(16, 50);
+
+    @Test
+    void shouldMatchEveryQueryWordAndRankTitleMatchesFirst() {
+        index.index(1, "Write release notes", "Summarise the changes of the database migration");
+        index.index(2, "Plan database migration", "Schedule the release window");
+        index.index(3, "Release database migration", null);
+        index.index(4, "Order lunch", "Pizza for the release party");
+
+        assertThat(index.search("release database", 10)).containsExactly(3, 2, 1);
+        assertThat(index.search("RELEASE", 10)).containsExactly(3, 1, 4, 2);
+        assertThat(index.search("release unknown", 10)).isEmpty();
+        assertThat(index.search("release", 2)).containsExactly(3, 1);
+    }
+
+    @Test
+    void shouldMatchPrefixesBelowExactWords() {
+        index.index(1, "Deploy", null);
+        index.index(2, "Deployment checklist", null);
+        index.index(3, "Check the deployment", null);
+
+        assertThat(index.search("deploy", 10)).containsExactly(1, 3, 2);
+        assertThat(index.search("check dep", 10)).containsExactly(3, 2);
+        assertThat(index.search("zzz", 10)).isEmpty();
+        assertThat(index.search(" ,; ", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceAndRemoveIndexedWords() {
+        index.index(1, "Fix login bug", "Users cannot log in");
+        index.index(2, "Fix signup bug", null);
+
+        index.index(1, "Improve login page", null);
+        index.remove(2);
+
+        assertThat(index.search("bug", 10)).isEmpty();
+        assertThat(index.search("login", 10)).containsExactly(1);
+        assertThat(index.search("users", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepLiveChangesOverScannedState() {
+        InvertedIndex.Document scannedFirst = index.analyze(1, "Old title", null);
+        InvertedIndex.Document scannedSecond = index.analyze(2, "Deleted task", null);
+        InvertedIndex.Document scannedThird = index.analyze(3, "Untouched task", null);
+
+        index.beginLoad();
+        index.index(1, "New title", null);
+        index.remove(2);
+        index.load(scannedFirst);
+        index.load(scannedSecond);
+        index.load(scannedThird);
+        index.endLoad();
+
+        assertThat(index.search("title", 10)).containsExactly(1);
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("task", 10)).containsExactly(3);
+    }
+}
@@ -0,0 +1,85 @@
+package com.recruitment.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void shouldFindIdsAcrossBlocksInBothDirections() {
+        PostingList postings = new PostingList();
+        for (long id = 1; id <= 1_000; id++) {
+            postings.add(id * 3);
+        }
+
+        PostingList.Cursor cursor = postings.cursor();
+
+        assertThat(cursor.ceiling(1)).isEqualTo(3);
+        assertThat(cursor.ceiling(500)).isEqualTo(501);
+        assertThat(cursor.ceiling(501)).isEqualTo(501);
+        assertThat(cursor.ceiling(2_999)).isEqualTo(3_000);
+        assertThat(cursor.ceiling(3_001)).isEqualTo(PostingList.END);
+        assertThat(cursor.floor(PostingList.END)).isEqualTo(3_000);
+        assertThat(cursor.floor(500)).isEqualTo(498);
+        assertThat(cursor.floor(384)).isEqualTo(384);
+        assertThat(cursor.floor(383)).isEqualTo(381);
+        assertThat(cursor.floor(2)).isEqualTo(PostingList.NONE);
+        assertThat(postings.cardinality()).isEqualTo(1_000);
+    }
+
+    @Test
+    void shouldMergeOutOfOrderChanges() {
+        PostingList postings = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(postings.remove(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(postings.add(id)).isEqualTo(expected.add(id));
+            }
+        }
+
+        assertThat(ids(postings.cursor())).containsExactlyElementsOf(expected);
+        assertThat(postings.cardinality()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void shouldKeepCursorSnapshotUnchanged() {
+        PostingList postings = new PostingList();
+        for (long id = 10; id <= 200; id += 10) {
+            postings.add(id);
+        }
+        PostingList.Cursor snapshot = postings.cursor();
+
+        postings.add(5);
+        postings.add(300);
+        postings.remove(100);
+        for (long id = 1_000; id < 2_000; id++) {
+            postings.add(id);
+        }
+
+        assertThat(ids(snapshot)).hasSize(20).contains(100L).doesNotContain(5L, 300L);
+        assertThat(ids(postings.cursor())).hasSize(1_021).contains(5L, 300L).doesNotContain(100L);
+    }
+
+    private static List<Long> ids(PostingList.Cursor cursor) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = cursor.ceiling(1); id != PostingList.END; id = cursor.ceiling(id + 1)) {
+            ids.add(id);
+        }
+        List<Long> descending = new ArrayList<>();
+        for (long id = cursor.floor(PostingList.END); id != PostingList.NONE; id = cursor.floor(id - 1)) {
+            descending.add(0, id);
+        }
+        assertThat(descending).isEqualTo(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,43 @@
+package com.recruitment.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void shouldSpreadKeysEvenlyOverShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        int[] counts = new int[4];
+
+        for (long key = 1; key <= KEYS; key++) {
+            counts[ring.shardFor(key)]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10);
+        }
+    }
+
+    @Test
+    void shouldOnlyMoveKeysToAddedShard() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        int moved = 0;
+
+        for (long key = 1; key <= KEYS; key++) {
+            int shard = after.shardFor(key);
+            if (shard != before.shardFor(key)) {
+                assertThat(shard).isEqualTo(3);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10);
+    }
+}
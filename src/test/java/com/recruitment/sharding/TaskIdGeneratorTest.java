@@ -0,0 +1,27 @@
+package com.recruitment.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIdGeneratorTest {
+
+    @Test
+    void shouldGenerateIncreasingIdsCarryingTheShard() {
+        TaskIdGenerator generator = new TaskIdGenerator(3);
+        long previous = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            int shard = i % 5;
+            long id = generator.nextId(shard);
+            assertThat(id).isGreaterThan(previous);
+            assertThat(TaskIdGenerator.shardHint(id)).isEqualTo(shard);
+            previous = id;
+        }
+    }
+
+    @Test
+    void shouldNotHintShardForSerialIds() {
+        assertThat(TaskIdGenerator.shardHint(42L)).isEqualTo(-1);
+    }
+}